@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# Benchmark de arranque: tiempo hasta que /actuator/health responde y latencia de la primera
+# evaluación en /api/rules/evaluate, para cada variante de arranque
+# Uso: ./startup-benchmark.sh [ejecuciones]
+# Requiere: mvn package -Pexecutable-model,cds (target/rules-engine-poc-1.0.0.jar y target/cds)
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+BASE_URL="http://localhost:$PORT"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/target/rules-engine-poc-1.0.0.jar"
+CDS_DIR="$ROOT/target/cds"
+CDS_JAR="rules-engine-poc-1.0.0-cds.jar"
+TRANSACTION="$ROOT/example-transaction.json"
+
+if [ ! -f "$JAR" ] || [ ! -f "$CDS_DIR/$CDS_JAR" ]; then
+    echo "❌ Falta el build. Ejecuta: mvn package -DskipTests -Pexecutable-model,cds"
+    exit 1
+fi
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Arranca una variante y mide: ms hasta health UP, ms de la primera evaluación
+# Argumentos: directorio de trabajo, argumentos de java
+run_once() {
+    local dir="$1"
+    shift
+    local start
+    start=$(now_ms)
+    (cd "$dir" && exec java "$@" --server.port="$PORT" > "$WORK_DIR/app.log" 2>&1) &
+    local pid=$!
+
+    until curl -sf "$BASE_URL/actuator/health" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ La aplicación terminó al arrancar:" >&2
+            tail -20 "$WORK_DIR/app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    local ready
+    ready=$(now_ms)
+
+    local first_request
+    first_request=$(curl -s -o /dev/null -w '%{time_total}' -X POST "$BASE_URL/api/rules/evaluate?complexity=ALL" \
+        -H "Content-Type: application/json" -d @"$TRANSACTION")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+    echo "$((ready - start)) $(awk -v t="$first_request" 'BEGIN { printf "%.0f", t * 1000 }')"
+}
+
+# Mediana de una columna de los resultados
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+# Argumentos: nombre, directorio de trabajo, argumentos de java
+benchmark() {
+    local name="$1"
+    shift
+    local results="$WORK_DIR/$name.txt"
+    : > "$results"
+    for _ in $(seq "$RUNS"); do
+        run_once "$@" >> "$results" || exit 1
+    done
+    printf "%-22s %12s ms %18s ms\n" "$name" "$(cut -d' ' -f1 "$results" | median)" "$(cut -d' ' -f2 "$results" | median)"
+}
+
+# Cada variante arranca con su propio directorio de trabajo (reglas dinámicas y caché de KJAR vacías)
+variant_dir() {
+    local dir="$WORK_DIR/$1"
+    mkdir -p "$dir"
+    echo "$dir"
+}
+
+echo "Arranque y primera petición, mediana de $RUNS ejecuciones, $(nproc) cores"
+printf "%-22s %15s %21s\n" "Variante" "Health UP" "Primera evaluación"
+benchmark "jar-drl" "$(variant_dir jar-drl)" -jar "$JAR" --rules-engine.build.mode=DRL
+benchmark "jar-executable-model" "$(variant_dir jar-em)" -jar "$JAR" --rules-engine.build.mode=EXECUTABLE_MODEL
+# El jar de target/cds usa rutas relativas (lib/): se arranca desde su directorio
+benchmark "classpath" "$CDS_DIR" -jar "$CDS_JAR" \
+    --rules-engine.build.mode=EXECUTABLE_MODEL --rules-engine.dynamic-rules.directory="$(variant_dir classpath)"
+benchmark "aot" "$CDS_DIR" -Dspring.aot.enabled=true -jar "$CDS_JAR" \
+    --rules-engine.build.mode=EXECUTABLE_MODEL --rules-engine.dynamic-rules.directory="$(variant_dir aot)"
+benchmark "aot-appcds" "$CDS_DIR" -XX:SharedArchiveFile=rules-engine.jsa -Dspring.aot.enabled=true -jar "$CDS_JAR" \
+    --rules-engine.build.mode=EXECUTABLE_MODEL --rules-engine.dynamic-rules.directory="$(variant_dir aot-appcds)"
@@ -1,10 +1,10 @@
 #!/bin/bash
 
-# Script para subir archivos de reglas (DRL o CSV) al Rules Engine
-# Uso: ./upload-rule.sh <archivo.drl|archivo.csv>
+# Script para subir archivos de reglas (DRL o Decision Table CSV/XLS/XLSX) al Rules Engine
+# Uso: ./upload-rule.sh <archivo.drl|archivo.csv|archivo.xlsx>
 
 if [ $# -eq 0 ]; then
-    echo "Uso: $0 <archivo.drl|archivo.csv>"
+    echo "Uso: $0 <archivo.drl|archivo.csv|archivo.xlsx>"
     echo "Ejemplo: $0 my-rule.drl"
     exit 1
 fi
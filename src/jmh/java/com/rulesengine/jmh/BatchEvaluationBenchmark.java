@@ -0,0 +1,89 @@
+package com.rulesengine.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.KieContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.rulesengine.BenchmarkData;
+import com.rulesengine.concurrency.AdaptiveConcurrency;
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.config.SchedulerConfig;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.impl.BatchEvaluator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Coste de evaluar un lote de 10.000 transacciones con todas las reglas según el tamaño de chunk
+ * (transacciones por sesión). chunkSize=1 equivale a una sesión por transacción.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class BatchEvaluationBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1", "50", "500", "2000"})
+    public int chunkSize;
+
+    // 0 = número de cores
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private RuleExecutor executor;
+    private BatchEvaluator batchEvaluator;
+    private Scheduler scheduler;
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new RulesEngineProperties();
+        properties.getBatch().setChunkSize(chunkSize);
+        properties.getBatch().setParallelism(parallelism);
+
+        KieContainer kieContainer = new DroolsConfig().kieContainer(properties);
+        executor = new RuleExecutorFactory(properties, List.of())
+            .create("rules", () -> kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE));
+        scheduler = SchedulerConfig.createEvaluationScheduler(properties.getEvaluationScheduler(), new SimpleMeterRegistry());
+        batchEvaluator = new BatchEvaluator(properties, scheduler,
+            new AdaptiveConcurrency(properties, new SimpleMeterRegistry()));
+        transactions = BenchmarkData.transactions(BATCH_SIZE, TransactionCursor.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Benchmark
+    public List<RuleResult> evaluateBatch() {
+        for (var transaction : transactions) {
+            transaction.setRiskScore(0);
+            transaction.setRejectionReason(null);
+        }
+        return batchEvaluator.evaluate(transactions, executor, (transaction, firedRules, processingTime) -> {
+            var result = new RuleResult();
+            result.setTransactionId(transaction.getId());
+            result.setStatus(transaction.getStatus());
+            result.setAppliedRules(firedRules);
+            return result;
+        }).collectList().block();
+    }
+}
@@ -0,0 +1,105 @@
+package com.rulesengine.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+
+/**
+ * Coste de codificar y decodificar el cuerpo de /evaluate (Transaction de entrada y RuleResult de salida)
+ * en JSON, Smile y CBOR, con la configuración de {@code CodecConfig}. Al preparar cada formato se imprimen
+ * los bytes medios en la red de cada cuerpo:
+ * <pre>
+ * mvn test-compile exec:exec -Pjmh -Djmh.args="Codec -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    private List<byte[]> encodedTransactions;
+    private RuleResult ruleResult;
+    private byte[] encodedRuleResult;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper = switch (format) {
+            case "SMILE" -> builder.factory(new SmileFactory()).build();
+            case "CBOR" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+        transactions = new TransactionCursor().dataset();
+        encodedTransactions = new ArrayList<>(transactions.size());
+        long transactionBytes = 0;
+        for (var transaction : transactions) {
+            var encoded = objectMapper.writeValueAsBytes(transaction);
+            encodedTransactions.add(encoded);
+            transactionBytes += encoded.length;
+        }
+
+        ruleResult = new RuleResult();
+        ruleResult.setTransactionId("BENCH-0");
+        ruleResult.setStatus("PENDING_REVIEW");
+        ruleResult.setFinalRiskScore(45);
+        ruleResult.setProcessingTimeMs(1L);
+        ruleResult.setComplexityLevel("ALL");
+        ruleResult.setAppliedRules(List.of("High risk transaction based on amount and type", "Currency conversion risk"));
+        ruleResult.getReasons().add("Amount exceeds maximum limit");
+        encodedRuleResult = objectMapper.writeValueAsBytes(ruleResult);
+        System.out.printf("%n%s: Transaction %d bytes (media), RuleResult %d bytes%n",
+            format, transactionBytes / transactions.size(), encodedRuleResult.length);
+    }
+
+    private int nextIndex() {
+        if (index == transactions.size()) {
+            index = 0;
+        }
+        return index++;
+    }
+
+    @Benchmark
+    public byte[] encodeTransaction() throws Exception {
+        return objectMapper.writeValueAsBytes(transactions.get(nextIndex()));
+    }
+
+    @Benchmark
+    public Transaction decodeTransaction() throws Exception {
+        return objectMapper.readValue(encodedTransactions.get(nextIndex()), Transaction.class);
+    }
+
+    @Benchmark
+    public byte[] encodeRuleResult() throws Exception {
+        return objectMapper.writeValueAsBytes(ruleResult);
+    }
+
+    @Benchmark
+    public RuleResult decodeRuleResult() throws Exception {
+        return objectMapper.readValue(encodedRuleResult, RuleResult.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.rulesengine.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.rule.AgendaFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.StatelessRuleExecutor;
+
+/**
+ * Latencia por nivel de complejidad con la KieBase única y un AgendaFilter por paquete
+ * frente a la KieBase dedicada de cada nivel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ComplexityKieBaseBenchmark {
+
+    @Param({"LOW", "MEDIUM", "HIGH"})
+    public String level;
+
+    private RuleExecutor allRules;
+    private RuleExecutor dedicated;
+    private AgendaFilter filter;
+    private TransactionCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        KieContainer kieContainer = new DroolsConfig().kieContainer(new RulesEngineProperties());
+        var kieBaseName = switch (level) {
+            case "LOW" -> DroolsConfig.LOW_RULES_BASE;
+            case "MEDIUM" -> DroolsConfig.MEDIUM_RULES_BASE;
+            default -> DroolsConfig.HIGH_RULES_BASE;
+        };
+        var packageName = "com.rulesengine.rules." + level.toLowerCase();
+        allRules = new StatelessRuleExecutor("all", () -> kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE), 1);
+        dedicated = new StatelessRuleExecutor(level.toLowerCase(), () -> kieContainer.getKieBase(kieBaseName), 1);
+        filter = match -> match.getRule().getPackageName().equals(packageName);
+        cursor = new TransactionCursor();
+    }
+
+    @Benchmark
+    public int filterOnRulesBase() {
+        return allRules.execute(List.of(cursor.next()), filter).rulesFired();
+    }
+
+    @Benchmark
+    public int dedicatedKieBase() {
+        return dedicated.execute(List.of(cursor.next())).rulesFired();
+    }
+}
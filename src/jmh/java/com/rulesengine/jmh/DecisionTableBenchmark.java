@@ -0,0 +1,60 @@
+package com.rulesengine.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rulesengine.config.DecisionTableConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.engine.SessionMode;
+
+/**
+ * Coste de evaluar una transacción con las Decision Tables, con sesiones de Drools o con el
+ * índice compilado ({@code lookup=true}, {@code rules-engine.decision-tables.lookup})
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DecisionTableBenchmark {
+
+    @Param({"STATELESS", "POOLED", "FRESH"})
+    public SessionMode sessionMode;
+
+    @Param({"false", "true"})
+    public boolean lookup;
+
+    private RuleExecutor executor;
+    private TransactionCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new RulesEngineProperties();
+        properties.getSession().setMode(sessionMode);
+
+        properties.getDecisionTables().setLookup(lookup);
+
+        var config = new DecisionTableConfig();
+        var compiler = new DecisionTableCompiler(null);
+        var kieContainer = config.decisionTableKieContainer(properties, compiler);
+        executor = config.decisionTableRuleExecutor(kieContainer, new RuleExecutorFactory(properties, List.of()),
+            properties, compiler);
+        cursor = new TransactionCursor();
+    }
+
+    @Benchmark
+    public int fireAllRules() {
+        return executor.execute(List.of(cursor.next())).rulesFired();
+    }
+}
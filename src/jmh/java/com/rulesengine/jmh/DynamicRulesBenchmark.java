@@ -0,0 +1,69 @@
+package com.rulesengine.jmh;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.KieServices;
+import org.kie.api.builder.Message;
+import org.kie.internal.io.ResourceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.KieModuleBuilder;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.engine.SessionMode;
+
+/**
+ * Coste de evaluar una transacción con reglas dinámicas compiladas como en
+ * DynamicRulesServiceImpl (por defecto scripts/example-dynamic-rule.drl)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DynamicRulesBenchmark {
+
+    @Param({"scripts/example-dynamic-rule.drl"})
+    public String ruleFile;
+
+    @Param({"STATELESS", "POOLED"})
+    public SessionMode sessionMode;
+
+    @Param({"DRL", "EXECUTABLE_MODEL"})
+    public RuleBuildMode buildMode;
+
+    private RuleExecutor executor;
+    private TransactionCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new RulesEngineProperties();
+        properties.getSession().setMode(sessionMode);
+
+        var kieServices = KieServices.Factory.get();
+        var kieFileSystem = kieServices.newKieFileSystem();
+        kieFileSystem.write(ResourceFactory.newFileResource(Path.of(ruleFile).toFile()));
+        var kieBuilder = KieModuleBuilder.buildAll(kieServices, kieFileSystem, buildMode);
+        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("Error compiling " + ruleFile + ": " + kieBuilder.getResults());
+        }
+        var kieContainer = kieServices.newKieContainer(kieBuilder.getKieModule().getReleaseId());
+        executor = new RuleExecutorFactory(properties, List.of()).create("dynamic-rules", kieContainer::getKieBase);
+        cursor = new TransactionCursor();
+    }
+
+    @Benchmark
+    public int fireAllRules() {
+        return executor.execute(List.of(cursor.next())).rulesFired();
+    }
+}
@@ -0,0 +1,128 @@
+package com.rulesengine.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.service.impl.DynamicRulesServiceImpl;
+
+/**
+ * Coste de subir, modificar y borrar un archivo de reglas dinámicas (compilación incremental) frente
+ * a recompilar todo el directorio, con cientos de archivos DRL de 3 reglas cada uno
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DynamicRulesRecompilationBenchmark {
+
+    private static final String MODIFIED_FILE = "modified.drl";
+    private static final String DELETED_FILE = "deleted.drl";
+
+    @Param({"100", "300", "600"})
+    public int files;
+
+    private Path rulesDir;
+    private DynamicRulesServiceImpl service;
+    private int operation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rulesDir = Files.createTempDirectory("dynamic-rules");
+        for (int i = 0; i < files; i++) {
+            Files.writeString(rulesDir.resolve("rules-" + i + ".drl"), drl(i, 0));
+        }
+        Files.writeString(rulesDir.resolve(MODIFIED_FILE), drl(files, 0));
+        var properties = new RulesEngineProperties();
+        properties.getDynamicRules().setDirectory(rulesDir.toString());
+        // El constructor ya carga el directorio completo
+        service = new DynamicRulesServiceImpl(new RuleExecutorFactory(properties, List.of()), properties,
+            new DecisionTableCompiler(null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(rulesDir)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Deja el archivo que borra {@link #delete} antes de cada invocación, fuera del tiempo medido
+     */
+    @State(Scope.Benchmark)
+    public static class DeletedFile {
+
+        @Setup(Level.Invocation)
+        public void upload(DynamicRulesRecompilationBenchmark benchmark) {
+            check(benchmark.service.uploadAndCompileRule(bytes(drl(benchmark.files + 1, 0)), DELETED_FILE));
+        }
+    }
+
+    @Benchmark
+    public boolean fullLoad() {
+        return check(service.loadDynamicRules());
+    }
+
+    @Benchmark
+    public boolean upload() {
+        var file = files + 2 + operation++;
+        return check(service.uploadAndCompileRule(bytes(drl(file, 0)), "added-" + file + ".drl"));
+    }
+
+    @Benchmark
+    public boolean modify() {
+        return check(service.uploadAndCompileRule(bytes(drl(files, ++operation)), MODIFIED_FILE));
+    }
+
+    @Benchmark
+    public boolean delete(DeletedFile deletedFile) {
+        return check(service.deleteRule(DELETED_FILE));
+    }
+
+    private static boolean check(boolean compiled) {
+        if (!compiled) {
+            throw new IllegalStateException("Dynamic rules were not compiled");
+        }
+        return true;
+    }
+
+    private static String drl(int file, int version) {
+        var drl = new StringBuilder("package com.rulesengine.rules.dynamic\nimport com.rulesengine.model.Transaction\n");
+        for (int rule = 0; rule < 3; rule++) {
+            drl.append("""
+                rule "Dynamic %d-%d"
+                    when
+                        $transaction : Transaction(amount > %d, country == "C%d")
+                    then
+                        $transaction.setRiskScore($transaction.getRiskScore() + %d);
+                end
+                """.formatted(file, rule, file * 10 + rule + version, file % 7, rule + 1));
+        }
+        return drl.toString();
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
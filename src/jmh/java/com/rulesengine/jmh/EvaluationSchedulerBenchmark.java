@@ -0,0 +1,139 @@
+package com.rulesengine.jmh;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.kie.api.runtime.KieContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.rulesengine.BenchmarkData;
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.config.SchedulerConfig;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.engine.SchedulerType;
+import com.rulesengine.model.Transaction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Carga en bucle abierto por scheduler de evaluación: cada invocación envía {@code rate} evaluaciones
+ * por segundo durante {@value #DURATION_SECONDS}s y espera a que terminen. La latencia de cada evaluación
+ * se mide desde su instante previsto de llegada (sin coordinated omission) y al final de cada iteración
+ * se imprimen p50, p99, máximo y rechazadas; el tiempo de la invocación solo supera la duración si el
+ * scheduler no absorbe el ritmo. VIRTUAL requiere Java 21 ({@code -p scheduler=PARALLEL,BOUNDED_ELASTIC}
+ * con versiones anteriores)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class EvaluationSchedulerBenchmark {
+
+    static final int DURATION_SECONDS = 3;
+
+    @Param({"PARALLEL", "BOUNDED_ELASTIC", "VIRTUAL"})
+    public SchedulerType scheduler;
+
+    @Param({"5000", "20000", "50000"})
+    public int rate;
+
+    private RuleExecutor executor;
+    private Scheduler evaluationScheduler;
+    private List<Transaction> dataset;
+    private long[] latencies;
+    private AtomicInteger completed;
+    private AtomicInteger rejected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (scheduler == SchedulerType.VIRTUAL && Runtime.version().feature() < 21) {
+            // SchedulerConfig usaría PARALLEL y se mediría otro scheduler con el nombre de VIRTUAL
+            throw new IllegalStateException("VIRTUAL scheduler requires Java 21 (running " + Runtime.version() + ")");
+        }
+        var properties = new RulesEngineProperties();
+        properties.getEvaluationScheduler().setType(scheduler);
+        KieContainer kieContainer = new DroolsConfig().kieContainer(properties);
+        executor = new RuleExecutorFactory(properties, List.of())
+            .create("rules", () -> kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE));
+        evaluationScheduler = SchedulerConfig.createEvaluationScheduler(
+            properties.getEvaluationScheduler(), new SimpleMeterRegistry());
+        dataset = BenchmarkData.transactions(rate * DURATION_SECONDS, 42);
+        latencies = new long[dataset.size()];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        evaluationScheduler.dispose();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        completed = new AtomicInteger();
+        rejected = new AtomicInteger();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        var sorted = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(sorted);
+        System.out.printf("%n%s %d/s: p50 %.1f us, p99 %.1f us, max %.1f us, rejected %d%n", scheduler, rate,
+            percentile(sorted, 0.50), percentile(sorted, 0.99),
+            sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000.0, rejected.get());
+    }
+
+    @Benchmark
+    public int openLoop() throws InterruptedException {
+        var done = new CountDownLatch(dataset.size());
+        var period = TimeUnit.SECONDS.toNanos(1) / rate;
+        var start = System.nanoTime();
+
+        for (int i = 0; i < dataset.size(); i++) {
+            var intended = start + i * period;
+            var wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            var tx = dataset.get(i);
+            Mono.fromCallable(() -> {
+                    tx.setStatus("PENDING");
+                    tx.setRiskScore(0);
+                    tx.setRejectionReason(null);
+                    return executor.execute(List.of(tx)).rulesFired();
+                })
+                .subscribeOn(evaluationScheduler)
+                .subscribe(fired -> {
+                    latencies[completed.getAndIncrement()] = System.nanoTime() - intended;
+                    done.countDown();
+                }, error -> {
+                    rejected.incrementAndGet();
+                    done.countDown();
+                });
+        }
+        done.await();
+        return completed.get();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000.0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.rulesengine.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.engine.KieModuleBuilder;
+import com.rulesengine.engine.RuleBuildMode;
+
+/**
+ * Tiempo de arranque hasta tener la KieBase con todas las reglas: compilación DRL clásica,
+ * compilación a executable model en runtime y carga del KJAR generado en build (PREBUILT).
+ * El coste por evaluación de cada modo lo mide RuleFiringBenchmark con {@code buildMode};
+ * el KJAR precompilado contiene el mismo executable model
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class ExecutableModelBenchmark {
+
+    @Param({"DRL", "EXECUTABLE_MODEL", "PREBUILT"})
+    public String path;
+
+    private final KieServices kieServices = KieServices.Factory.get();
+    private byte[] kjar;
+    private ReleaseId releaseId;
+    private KieContainer kieContainer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        KieModule executableModel = new DroolsConfig().buildKieModule(RuleBuildMode.EXECUTABLE_MODEL);
+        releaseId = executableModel.getReleaseId();
+        var target = Files.createTempDirectory("kjar").resolve("rules.jar");
+        KieModuleBuilder.writeKjar(executableModel, target);
+        kjar = Files.readAllBytes(target);
+        Files.delete(target);
+        Files.delete(target.getParent());
+    }
+
+    @Setup(Level.Invocation)
+    public void removeKieModule() {
+        // Cada arranque parte de un repositorio sin el módulo, como un proceso nuevo
+        kieServices.getRepository().removeKieModule(releaseId);
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeContainer() {
+        kieContainer.dispose();
+    }
+
+    @Benchmark
+    public KieBase startup() {
+        var kieModule = switch (path) {
+            case "DRL" -> new DroolsConfig().buildKieModule(RuleBuildMode.DRL);
+            case "EXECUTABLE_MODEL" -> new DroolsConfig().buildKieModule(RuleBuildMode.EXECUTABLE_MODEL);
+            default -> kieServices.getRepository().addKieModule(kieServices.getResources().newByteArrayResource(kjar));
+        };
+        kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
+        return kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE);
+    }
+}
@@ -0,0 +1,84 @@
+package com.rulesengine.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.KieContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.PrimitiveTransaction;
+
+/**
+ * Evaluación con el modelo de hechos boxed ({@code Transaction}, reglas de {@code rules/}) frente al primitivo
+ * ({@code PrimitiveTransaction}, reglas de {@code rules/primitive}). Bytes asignados por evaluación con
+ * {@code -prof gc} (gc.alloc.rate.norm):
+ * <pre>
+ * mvn test-compile exec:exec -Pjmh -Djmh.args="FactModel -prof gc -f 1"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class FactModelBenchmark {
+
+    @Param({"TRANSACTION", "PRIMITIVE"})
+    public String model;
+
+    @Param({"HIGH", "ALL"})
+    public String level;
+
+    @Param({"DRL", "EXECUTABLE_MODEL"})
+    public RuleBuildMode buildMode;
+
+    private boolean primitive;
+    private RuleExecutor executor;
+    private TransactionCursor cursor;
+    private List<PrimitiveTransaction> primitives;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new RulesEngineProperties();
+        properties.getBuild().setMode(buildMode);
+
+        var drools = new DroolsConfig();
+        primitive = model.equals("PRIMITIVE");
+        KieContainer kieContainer = primitive ? drools.primitiveKieContainer(buildMode) : drools.kieContainer(properties);
+        var kieBaseName = switch (level) {
+            case "HIGH" -> primitive ? DroolsConfig.PRIMITIVE_HIGH_RULES_BASE : DroolsConfig.HIGH_RULES_BASE;
+            default -> primitive ? DroolsConfig.PRIMITIVE_ALL_RULES_BASE : DroolsConfig.ALL_RULES_BASE;
+        };
+        executor = new RuleExecutorFactory(properties, List.of()).create("rules", () -> kieContainer.getKieBase(kieBaseName));
+        cursor = new TransactionCursor();
+        primitives = cursor.dataset().stream().map(PrimitiveTransaction::of).toList();
+    }
+
+    @Benchmark
+    public int fireAllRules() {
+        return executor.execute(List.of(primitive ? nextPrimitive() : cursor.next())).rulesFired();
+    }
+
+    private PrimitiveTransaction nextPrimitive() {
+        if (index == primitives.size()) {
+            index = 0;
+        }
+        var transaction = primitives.get(index++);
+        transaction.setStatus("PENDING");
+        transaction.setRiskScore(0);
+        transaction.setRejectionReason(null);
+        return transaction;
+    }
+}
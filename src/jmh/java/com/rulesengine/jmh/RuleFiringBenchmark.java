@@ -0,0 +1,78 @@
+package com.rulesengine.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.KieContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.engine.ExecutionListener;
+import com.rulesengine.engine.SessionMode;
+import com.rulesengine.engine.StagedRuleExecutor;
+
+/**
+ * Coste de evaluar una transacción con las reglas DRL por nivel de complejidad,
+ * sin HTTP ni serialización. STAGED evalúa LOW, MEDIUM y HIGH parando cuando la transacción
+ * deja de estar en PENDING; compararlo con ALL da la latencia ahorrada por la salida temprana
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RuleFiringBenchmark {
+
+    @Param({"LOW", "MEDIUM", "HIGH", "ALL", "STAGED"})
+    public String level;
+
+    @Param({"STATELESS", "POOLED", "FRESH"})
+    public SessionMode sessionMode;
+
+    @Param({"DRL", "EXECUTABLE_MODEL"})
+    public RuleBuildMode buildMode;
+
+    private RuleExecutor executor;
+    private TransactionCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new RulesEngineProperties();
+        properties.getSession().setMode(sessionMode);
+        properties.getBuild().setMode(buildMode);
+
+        KieContainer kieContainer = new DroolsConfig().kieContainer(properties);
+        var factory = new RuleExecutorFactory(properties, List.of());
+        if ("STAGED".equals(level)) {
+            executor = new StagedRuleExecutor("rules-staged", List.of(
+                    factory.create("rules-low", () -> kieContainer.getKieBase(DroolsConfig.LOW_RULES_BASE)),
+                    factory.create("rules-medium", () -> kieContainer.getKieBase(DroolsConfig.MEDIUM_RULES_BASE)),
+                    factory.create("rules-high", () -> kieContainer.getKieBase(DroolsConfig.HIGH_RULES_BASE))),
+                factory.create("rules", () -> kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE)), ExecutionListener.NONE);
+        } else {
+            var kieBaseName = switch (level) {
+                case "LOW" -> DroolsConfig.LOW_RULES_BASE;
+                case "MEDIUM" -> DroolsConfig.MEDIUM_RULES_BASE;
+                case "HIGH" -> DroolsConfig.HIGH_RULES_BASE;
+                default -> DroolsConfig.ALL_RULES_BASE;
+            };
+            executor = factory.create("rules", () -> kieContainer.getKieBase(kieBaseName));
+        }
+        cursor = new TransactionCursor();
+    }
+
+    @Benchmark
+    public int fireAllRules() {
+        return executor.execute(List.of(cursor.next())).rulesFired();
+    }
+}
@@ -0,0 +1,70 @@
+package com.rulesengine.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.KieSessionPool;
+
+/**
+ * Coste de obtener y liberar una KieSession (sin insertar hechos) sobre la KieBase con todas las reglas
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class SessionLifecycleBenchmark {
+
+    private KieContainer kieContainer;
+    private KieBase kieBase;
+    private KieSessionPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kieContainer = new DroolsConfig().kieContainer(new RulesEngineProperties());
+        kieBase = kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE);
+        pool = new KieSessionPool("bench", () -> kieBase, 1, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.invalidate();
+    }
+
+    /** Camino original: sesión con nombre desde el KieContainer */
+    @Benchmark
+    public long containerNewKieSession() {
+        var session = kieContainer.newKieSession("rulesSession");
+        var id = session.getIdentifier();
+        session.dispose();
+        return id;
+    }
+
+    /** Sesión nueva desde la KieBase (modo FRESH) */
+    @Benchmark
+    public long kieBaseNewKieSession() {
+        var session = kieBase.newKieSession();
+        var id = session.getIdentifier();
+        session.dispose();
+        return id;
+    }
+
+    /** Sesión reutilizada desde el pool, con reset al devolverla (modo POOLED) */
+    @Benchmark
+    public long pooledSession() {
+        try (var lease = pool.acquire()) {
+            return lease.session().getIdentifier();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.rulesengine.jmh;
+
+import java.util.List;
+
+import com.rulesengine.BenchmarkData;
+import com.rulesengine.model.Transaction;
+
+/**
+ * Recorre de forma circular un conjunto de transacciones con semilla fija,
+ * restaurando el estado que modifican las reglas antes de cada evaluación
+ */
+final class TransactionCursor {
+
+    static final int DATASET_SIZE = 1_000;
+    static final long SEED = 42;
+
+    private final List<Transaction> dataset;
+    private int index;
+
+    TransactionCursor() {
+        this.dataset = BenchmarkData.transactions(DATASET_SIZE, SEED);
+    }
+
+    Transaction next() {
+        if (index == dataset.size()) {
+            index = 0;
+        }
+        var transaction = dataset.get(index++);
+        transaction.setStatus("PENDING");
+        transaction.setRiskScore(0);
+        transaction.setRejectionReason(null);
+        return transaction;
+    }
+
+    List<Transaction> dataset() {
+        return dataset;
+    }
+}
@@ -0,0 +1,95 @@
+package com.rulesengine.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rulesengine.model.PrimitiveTransaction;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+
+/**
+ * Coste de (de)serializar con Jackson el cuerpo de /evaluate: Transaction de entrada y RuleResult de salida.
+ * Los métodos *PrimitiveTransaction leen y escriben el mismo JSON como {@link PrimitiveTransaction}
+ * (bytes asignados con {@code -prof gc})
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TransactionJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    private List<PrimitiveTransaction> primitiveTransactions;
+    private List<byte[]> transactionJson;
+    private RuleResult ruleResult;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // Misma configuración base que el ObjectMapper de Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        transactions = new TransactionCursor().dataset();
+        primitiveTransactions = transactions.stream().map(PrimitiveTransaction::of).toList();
+        transactionJson = new ArrayList<>(transactions.size());
+        for (var transaction : transactions) {
+            transactionJson.add(objectMapper.writeValueAsBytes(transaction));
+        }
+
+        ruleResult = new RuleResult();
+        ruleResult.setTransactionId("BENCH-0");
+        ruleResult.setStatus("PENDING_REVIEW");
+        ruleResult.setFinalRiskScore(45);
+        ruleResult.setProcessingTimeMs(1L);
+        ruleResult.setComplexityLevel("ALL");
+        ruleResult.setAppliedRules(List.of("Rules fired: 3"));
+        ruleResult.getReasons().add("Amount exceeds maximum limit");
+    }
+
+    private int nextIndex() {
+        if (index == transactions.size()) {
+            index = 0;
+        }
+        return index++;
+    }
+
+    @Benchmark
+    public byte[] serializeTransaction() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactions.get(nextIndex()));
+    }
+
+    @Benchmark
+    public Transaction deserializeTransaction() throws Exception {
+        return objectMapper.readValue(transactionJson.get(nextIndex()), Transaction.class);
+    }
+
+    @Benchmark
+    public byte[] serializePrimitiveTransaction() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(primitiveTransactions.get(nextIndex()));
+    }
+
+    @Benchmark
+    public PrimitiveTransaction deserializePrimitiveTransaction() throws Exception {
+        return objectMapper.readValue(transactionJson.get(nextIndex()), PrimitiveTransaction.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRuleResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ruleResult);
+    }
+}
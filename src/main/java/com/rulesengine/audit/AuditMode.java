@@ -0,0 +1,13 @@
+package com.rulesengine.audit;
+
+/**
+ * Nivel de auditoría de disparos de reglas
+ */
+public enum AuditMode {
+    /** Sin auditoría: no se registra ningún listener en las sesiones */
+    OFF,
+    /** Se audita una fracción de los disparos ({@code rules-engine.audit.sample-rate}) */
+    SAMPLED,
+    /** Se auditan todos los disparos */
+    FULL
+}
@@ -0,0 +1,79 @@
+package com.rulesengine.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer acotado multi-productor / un solo consumidor sin locks.
+ * Los productores reservan una posición con CAS y nunca bloquean: si el buffer está lleno
+ * el elemento se descarta y {@link #offer} devuelve false.
+ */
+final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    RingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        // Potencia de dos para calcular el índice con una máscara
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Añade un elemento sin bloquear
+     * @param element elemento a añadir
+     * @return false si el buffer está lleno
+     */
+    boolean offer(T element) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        slots.lazySet((int) position & mask, element);
+        return true;
+    }
+
+    /**
+     * Consume elementos disponibles; solo debe llamarse desde el hilo consumidor
+     * @param consumer consumidor de los elementos
+     * @param max número máximo de elementos a consumir
+     * @return número de elementos consumidos
+     */
+    int drain(Consumer<T> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            var element = slots.get(index);
+            if (element == null) {
+                // Vacío, o un productor ha reservado la posición y aún no ha escrito
+                break;
+            }
+            slots.lazySet(index, null);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
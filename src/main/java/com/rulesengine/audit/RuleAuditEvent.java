@@ -0,0 +1,13 @@
+package com.rulesengine.audit;
+
+/**
+ * Disparo de una regla registrado por la auditoría
+ * @param timestamp instante del disparo (epoch millis)
+ * @param executor ejecutor que disparó la regla
+ * @param packageName paquete de la regla
+ * @param ruleName nombre de la regla
+ * @param transactionId id de la transacción que activó la regla, o null
+ */
+public record RuleAuditEvent(long timestamp, String executor, String packageName, String ruleName,
+                             String transactionId) {
+}
@@ -0,0 +1,183 @@
+package com.rulesengine.audit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.kie.api.event.KieRuntimeEventManager;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.ExecutionListener;
+import com.rulesengine.model.Transaction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Auditoría de disparos de reglas.
+ * Sustituye a los {@code System.out.println} de las consecuencias: un AgendaEventListener registrado en
+ * cada sesión publica los disparos en un ring buffer sin locks y un hilo en segundo plano los escribe en
+ * el logger {@code com.rulesengine.audit}. Los hilos que evalúan reglas nunca bloquean: si el buffer está
+ * lleno el evento se descarta y se cuenta en {@code rules.audit.dropped}. Con el buffer vacío el hilo
+ * escritor queda aparcado hasta que un productor publica, sin despertarse periódicamente.
+ */
+@Component
+public class RuleAuditSink implements ExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleAuditSink.class);
+    private static final Logger audit = LoggerFactory.getLogger("com.rulesengine.audit");
+    private static final int DRAIN_BATCH = 1024;
+
+    private final AuditMode mode;
+    private final double sampleRate;
+    private final RingBuffer<RuleAuditEvent> buffer;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    // El escritor lo marca antes de aparcar; los productores solo le despiertan si está marcado
+    private volatile boolean writerParked;
+
+    public RuleAuditSink(RulesEngineProperties properties, MeterRegistry registry) {
+        var config = properties.getAudit();
+        this.mode = config.getMode();
+        this.sampleRate = config.getSampleRate();
+        this.buffer = new RingBuffer<>(config.getBufferSize());
+
+        FunctionCounter.builder("rules.audit.published", published, AtomicLong::get)
+            .tag("mode", mode.name())
+            .register(registry);
+        FunctionCounter.builder("rules.audit.dropped", dropped, AtomicLong::get)
+            .description("Eventos de auditoría descartados por buffer lleno")
+            .tag("mode", mode.name())
+            .register(registry);
+        Gauge.builder("rules.audit.buffer.size", buffer, RingBuffer::size)
+            .register(registry);
+
+        this.writer = new Thread(this::writeLoop, "rule-audit-writer");
+        this.writer.setDaemon(true);
+        if (mode != AuditMode.OFF) {
+            this.writer.start();
+        }
+        log.info("Rule audit mode: {} (sample rate {}, buffer {})", mode, sampleRate, buffer.capacity());
+    }
+
+    @Override
+    public void sessionCreated(String executor, KieRuntimeEventManager session, long durationNanos) {
+        if (mode != AuditMode.OFF) {
+            session.addEventListener(new AuditAgendaListener(executor));
+        }
+    }
+
+    @Override
+    public void ruleFired(String executor, String packageName, String ruleName, Object fact) {
+        if (mode != AuditMode.OFF && sampled()) {
+            publish(new RuleAuditEvent(System.currentTimeMillis(), executor, packageName, ruleName,
+                fact instanceof Transaction transaction ? transaction.getId() : null));
+        }
+    }
+
+    /**
+     * Publica un evento en el buffer sin bloquear
+     * @param event evento a publicar
+     * @return false si el evento se ha descartado
+     */
+    boolean publish(RuleAuditEvent event) {
+        if (buffer.offer(event)) {
+            published.incrementAndGet();
+            if (writerParked) {
+                LockSupport.unpark(writer);
+            }
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public AuditMode getMode() {
+        return mode;
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) == 0) {
+                writerParked = true;
+                // Comprobar de nuevo tras marcarse: un evento publicado antes de la marca no despierta al escritor
+                if (running && buffer.size() == 0) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+            }
+        }
+        // Vaciar lo pendiente al parar
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+            // continuar
+        }
+    }
+
+    private void write(RuleAuditEvent event) {
+        audit.info("Rule fired: {} [{}] executor={} transaction={}",
+            event.ruleName(), event.packageName(), event.executor(), event.transactionId());
+    }
+
+    private boolean sampled() {
+        return mode == AuditMode.FULL || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * AgendaEventListener que publica cada disparo (o una muestra) en el buffer de auditoría
+     */
+    private final class AuditAgendaListener extends DefaultAgendaEventListener {
+
+        private final String executor;
+
+        private AuditAgendaListener(String executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            if (!sampled()) {
+                return;
+            }
+            var match = event.getMatch();
+            String transactionId = null;
+            for (var object : match.getObjects()) {
+                if (object instanceof Transaction transaction) {
+                    transactionId = transaction.getId();
+                    break;
+                }
+            }
+            var rule = match.getRule();
+            publish(new RuleAuditEvent(System.currentTimeMillis(), executor, rule.getPackageName(), rule.getName(),
+                transactionId));
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.rulesengine.bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.RulesEngineService;
+
+/**
+ * Evaluación masiva de un archivo de transacciones (NDJSON o CSV) con {@link RulesEngineService}, sin
+ * pasar por HTTP. El archivo se divide en tantos rangos de líneas como particiones; cada partición lo
+ * lee mapeado en memoria ({@link MappedLineReader}), evalúa chunks de {@code rules-engine.batch.chunk-size}
+ * transacciones con {@link RulesEngineService#evaluateChunk} en su propio hilo (sin el scheduler de
+ * evaluación ni el límite de concurrencia de las peticiones, así que el throughput por partición es
+ * el de un core) y escribe los resultados en su propio archivo temporal con un buffer fijo. Al terminar,
+ * los archivos de las particiones se concatenan en el orden del archivo de entrada.
+ * <p>
+ * En memoria solo hay, por partición, un chunk de transacciones y sus resultados.
+ */
+@Component
+public class BulkEvaluationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEvaluationJob.class);
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+
+    private final RulesEngineService rulesEngineService;
+    private final ObjectReader ndjsonReader;
+    private final ObjectWriter resultWriter;
+    private final ObjectMapper csvMapper;
+    private final int chunkSize;
+
+    public BulkEvaluationJob(RulesEngineService rulesEngineService, ObjectMapper objectMapper,
+                             ObjectProvider<Jackson2ObjectMapperBuilder> builders, RulesEngineProperties properties) {
+        this.rulesEngineService = rulesEngineService;
+        this.ndjsonReader = objectMapper.readerFor(Transaction.class);
+        this.resultWriter = objectMapper.writerFor(RuleResult.class);
+        this.csvMapper = builders.getObject().factory(new CsvFactory()).build();
+        this.chunkSize = Math.max(1, properties.getBatch().getChunkSize());
+    }
+
+    /**
+     * Transacciones evaluadas por una partición
+     * @param partition número de partición
+     * @param transactions transacciones evaluadas
+     * @param elapsedNanos tiempo de la partición
+     */
+    public record PartitionReport(int partition, long transactions, long elapsedNanos) {
+        /**
+         * @return transacciones por segundo de la partición
+         */
+        public double throughput() {
+            return elapsedNanos > 0 ? transactions * 1e9 / elapsedNanos : 0;
+        }
+    }
+
+    /**
+     * Resultado de una ejecución
+     * @param parallelism particiones evaluadas en paralelo
+     * @param transactions transacciones evaluadas
+     * @param elapsedNanos tiempo total, incluida la concatenación de resultados
+     * @param partitions detalle por partición
+     */
+    public record BulkReport(int parallelism, long transactions, long elapsedNanos, List<PartitionReport> partitions) {
+        /**
+         * @return transacciones por segundo
+         */
+        public double throughput() {
+            return elapsedNanos > 0 ? transactions * 1e9 / elapsedNanos : 0;
+        }
+
+        /**
+         * @return transacciones por segundo y partición
+         */
+        public double throughputPerPartition() {
+            return throughput() / parallelism;
+        }
+    }
+
+    /**
+     * Evalúa todas las transacciones del archivo
+     * @param input archivo NDJSON o CSV
+     * @param format formato del archivo, o null para deducirlo de la extensión
+     * @param output archivo NDJSON de resultados (se sobrescribe)
+     * @param complexity nivel de complejidad (LOW, MEDIUM, HIGH o ALL)
+     * @param parallelism particiones evaluadas en paralelo
+     * @return transacciones evaluadas y tiempos
+     * @throws IOException si falla la lectura o la escritura, o una línea no es una transacción válida
+     */
+    public BulkReport run(Path input, BulkInputFormat format, Path output, String complexity, int parallelism)
+            throws IOException {
+        var startTime = System.nanoTime();
+        var effectiveFormat = format != null ? format : BulkInputFormat.of(input);
+        var parts = new ArrayList<Path>(parallelism);
+        try (var channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long start = 0;
+            var reader = ndjsonReader;
+            if (effectiveFormat == BulkInputFormat.CSV) {
+                var header = new MappedLineReader(channel, 0, channel.size());
+                if (!header.next()) {
+                    return new BulkReport(parallelism, 0, System.nanoTime() - startTime, List.of());
+                }
+                reader = csvReader(new String(header.line(), 0, header.length(), StandardCharsets.UTF_8));
+                start = header.position();
+            }
+
+            var bounds = MappedLineReader.split(channel, start, parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                parts.add(output.resolveSibling(output.getFileName() + ".part" + i));
+            }
+            var reports = evaluatePartitions(channel, bounds, reader, complexity, parts);
+
+            concatenate(parts, output);
+            var transactions = reports.stream().mapToLong(PartitionReport::transactions).sum();
+            return new BulkReport(parallelism, transactions, System.nanoTime() - startTime, reports);
+        } finally {
+            for (var part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private List<PartitionReport> evaluatePartitions(FileChannel channel, long[] bounds, ObjectReader reader,
+                                                     String complexity, List<Path> parts) throws IOException {
+        var parallelism = parts.size();
+        var threadCount = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "bulk-evaluation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var futures = new ArrayList<Future<PartitionReport>>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                var partition = i;
+                futures.add(executor.submit(() -> evaluatePartition(partition, channel, bounds[partition],
+                    bounds[partition + 1], reader, complexity, parts.get(partition))));
+            }
+            var reports = new ArrayList<PartitionReport>(parallelism);
+            for (var future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Bulk evaluation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PartitionReport evaluatePartition(int partition, FileChannel channel, long start, long end,
+                                              ObjectReader reader, String complexity, Path part) throws IOException {
+        var startTime = System.nanoTime();
+        long transactions = 0;
+        var lines = new MappedLineReader(channel, start, end);
+        try (var out = new BufferedOutputStream(Files.newOutputStream(part), WRITE_BUFFER_SIZE)) {
+            var chunk = new ArrayList<Transaction>(chunkSize);
+            while (lines.next()) {
+                chunk.add(parse(reader, lines));
+                if (chunk.size() == chunkSize) {
+                    transactions += evaluate(chunk, complexity, out);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                transactions += evaluate(chunk, complexity, out);
+            }
+        }
+        var elapsed = System.nanoTime() - startTime;
+        log.debug("Bulk partition {} [{}, {}) evaluated {} transactions in {}ms", partition, start, end,
+            transactions, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new PartitionReport(partition, transactions, elapsed);
+    }
+
+    private int evaluate(List<Transaction> chunk, String complexity, OutputStream out) throws IOException {
+        // En el hilo de la partición: cada partición ocupa un core sin saltar al scheduler de evaluación
+        var results = rulesEngineService.evaluateChunk(chunk, complexity);
+        for (var result : results) {
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        return results.size();
+    }
+
+    private static Transaction parse(ObjectReader reader, MappedLineReader lines) throws IOException {
+        try {
+            return reader.readValue(lines.line(), 0, lines.length());
+        } catch (JsonProcessingException e) {
+            throw new IOException("Invalid transaction at byte " + lines.lineStart() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private ObjectReader csvReader(String header) {
+        var schema = CsvSchema.builder();
+        for (var column : header.split(",")) {
+            schema.addColumn(column.strip().replace("\"", ""));
+        }
+        return csvMapper.readerFor(Transaction.class)
+            .with(schema.build())
+            .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+    }
+
+    private static void concatenate(List<Path> parts, Path output) throws IOException {
+        try (var target = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (var part : parts) {
+                try (var source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    var size = source.size();
+                    for (long position = 0; position < size; ) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+    }
+}
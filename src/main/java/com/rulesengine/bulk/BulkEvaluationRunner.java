@@ -0,0 +1,102 @@
+package com.rulesengine.bulk;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.config.RulesEngineProperties;
+
+/**
+ * Modo de evaluación masiva: con {@code rules-engine.bulk.input} la aplicación evalúa el archivo con
+ * {@link BulkEvaluationJob}, registra el throughput total y por partición y se cierra. Pensado para
+ * arrancar sin servidor web:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --rules-engine.bulk.input=transactions.ndjson
+ * </pre>
+ * Con {@code rules-engine.bulk.scaling-curve=true} el archivo se evalúa con 1, 2, 4... particiones hasta
+ * {@code parallelism} y se registra la curva de escalado.
+ */
+@Component
+public class BulkEvaluationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEvaluationRunner.class);
+
+    private final BulkEvaluationJob job;
+    private final RulesEngineProperties.Bulk config;
+    private final ConfigurableApplicationContext context;
+
+    public BulkEvaluationRunner(BulkEvaluationJob job, RulesEngineProperties properties,
+                                ConfigurableApplicationContext context) {
+        this.job = job;
+        this.config = properties.getBulk();
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // Sin archivo de entrada la aplicación sirve peticiones. El bean se registra siempre (sin
+        // @ConditionalOnProperty): con Spring AOT las condiciones se evalúan en build, no al arrancar
+        if (config.getInput() == null) {
+            return;
+        }
+        var input = Path.of(config.getInput());
+        var output = Path.of(config.getOutput());
+        var parallelism = config.effectiveParallelism();
+        var levels = config.isScalingCurve() ? scalingLevels(parallelism) : List.of(parallelism);
+
+        var reports = new ArrayList<BulkEvaluationJob.BulkReport>(levels.size());
+        for (var level : levels) {
+            log.info("Bulk evaluation of {} ({} complexity) with {} partitions", input, config.getComplexity(), level);
+            var report = job.run(input, config.getFormat(), output, config.getComplexity(), level);
+            for (var partition : report.partitions()) {
+                log.info("  partition {}: {} transactions in {}ms ({} tx/s)", partition.partition(),
+                    partition.transactions(), TimeUnit.NANOSECONDS.toMillis(partition.elapsedNanos()),
+                    Math.round(partition.throughput()));
+            }
+            log.info("Bulk evaluation: {} transactions in {}ms, {} tx/s ({} tx/s per partition), results in {}",
+                report.transactions(), TimeUnit.NANOSECONDS.toMillis(report.elapsedNanos()),
+                Math.round(report.throughput()), Math.round(report.throughputPerPartition()), output);
+            reports.add(report);
+        }
+        if (reports.size() > 1) {
+            logScalingCurve(reports);
+        }
+
+        // Evaluación terminada: cerrar el contexto (y el servidor web, si se arrancó)
+        SpringApplication.exit(context);
+    }
+
+    /**
+     * @param parallelism paralelismo máximo
+     * @return 1, 2, 4... hasta parallelism (incluido)
+     */
+    static List<Integer> scalingLevels(int parallelism) {
+        var levels = new ArrayList<Integer>();
+        for (int level = 1; level < parallelism; level *= 2) {
+            levels.add(level);
+        }
+        levels.add(parallelism);
+        return levels;
+    }
+
+    private static void logScalingCurve(List<BulkEvaluationJob.BulkReport> reports) {
+        var baseline = reports.get(0).throughput();
+        var curve = new StringBuilder("Bulk evaluation scaling curve\n")
+            .append(String.format("%12s %14s %18s %10s %12s%n", "partitions", "tx/s", "tx/s per partition", "speedup", "efficiency"));
+        for (var report : reports) {
+            var speedup = baseline > 0 ? report.throughput() / baseline : 0;
+            curve.append(String.format("%12d %14.0f %18.0f %9.2fx %11.0f%%%n", report.parallelism(), report.throughput(),
+                report.throughputPerPartition(), speedup, 100 * speedup / report.parallelism()));
+        }
+        log.info(curve.toString());
+    }
+}
@@ -0,0 +1,23 @@
+package com.rulesengine.bulk;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formato del archivo de transacciones de la evaluación masiva
+ */
+public enum BulkInputFormat {
+    /** Una transacción JSON por línea */
+    NDJSON,
+    /** Cabecera con los nombres de los campos de Transaction y una transacción por línea */
+    CSV;
+
+    /**
+     * Deduce el formato de la extensión del archivo
+     * @param file archivo de entrada
+     * @return CSV para {@code .csv}, NDJSON en otro caso
+     */
+    public static BulkInputFormat of(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,158 @@
+package com.rulesengine.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Lee las líneas de un rango de un archivo mapeado en memoria, por ventanas de como mucho
+ * {@link #WINDOW_SIZE} bytes: el rango puede superar los 2GB de un {@link MappedByteBuffer} y las
+ * páginas ya leídas se pueden liberar. Cada línea se copia en un buffer reutilizado; las líneas
+ * vacías se saltan y se quita el {@code \r} final.
+ */
+final class MappedLineReader {
+
+    static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long lineStart;
+    private byte[] line = new byte[1024];
+    private int length;
+
+    MappedLineReader(FileChannel channel, long start, long end) {
+        this(channel, start, end, WINDOW_SIZE);
+    }
+
+    MappedLineReader(FileChannel channel, long start, long end, int windowSize) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Avanza a la siguiente línea no vacía
+     * @return false si no quedan líneas en el rango
+     * @throws IOException si una línea no cabe en una ventana
+     */
+    boolean next() throws IOException {
+        while (position < end) {
+            if (window == null || position >= windowStart + window.limit()) {
+                map(position);
+            }
+            var offset = (int) (position - windowStart);
+            var limit = window.limit();
+            var newline = indexOfNewline(offset, limit);
+            if (newline < 0 && windowStart + limit < end) {
+                // La línea sigue en la siguiente ventana: volver a mapear desde su inicio
+                if (offset == 0) {
+                    throw new IOException("Line at byte " + position + " is longer than " + windowSize + " bytes");
+                }
+                map(position);
+                continue;
+            }
+
+            var lineEnd = newline < 0 ? limit : newline;
+            lineStart = position;
+            position = windowStart + (newline < 0 ? limit : newline + 1);
+            var lineLength = lineEnd - offset;
+            if (lineLength > 0 && window.get(lineEnd - 1) == '\r') {
+                lineLength--;
+            }
+            if (lineLength > 0) {
+                if (line.length < lineLength) {
+                    line = Arrays.copyOf(line, Math.max(lineLength, line.length * 2));
+                }
+                window.get(offset, line, 0, lineLength);
+                length = lineLength;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return buffer con la línea actual en {@code [0, length())}
+     */
+    byte[] line() {
+        return line;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * @return posición en el archivo del inicio de la línea actual
+     */
+    long lineStart() {
+        return lineStart;
+    }
+
+    /**
+     * @return posición en el archivo tras la línea actual
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Divide {@code [start, size)} en rangos de tamaño similar que empiezan al principio de una línea
+     * @param channel archivo
+     * @param start posición de la primera línea
+     * @param parts número de rangos
+     * @return {@code parts + 1} límites: el rango {@code i} es {@code [bounds[i], bounds[i + 1])}
+     * @throws IOException si falla la lectura
+     */
+    static long[] split(FileChannel channel, long start, int parts) throws IOException {
+        var size = channel.size();
+        var bounds = new long[parts + 1];
+        bounds[0] = start;
+        bounds[parts] = size;
+        var buffer = ByteBuffer.allocate(8192);
+        for (int i = 1; i < parts; i++) {
+            var bound = Math.max(bounds[i - 1], start + (size - start) * i / parts);
+            bounds[i] = bound == start ? start : afterNewline(channel, bound - 1, size, buffer);
+        }
+        return bounds;
+    }
+
+    private static long afterNewline(FileChannel channel, long from, long size, ByteBuffer buffer) throws IOException {
+        var position = from;
+        while (position < size) {
+            buffer.clear();
+            var read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private int indexOfNewline(int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void map(long from) throws IOException {
+        windowStart = from;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(windowSize, end - from));
+    }
+}
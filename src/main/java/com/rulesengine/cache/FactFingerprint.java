@@ -0,0 +1,216 @@
+package com.rulesengine.cache;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.drools.base.definitions.InternalKnowledgePackage;
+import org.drools.base.definitions.rule.impl.RuleImpl;
+import org.drools.base.rule.EvalCondition;
+import org.drools.base.rule.GroupElement;
+import org.drools.base.rule.RuleConditionElement;
+import org.drools.core.base.FieldNameSupplier;
+import org.drools.core.rule.JavaDialectRuntimeData;
+import org.drools.mvel.MVELConstraint;
+import org.kie.api.KieBase;
+
+/**
+ * Huella de un hecho: los valores de los campos que lee una KieBase, en orden canónico.
+ * Dos hechos con la misma huella producen el mismo resultado en esa KieBase.
+ * <p>
+ * Los campos se obtienen de la propia KieBase: identificadores de las restricciones MVEL, campos
+ * enlazados a variables y getters referenciados por el bytecode de las consecuencias y los
+ * {@code eval} compilados en el paquete. Si la KieBase usa algo que no se puede analizar
+ * ({@code from}, {@code accumulate}, dialecto MVEL en las consecuencias, executable model...)
+ * no hay huella y el hecho no se cachea. Tampoco se ven los helpers fuera del paquete de reglas
+ * que lean el hecho, ni las reglas que dependan de globals o de la hora.
+ */
+public final class FactFingerprint {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final List<String> fields;
+    private final Method[] getters;
+
+    private FactFingerprint(Collection<Method> getters) {
+        this.getters = getters.stream().sorted(Comparator.comparing(Method::getName)).toArray(Method[]::new);
+        this.fields = Arrays.stream(this.getters).map(FactFingerprint::propertyName).toList();
+    }
+
+    /**
+     * Analiza qué campos de un tipo de hecho lee una KieBase
+     * @param kieBase KieBase compilada
+     * @param factType tipo de los hechos que se insertan
+     * @return la huella o null si la KieBase no se puede analizar
+     */
+    public static FactFingerprint analyze(KieBase kieBase, Class<?> factType) {
+        Map<String, Method> getters = getters(factType);
+        Set<Method> used = new TreeSet<>(Comparator.comparing(Method::getName));
+        for (var kiePackage : kieBase.getKiePackages()) {
+            var pkg = (InternalKnowledgePackage) kiePackage;
+            for (var rule : kiePackage.getRules()) {
+                var ruleImpl = (RuleImpl) rule;
+                if (!analyze(ruleImpl.getLhs(), pkg, getters, used)
+                        || !isCompiledIn(pkg, ruleImpl.getConsequence())
+                        || ruleImpl.hasNamedConsequences()) {
+                    return null;
+                }
+            }
+            // Consecuencias, evals y funciones compilados: getters que aparecen en su bytecode
+            if (pkg.getDialectRuntimeRegistry().getDialectData("java") instanceof JavaDialectRuntimeData java) {
+                for (byte[] bytecode : java.getStore().values()) {
+                    getters.values().stream().filter(getter -> contains(bytecode, getter.getName())).forEach(used::add);
+                }
+            }
+        }
+        return new FactFingerprint(used);
+    }
+
+    /**
+     * @return nombres de los campos que forman la huella, en orden canónico
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Calcula la huella de un hecho
+     * @param fact el hecho, antes de evaluarlo
+     * @return clave con los valores de los campos leídos por la KieBase
+     */
+    public Key keyOf(Object fact) {
+        var values = new Object[getters.length];
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                values[i] = getters[i].invoke(fact);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read fact field", e);
+        }
+        return new Key(values);
+    }
+
+    private static boolean analyze(RuleConditionElement element, InternalKnowledgePackage pkg,
+                                   Map<String, Method> getters, Set<Method> used) {
+        if (element instanceof GroupElement group) {
+            return group.getChildren().stream().allMatch(child -> analyze(child, pkg, getters, used));
+        }
+        if (element instanceof EvalCondition eval) {
+            return isCompiledIn(pkg, eval.getEvalExpression());
+        }
+        if (!(element instanceof org.drools.base.rule.Pattern pattern) || pattern.getSource() != null) {
+            return false;
+        }
+        for (var constraint : pattern.getConstraints()) {
+            if (!(constraint instanceof MVELConstraint mvel)) {
+                return false;
+            }
+            var identifiers = IDENTIFIER.matcher(mvel.getExpression());
+            while (identifiers.find()) {
+                addGetter(identifiers.group(), getters, used);
+            }
+        }
+        for (var declaration : pattern.getDeclarations().values()) {
+            if (declaration.isPatternDeclaration()) {
+                continue;
+            }
+            if (!(declaration.getExtractor() instanceof FieldNameSupplier field)) {
+                return false;
+            }
+            addGetter(field.getFieldName(), getters, used);
+        }
+        return true;
+    }
+
+    private static void addGetter(String property, Map<String, Method> getters, Set<Method> used) {
+        var getter = getters.get(property.toLowerCase(Locale.ROOT));
+        if (getter != null) {
+            used.add(getter);
+        }
+    }
+
+    /**
+     * Las consecuencias y evals del dialecto Java se compilan en clases del paquete de reglas,
+     * cuyo bytecode se analiza; cualquier otra implementación no se puede analizar
+     */
+    private static boolean isCompiledIn(InternalKnowledgePackage pkg, Object invoker) {
+        return invoker != null && invoker.getClass().getName().startsWith(pkg.getName() + '.');
+    }
+
+    private static Map<String, Method> getters(Class<?> factType) {
+        Map<String, Method> getters = new TreeMap<>();
+        for (Method method : factType.getMethods()) {
+            var name = method.getName();
+            if (method.getParameterCount() > 0 || Modifier.isStatic(method.getModifiers())
+                    || method.getDeclaringClass() == Object.class || method.getReturnType() == void.class) {
+                continue;
+            }
+            if (name.startsWith("get") && name.length() > 3) {
+                getters.put(name.substring(3).toLowerCase(Locale.ROOT), method);
+            } else if (name.startsWith("is") && name.length() > 2) {
+                getters.putIfAbsent(name.substring(2).toLowerCase(Locale.ROOT), method);
+            }
+        }
+        return getters;
+    }
+
+    private static String propertyName(Method getter) {
+        var name = getter.getName();
+        var property = name.substring(name.startsWith("get") ? 3 : 2);
+        return Character.toLowerCase(property.charAt(0)) + property.substring(1);
+    }
+
+    private static boolean contains(byte[] bytecode, String text) {
+        var needle = text.getBytes(StandardCharsets.UTF_8);
+        outer:
+        for (int i = 0; i <= bytecode.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (bytecode[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Valores de los campos leídos por la KieBase; se compara por valor, sin colisiones de hash
+     */
+    public static final class Key {
+
+        private final Object[] values;
+        private final int hash;
+
+        private Key(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+}
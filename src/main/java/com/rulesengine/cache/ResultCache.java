@@ -0,0 +1,138 @@
+package com.rulesengine.cache;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.kie.api.KieBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.rulesengine.engine.ExecutionResult;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.model.Transaction;
+
+/**
+ * Caché de resultados delante de un {@link RuleExecutor}: las transacciones con la misma
+ * {@link FactFingerprint huella} en la KieBase actual reutilizan el resultado de la primera
+ * en lugar de disparar una sesión.
+ * <ul>
+ *   <li>La huella solo incluye los campos que lee la KieBase, de forma que transacciones que
+ *       difieren en otros campos (id, timestamp...) comparten entrada.</li>
+ *   <li>Al cambiar la KieBase del ejecutor (recarga de reglas) se vacía la caché y se vuelve a
+ *       analizar la KieBase.</li>
+ *   <li>Si la KieBase no se puede analizar, las evaluaciones pasan directamente al ejecutor.</li>
+ * </ul>
+ */
+public final class ResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultCache.class);
+
+    private final String name;
+    private final RuleExecutor ruleExecutor;
+    // null si la caché está desactivada
+    private final Cache<FactFingerprint.Key, Outcome> cache;
+    private volatile Generation generation;
+
+    ResultCache(String name, RuleExecutor ruleExecutor, Cache<FactFingerprint.Key, Outcome> cache) {
+        this.name = name;
+        this.ruleExecutor = ruleExecutor;
+        this.cache = cache;
+    }
+
+    /**
+     * Ejecuta las reglas sobre una transacción o aplica el resultado cacheado de una equivalente
+     * @param transaction transacción ya inicializada (estado PENDING, puntuación inicial)
+     * @return reglas ejecutadas (o las de la evaluación cacheada)
+     */
+    public ExecutionResult execute(Transaction transaction) {
+        if (cache == null) {
+            return ruleExecutor.execute(List.of(transaction));
+        }
+        var current = generation();
+        if (current.fingerprint == null) {
+            return ruleExecutor.execute(List.of(transaction));
+        }
+
+        // La huella se calcula antes de evaluar: las reglas modifican la transacción
+        var key = current.fingerprint.keyOf(transaction);
+        var outcome = cache.getIfPresent(key);
+        if (outcome != null) {
+            outcome.applyTo(transaction);
+            return new ExecutionResult(outcome.firedRules.size(), outcome.firedRules,
+                Collections.nCopies(outcome.firedRules.size(), transaction));
+        }
+
+        var result = ruleExecutor.execute(List.of(transaction));
+        // No guardar resultados de una KieBase que se ha sustituido durante la evaluación
+        if (generation == current && ruleExecutor.getKieBase() == current.kieBase) {
+            cache.put(key, Outcome.of(transaction, result));
+        }
+        return result;
+    }
+
+    /**
+     * @return true si la caché está activa y la KieBase actual se ha podido analizar
+     */
+    public boolean isActive() {
+        return cache != null && generation().fingerprint != null;
+    }
+
+    /**
+     * @return campos de la huella de la KieBase actual (vacío si no se cachea)
+     */
+    public List<String> getFingerprintFields() {
+        if (cache == null) {
+            return List.of();
+        }
+        var fingerprint = generation().fingerprint;
+        return fingerprint != null ? fingerprint.fields() : List.of();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private Generation generation() {
+        var kieBase = ruleExecutor.getKieBase();
+        var current = generation;
+        if (current != null && current.kieBase == kieBase) {
+            return current;
+        }
+        synchronized (this) {
+            current = generation;
+            if (current == null || current.kieBase != kieBase) {
+                cache.invalidateAll();
+                var fingerprint = kieBase != null ? FactFingerprint.analyze(kieBase, Transaction.class) : null;
+                if (fingerprint != null) {
+                    log.info("Result cache {} keyed by {}", name, fingerprint.fields());
+                } else {
+                    log.warn("Result cache {} disabled: rules cannot be analyzed", name);
+                }
+                current = new Generation(kieBase, fingerprint);
+                generation = current;
+            }
+            return current;
+        }
+    }
+
+    private record Generation(KieBase kieBase, FactFingerprint fingerprint) {
+    }
+
+    /**
+     * Resultado de una evaluación: lo que las reglas escriben en la transacción y las reglas ejecutadas
+     */
+    record Outcome(String status, Integer riskScore, String rejectionReason, List<String> firedRules) {
+
+        static Outcome of(Transaction transaction, ExecutionResult result) {
+            return new Outcome(transaction.getStatus(), transaction.getRiskScore(), transaction.getRejectionReason(),
+                List.copyOf(result.firedRules()));
+        }
+
+        void applyTo(Transaction transaction) {
+            transaction.setStatus(status);
+            transaction.setRiskScore(riskScore);
+            transaction.setRejectionReason(rejectionReason);
+        }
+    }
+}
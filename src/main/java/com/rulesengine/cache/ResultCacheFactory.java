@@ -0,0 +1,46 @@
+package com.rulesengine.cache;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.RuleExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Crea las cachés de resultados ({@code rules-engine.result-cache}).
+ * Métricas por caché (tag {@code cache=rules-result-<ejecutor>}): {@code cache.gets} con
+ * {@code result=hit|miss}, {@code cache.size}, {@code cache.evictions} y {@code cache.puts}.
+ */
+@Component
+public class ResultCacheFactory {
+
+    private final RulesEngineProperties.ResultCache config;
+    private final MeterRegistry registry;
+
+    public ResultCacheFactory(RulesEngineProperties properties, MeterRegistry registry) {
+        this.config = properties.getResultCache();
+        this.registry = registry;
+    }
+
+    /**
+     * Crea la caché de resultados de un ejecutor
+     * @param ruleExecutor ejecutor cuyas evaluaciones se cachean
+     * @return la caché; si está desactivada, las evaluaciones pasan directamente al ejecutor
+     */
+    public ResultCache create(RuleExecutor ruleExecutor) {
+        var name = "rules-result-" + ruleExecutor.getName();
+        if (!config.isEnabled()) {
+            return new ResultCache(name, ruleExecutor, null);
+        }
+        var cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getTtl())
+            .recordStats()
+            .<FactFingerprint.Key, ResultCache.Outcome>build();
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        return new ResultCache(name, ruleExecutor, cache);
+    }
+}
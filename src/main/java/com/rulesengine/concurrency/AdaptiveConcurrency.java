@@ -0,0 +1,147 @@
+package com.rulesengine.concurrency;
+
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.config.RulesEngineProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Concurrencia adaptativa de las rutas de streaming y de lotes ({@code rules-engine.concurrency}).
+ * Sustituye a la concurrencia fija de {@code flatMap}: cada ruta tiene un {@link ConcurrencyLimiter}
+ * AIMD y, al alcanzar el límite, la entrada se retrasa (contrapresión) o se descarta según
+ * {@code overload}. En streaming cada elemento se pide al origen después de obtener su permiso,
+ * así que como mucho se leen por adelantado tantos elementos como permite el límite actual. Métricas: {@code rules.concurrency.limit}, {@code rules.concurrency.in-flight},
+ * {@code rules.concurrency.waiting} y {@code rules.concurrency.shed} con tag {@code path}.
+ */
+@Component
+public class AdaptiveConcurrency {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrency.class);
+
+    public static final String STREAM = "stream";
+    public static final String BATCH = "batch";
+
+    private final ConcurrencyLimiter streamLimiter;
+    private final ConcurrencyLimiter batchLimiter;
+    private final OverloadStrategy overload;
+
+    public AdaptiveConcurrency(RulesEngineProperties properties, MeterRegistry registry) {
+        var config = properties.getConcurrency();
+        this.overload = config.getOverload();
+        this.streamLimiter = new ConcurrencyLimiter(STREAM, config.getInitialLimit(), config.getMinLimit(),
+            config.getMaxLimit(), config.getBackoffRatio(), config.getLatencyTolerance());
+        // Los chunks de un lote nunca superan rules-engine.batch.parallelism
+        var batchParallelism = properties.getBatch().effectiveParallelism();
+        this.batchLimiter = new ConcurrencyLimiter(BATCH, batchParallelism, 1, batchParallelism,
+            config.getBackoffRatio(), config.getLatencyTolerance());
+        bind(streamLimiter, registry);
+        bind(batchLimiter, registry);
+        log.info("Adaptive concurrency: stream limit {} ({}-{}, {}), batch limit {}", streamLimiter.getLimit(),
+            config.getMinLimit(), config.getMaxLimit(), overload, batchLimiter.getLimit());
+    }
+
+    /**
+     * Evalúa un flujo con el límite de concurrencia de streaming; el orden de salida no está garantizado
+     * @param input elementos a evaluar
+     * @param evaluation evaluación de cada elemento
+     * @param shedResult resultado que se emite si la evaluación se descarta por sobrecarga (modo SHED)
+     * @return Flux con los resultados
+     */
+    public <T, R> Flux<R> evaluate(Flux<T> input, Function<T, Mono<R>> evaluation, Function<T, R> shedResult) {
+        // El siguiente elemento solo se pide al origen cuando hay permiso: la demanda hacia el origen
+        // sigue al límite adaptativo actual, no a max-limit
+        return input.concatMap(this::admit, 0)
+            .flatMap(admission -> admission.permit() == null
+                    ? Mono.just(shedResult.apply(admission.item()))
+                    : limited(Mono.just(admission.permit()), evaluation.apply(admission.item())),
+                streamLimiter.getMaxLimit())
+            .doOnDiscard(Admission.class, Admission::cancel);
+    }
+
+    /**
+     * Obtiene el permiso de un elemento. Alcanzar el límite es el estado normal de un stream con
+     * contrapresión, así que se espera al permiso; en modo SHED el elemento solo se descarta si el
+     * límite está retrocediendo por latencia o errores (sobrecarga)
+     * @param item elemento a evaluar
+     * @return Mono con el elemento y su permiso, o sin permiso si se descarta
+     */
+    private <T> Mono<Admission<T>> admit(T item) {
+        var permit = streamLimiter.tryAcquire();
+        if (permit != null) {
+            return Mono.just(new Admission<>(item, permit));
+        }
+        if (overload == OverloadStrategy.SHED && streamLimiter.isBackingOff()) {
+            streamLimiter.recordShed();
+            return Mono.just(new Admission<>(item, null));
+        }
+        return streamLimiter.acquire().map(acquired -> new Admission<>(item, acquired));
+    }
+
+    /**
+     * Evalúa un flujo con el límite de concurrencia de lotes, manteniendo el orden de entrada.
+     * Al alcanzar el límite la entrada siempre se retrasa.
+     * @param input elementos a evaluar
+     * @param evaluation evaluación de cada elemento
+     * @return Flux con los resultados en el orden de entrada
+     */
+    public <T, R> Flux<R> evaluateSequential(Flux<T> input, Function<T, Mono<R>> evaluation) {
+        return input.flatMapSequential(item -> limited(batchLimiter.acquire(), evaluation.apply(item)),
+            batchLimiter.getMaxLimit());
+    }
+
+    public ConcurrencyLimiter getStreamLimiter() {
+        return streamLimiter;
+    }
+
+    public ConcurrencyLimiter getBatchLimiter() {
+        return batchLimiter;
+    }
+
+    private static <R> Mono<R> limited(Mono<ConcurrencyLimiter.Permit> permit, Mono<R> evaluation) {
+        return Mono.usingWhen(permit,
+            acquired -> evaluation,
+            acquired -> Mono.fromRunnable(() -> acquired.release(true)),
+            (acquired, error) -> Mono.fromRunnable(() -> acquired.release(false)),
+            acquired -> Mono.fromRunnable(acquired::cancel));
+    }
+
+    /**
+     * Elemento admitido con su permiso (null si se descarta), entre la espera del permiso y el inicio
+     * de la evaluación
+     */
+    private record Admission<T>(T item, ConcurrencyLimiter.Permit permit) {
+
+        // Descartado por cancelación antes de evaluarse: el permiso vuelve sin contar como muestra
+        void cancel() {
+            if (permit != null) {
+                permit.cancel();
+            }
+        }
+    }
+
+    private static void bind(ConcurrencyLimiter limiter, MeterRegistry registry) {
+        Gauge.builder("rules.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+            .description("Límite de concurrencia adaptativo actual")
+            .tag("path", limiter.getName())
+            .register(registry);
+        Gauge.builder("rules.concurrency.in-flight", limiter, ConcurrencyLimiter::getInFlight)
+            .tag("path", limiter.getName())
+            .register(registry);
+        Gauge.builder("rules.concurrency.waiting", limiter, ConcurrencyLimiter::getWaiting)
+            .tag("path", limiter.getName())
+            .register(registry);
+        FunctionCounter.builder("rules.concurrency.shed", limiter, ConcurrencyLimiter::getShedCount)
+            .description("Evaluaciones descartadas por sobrecarga")
+            .tag("path", limiter.getName())
+            .register(registry);
+    }
+}
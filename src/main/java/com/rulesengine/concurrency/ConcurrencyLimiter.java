@@ -0,0 +1,233 @@
+package com.rulesengine.concurrency;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Límite de concurrencia adaptativo AIMD guiado por la latencia observada de las evaluaciones.
+ * <ul>
+ *   <li>La latencia base es la mínima observada, que deriva lentamente hacia arriba para no quedarse
+ *       anclada a un valor antiguo.</li>
+ *   <li>Si una evaluación tarda más de {@code latencyTolerance} veces la base, o falla, el límite se
+ *       multiplica por {@code backoffRatio} (decremento multiplicativo).</li>
+ *   <li>En caso contrario el límite crece en {@code 1/limit} por muestra, es decir, aproximadamente
+ *       un permiso por cada ventana de evaluaciones (incremento aditivo).</li>
+ * </ul>
+ * Los permisos se obtienen sin bloquear: {@link #tryAcquire()} o {@link #acquire()}, que espera
+ * en una cola hasta que se libera un permiso.
+ */
+public final class ConcurrencyLimiter {
+
+    // Cuánto se acerca la latencia base a cada muestra más lenta (deriva lenta hacia arriba)
+    private static final double BASELINE_DRIFT = 0.001;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong shed = new AtomicLong();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private volatile double limit;
+    // true si la última muestra redujo el límite (latencia por encima de la tolerancia o error)
+    private volatile boolean backingOff;
+    private double baselineNanos = Double.NaN;
+
+    public ConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                              double backoffRatio, double latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min " + minLimit + ", max " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Intenta obtener un permiso sin esperar
+     * @return el permiso o null si se ha alcanzado el límite
+     */
+    public Permit tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return new Permit();
+    }
+
+    /**
+     * Obtiene un permiso, esperando sin bloquear a que se libere uno si se ha alcanzado el límite
+     * @return Mono que emite el permiso
+     */
+    public Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            var permit = tryAcquire();
+            if (permit != null) {
+                return Mono.just(permit);
+            }
+            return Mono.<Permit>create(sink -> {
+                    var waiter = new Waiter(sink);
+                    sink.onCancel(waiter::cancel);
+                    waiters.add(waiter);
+                    drain();
+                })
+                // Permiso concedido a una espera cancelada justo a la vez
+                .doOnDiscard(Permit.class, Permit::cancel);
+        });
+    }
+
+    /**
+     * Registra una evaluación descartada por sobrecarga
+     */
+    public void recordShed() {
+        shed.incrementAndGet();
+    }
+
+    /**
+     * @return true si la última evaluación superó la tolerancia de latencia o falló, es decir, si el
+     *         límite está retrocediendo por sobrecarga
+     */
+    public boolean isBackingOff() {
+        return backingOff;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getWaiting() {
+        return waiters.size();
+    }
+
+    public long getShedCount() {
+        return shed.get();
+    }
+
+    private void release(long latencyNanos, boolean success) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos, success);
+        drain();
+    }
+
+    private void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private synchronized void onSample(long latencyNanos, boolean success) {
+        if (success) {
+            if (Double.isNaN(baselineNanos) || latencyNanos < baselineNanos) {
+                baselineNanos = latencyNanos;
+            } else {
+                baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+            }
+        }
+        var current = limit;
+        if (!success || latencyNanos > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, current * backoffRatio);
+            backingOff = true;
+        } else {
+            limit = Math.min(maxLimit, current + 1.0 / current);
+            backingOff = false;
+        }
+    }
+
+    /**
+     * Entrega permisos libres a las evaluaciones en espera
+     */
+    private void drain() {
+        Waiter waiter;
+        while ((waiter = waiters.peek()) != null) {
+            var permit = tryAcquire();
+            if (permit == null) {
+                return;
+            }
+            waiters.remove(waiter);
+            if (!waiter.grant(permit)) {
+                // La espera se canceló: el permiso vuelve sin contar como muestra
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Permiso de evaluación; debe liberarse exactamente una vez
+     */
+    public final class Permit {
+
+        private final long acquiredAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        /**
+         * Libera el permiso registrando la latencia de la evaluación
+         * @param success false si la evaluación falló o se canceló
+         */
+        public void release(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimiter.this.release(System.nanoTime() - acquiredAt, success);
+            }
+        }
+
+        /**
+         * Libera el permiso sin registrar latencia (evaluación cancelada por el cliente)
+         */
+        public void cancel() {
+            if (released.compareAndSet(false, true)) {
+                releaseWithoutSample();
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant(Permit permit) {
+            if (done.compareAndSet(false, true)) {
+                sink.success(permit);
+                return true;
+            }
+            return false;
+        }
+
+        void cancel() {
+            if (done.compareAndSet(false, true)) {
+                waiters.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.rulesengine.concurrency;
+
+/**
+ * Comportamiento cuando se alcanza el límite de concurrencia
+ */
+public enum OverloadStrategy {
+    /** Retrasa la entrada: la evaluación espera un permiso y la contrapresión llega al cliente */
+    DELAY,
+    /**
+     * Como DELAY mientras la latencia es estable; si el límite está retrocediendo (latencia por encima
+     * de la tolerancia o errores) descarta la evaluación y devuelve un resultado con estado SHED
+     */
+    SHED
+}
@@ -0,0 +1,113 @@
+package com.rulesengine.config;
+
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Formatos binarios de los endpoints de evaluación, elegidos por Content-Type y Accept:
+ * <ul>
+ * <li>Smile ({@value #APPLICATION_SMILE_VALUE}) en las evaluaciones individuales y
+ * {@value #APPLICATION_STREAM_SMILE_VALUE} (valores Smile consecutivos) en lotes y streaming</li>
+ * <li>CBOR ({@code application/cbor}) solo en las evaluaciones individuales: el codec CBOR de Spring
+ * no lee ni escribe streams</li>
+ * </ul>
+ * Ambos usan la configuración del ObjectMapper de Spring Boot ({@code spring.jackson.*}).
+ */
+@Configuration
+public class CodecConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
+    private static final MimeType[] SMILE_MIME_TYPES = {
+        MimeType.valueOf(APPLICATION_SMILE_VALUE), MimeType.valueOf(APPLICATION_STREAM_SMILE_VALUE)};
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        // El builder de Spring Boot es prototype: uno por formato
+        var smileMapper = builders.getObject().factory(new SmileFactory()).build();
+        var cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        // Con un ObjectMapper propio hay que indicar los tipos: sin ellos los codecs anuncian los de JSON
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE_MIME_TYPES));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE_MIME_TYPES));
+            configurer.customCodecs().registerWithDefaultConfig(new CborDecoder(cborMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cborMapper));
+        };
+    }
+
+    private static boolean isCbor(@Nullable MimeType mimeType) {
+        // Sin tipo solo se consulta al registrar el codec: así se clasifica como codec de objetos,
+        // detrás de los de byte[], String y JSON, en lugar de como codec de tipos concretos
+        return mimeType == null || MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mimeType);
+    }
+
+    /**
+     * Decoder CBOR que solo se elige para cuerpos {@code application/cbor}, nunca por comodines
+     */
+    static class CborDecoder extends Jackson2CborDecoder {
+
+        CborDecoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+            return isCbor(mimeType) && super.canDecode(elementType, mimeType);
+        }
+
+        @Override
+        public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                                   @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            // Un único valor por cuerpo: el decoder de Spring no lee streams
+            return decodeToMono(input, elementType, mimeType, hints).flux();
+        }
+    }
+
+    /**
+     * Encoder CBOR que solo se elige para {@code Accept: application/cbor}: con comodines (también en
+     * las respuestas de error) se sigue usando JSON
+     */
+    static class CborEncoder extends Jackson2CborEncoder {
+
+        CborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+            return isCbor(mimeType) && super.canEncode(elementType, mimeType);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, @Nullable MimeType mimeType,
+                                       @Nullable Map<String, Object> hints) {
+            // Cada valor se codifica por separado: el encoder de Spring no escribe streams
+            return Flux.from(inputStream)
+                .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
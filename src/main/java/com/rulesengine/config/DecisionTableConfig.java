@@ -1,59 +1,162 @@
 package com.rulesengine.config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
 import org.kie.internal.io.ResourceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.DecisionTableLookup;
+import com.rulesengine.engine.KieModuleBuilder;
+import com.rulesengine.engine.KjarCache;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.Transaction;
+
 @Configuration
 public class DecisionTableConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(DecisionTableConfig.class);
     private static final String DECISION_TABLES_PATH = "decisiontables/";
+    private static final List<String> DECISION_TABLES = List.of(
+        "transaction-rules.csv", "country-risk-rules.csv", "account-tier-rules.csv");
+
+    // Prefijo de los KJAR con el executable model (perfil executable-model o primer arranque)
+    static final String KJAR_MODULE = "decision-tables";
+
     private final KieServices kieServices = KieServices.Factory.get();
+    private final ReleaseId releaseId = kieServices.newReleaseId("com.rulesengine", "decision-tables", "1.0.0");
+
+    @Bean
+    public DecisionTableCompiler decisionTableCompiler(RulesEngineProperties properties) {
+        var cacheDir = properties.getBuild().getDecisionTableCacheDir();
+        return new DecisionTableCompiler(cacheDir == null || cacheDir.isBlank() ? null : Path.of(cacheDir));
+    }
 
     @Bean("decisionTableKieContainer")
-    public KieContainer decisionTableKieContainer() {
+    public KieContainer decisionTableKieContainer(RulesEngineProperties properties, DecisionTableCompiler compiler) {
         try {
-            var kieFileSystem = getKieFileSystem();
-            
-            var kieBuilder = getKieBuilder(kieFileSystem);
-            
-            var kieModule = kieBuilder.getKieModule();
-            return kieServices.newKieContainer(kieModule.getReleaseId());
+            var startTime = System.currentTimeMillis();
+            var buildMode = properties.getBuild().getMode();
+
+            KieModule kieModule;
+            String source;
+            if (buildMode == RuleBuildMode.EXECUTABLE_MODEL) {
+                // KJAR del classpath o de un arranque anterior con el mismo hash de contenido, o compilar y guardarlo
+                var kjarCacheDir = properties.getBuild().getKjarCacheDir();
+                var kjarCache = new KjarCache(kieServices, kjarCacheDir == null || kjarCacheDir.isBlank() ? null : Path.of(kjarCacheDir));
+                var resolved = kjarCache.resolve(KJAR_MODULE, sources(), () -> buildKieModule(buildMode, compiler));
+                kieModule = resolved.kieModule();
+                source = resolved.source();
+            } else {
+                kieModule = buildKieModule(buildMode, compiler);
+                source = buildMode.name();
+            }
+
+            var kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
+            // Crear la KieBase al arrancar para no pagar su construcción en la primera evaluación
+            kieContainer.getKieBase();
+            log.info("Decision Table KieContainer ready in {}ms ({})", System.currentTimeMillis() - startTime, source);
+            return kieContainer;
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize Decision Table KieContainer", e);
         }
     }
 
-    private KieFileSystem getKieFileSystem() {
+    @Bean("decisionTableRuleExecutor")
+    public RuleExecutor decisionTableRuleExecutor(@Qualifier("decisionTableKieContainer") KieContainer decisionTableKieContainer,
+                                                  RuleExecutorFactory ruleExecutorFactory,
+                                                  RulesEngineProperties properties,
+                                                  DecisionTableCompiler compiler) {
+        // Usar la KieBase por defecto ya que decisiontable-kmodule.xml no se registra como kmodule.xml
+        var ruleExecutor = ruleExecutorFactory.create("decision-tables", decisionTableKieContainer::getKieBase);
+        if (!properties.getDecisionTables().isLookup()) {
+            return ruleExecutor;
+        }
+        var lookup = buildLookup(compiler);
+        return lookup != null ? ruleExecutorFactory.createLookup(lookup, ruleExecutor) : ruleExecutor;
+    }
+
+    /**
+     * Compila las Decision Tables del classpath a un índice de búsqueda, desde el mismo DRL que la KieBase
+     * @param compiler compilador de las tablas a DRL
+     * @return el índice o null si alguna regla no se puede compilar
+     */
+    public DecisionTableLookup buildLookup(DecisionTableCompiler compiler) {
+        return DecisionTableLookup.compile(DECISION_TABLES.stream()
+            .map(table -> DECISION_TABLES_PATH + table)
+            .map(path -> compiler.compileToDrl(path, readClassPathResource(path)))
+            .toList());
+    }
+
+    /**
+     * Contenido del que depende el KieModule: kmodule, las tablas y el modelo de hechos
+     * @return recursos que forman el hash de los KJAR
+     */
+    public KjarCache.Sources sources() {
+        var sources = new KjarCache.Sources().addClassPathResource("META-INF/decisiontable-kmodule.xml");
+        DECISION_TABLES.forEach(table -> sources.add(DECISION_TABLES_PATH + table, readClassPathResource(DECISION_TABLES_PATH + table)));
+        return sources.addFactTypes(List.of(Transaction.class));
+    }
+
+    /**
+     * Compila las Decision Tables desde el classpath
+     * @param buildMode modo de compilación
+     * @param compiler compilador de las tablas a DRL
+     * @return el KieModule compilado
+     */
+    public KieModule buildKieModule(RuleBuildMode buildMode, DecisionTableCompiler compiler) {
+        var kieFileSystem = getKieFileSystem(compiler);
+        
+        var kieBuilder = getKieBuilder(kieFileSystem, buildMode);
+        
+        return kieBuilder.getKieModule();
+    }
+
+    private KieFileSystem getKieFileSystem(DecisionTableCompiler compiler) {
         KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        kieFileSystem.generateAndWritePomXML(releaseId);
         
         // Cargar kmodule.xml para Decision Tables
         kieFileSystem.write(ResourceFactory.newClassPathResource("META-INF/decisiontable-kmodule.xml"));
         
-        // Cargar reglas DRL compiladas desde Decision Tables CSV
-        // NOTA: Los archivos CSV (transaction-rules.csv, country-risk-rules.csv, account-tier-rules.csv)
-        // son la fuente de verdad para reglas dinámicas. Estos CSV pueden ser modificados sin recompilar.
-        // Los archivos DRL correspondientes son la versión compilada de los CSV.
-        // 
-        // En producción, se podría usar SpreadsheetCompiler para compilar CSV a DRL en tiempo de ejecución,
-        // pero para esta POC mantenemos ambos: CSV (fuente) y DRL (compilado) para demostrar
-        // la diferencia entre reglas estáticas (DRL directo) y dinámicas (desde CSV).
-        kieFileSystem.write(ResourceFactory.newClassPathResource(
-            DECISION_TABLES_PATH + "transaction-rules.drl"));
-        kieFileSystem.write(ResourceFactory.newClassPathResource(
-            DECISION_TABLES_PATH + "country-risk-rules.drl"));
-        kieFileSystem.write(ResourceFactory.newClassPathResource(
-            DECISION_TABLES_PATH + "account-tier-rules.drl"));
+        // Los CSV son la fuente de verdad: se compilan a DRL con SpreadsheetCompiler
+        // (cacheado por hash de contenido). El orden de la lista es el orden de carga de las reglas.
+        for (String table : DECISION_TABLES) {
+            var path = DECISION_TABLES_PATH + table;
+            kieFileSystem.write(compiler.compile(path, readClassPathResource(path)));
+        }
         return kieFileSystem;
     }
 
-    private KieBuilder getKieBuilder(KieFileSystem kieFileSystem) {
-        KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
-        kieBuilder.buildAll();
+    private static byte[] readClassPathResource(String path) {
+        try (InputStream in = DecisionTableConfig.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Decision table not found in classpath: " + path);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading decision table " + path, e);
+        }
+    }
+
+    private KieBuilder getKieBuilder(KieFileSystem kieFileSystem, RuleBuildMode buildMode) {
+        KieBuilder kieBuilder = KieModuleBuilder.buildAll(kieServices, kieFileSystem, buildMode);
         
         var results = kieBuilder.getResults();
         
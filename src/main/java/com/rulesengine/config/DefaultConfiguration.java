@@ -1,10 +1,12 @@
 package com.rulesengine.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ComponentScan(basePackages = "com.rulesengine.service.impl")
+@EnableConfigurationProperties(RulesEngineProperties.class)
 public class DefaultConfiguration {
 
 }
@@ -1,32 +1,129 @@
 package com.rulesengine.config;
 
+import java.nio.file.Path;
+import java.util.List;
+
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
 import org.kie.internal.io.ResourceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.rulesengine.engine.KieModuleBuilder;
+import com.rulesengine.engine.KjarCache;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.model.PrimitiveTransaction;
+import com.rulesengine.model.Transaction;
+
 @Configuration
 public class DroolsConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(DroolsConfig.class);
     private static final String RULES_PATH = "rules/";
+    private static final List<String> RULE_FILES = List.of(
+        "low-complexity-rules.drl", "medium-complexity-rules.drl", "high-complexity-rules.drl");
+
+    // KieBases definidas en META-INF/kmodule.xml
+    public static final String LOW_RULES_BASE = "lowRulesBase";
+    public static final String MEDIUM_RULES_BASE = "mediumRulesBase";
+    public static final String HIGH_RULES_BASE = "highRulesBase";
+    public static final String ALL_RULES_BASE = "rulesBase";
+
+    // KieBases definidas en META-INF/primitive-kmodule.xml, con las reglas sobre PrimitiveTransaction
+    public static final String PRIMITIVE_LOW_RULES_BASE = "primitiveLowRulesBase";
+    public static final String PRIMITIVE_MEDIUM_RULES_BASE = "primitiveMediumRulesBase";
+    public static final String PRIMITIVE_HIGH_RULES_BASE = "primitiveHighRulesBase";
+    public static final String PRIMITIVE_ALL_RULES_BASE = "primitiveRulesBase";
+    private static final String PRIMITIVE_RULES_PATH = "rules/primitive/";
+
+    // Prefijo de los KJAR con el executable model (perfil executable-model o primer arranque)
+    static final String KJAR_MODULE = "rules";
+
     private final KieServices kieServices = KieServices.Factory.get();
+    private final ReleaseId releaseId = kieServices.newReleaseId("com.rulesengine", "rules", "1.0.0");
+    private final ReleaseId primitiveReleaseId = kieServices.newReleaseId("com.rulesengine", "rules-primitive", "1.0.0");
 
     @Bean("kieContainerRules")
-    public KieContainer kieContainer() {
+    public KieContainer kieContainer(RulesEngineProperties properties) {
+        var startTime = System.currentTimeMillis();
+        var buildMode = properties.getBuild().getMode();
+
+        KieModule kieModule;
+        String source;
+        if (buildMode == RuleBuildMode.EXECUTABLE_MODEL) {
+            // KJAR del classpath o de un arranque anterior con el mismo hash de contenido, o compilar y guardarlo
+            var resolved = kjarCache(properties).resolve(KJAR_MODULE, sources(), () -> buildKieModule(buildMode));
+            kieModule = resolved.kieModule();
+            source = resolved.source();
+        } else {
+            kieModule = buildKieModule(buildMode);
+            source = buildMode.name();
+        }
+
+        var kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
+
+        // Crear las KieBases al arrancar para no pagar su construcción en la primera evaluación
+        for (var kieBaseName : List.of(LOW_RULES_BASE, MEDIUM_RULES_BASE, HIGH_RULES_BASE, ALL_RULES_BASE)) {
+            kieContainer.getKieBase(kieBaseName);
+        }
+        log.info("Rules KieContainer ready in {}ms ({})", System.currentTimeMillis() - startTime, source);
+        return kieContainer;
+    }
+
+    /**
+     * Compila las reglas desde los DRL del classpath
+     * @param buildMode modo de compilación
+     * @return el KieModule compilado
+     */
+    public KieModule buildKieModule(RuleBuildMode buildMode) {
         var kieFileSystem = getKieFileSystem();
         
-        var kieBuilder = getKieBuilder(kieFileSystem);
+        var kieBuilder = getKieBuilder(kieFileSystem, buildMode);
+
+        return kieBuilder.getKieModule();
+    }
+
+    /**
+     * Compila las reglas sobre {@link PrimitiveTransaction} ({@code rules/primitive}): misma lógica que los
+     * DRL de Transaction con importes en céntimos y campos primitivos. No se crea al arrancar; los
+     * endpoints evalúan Transaction
+     * @param buildMode modo de compilación
+     * @return el KieContainer con las KieBases de META-INF/primitive-kmodule.xml
+     */
+    public KieContainer primitiveKieContainer(RuleBuildMode buildMode) {
+        KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        kieFileSystem.generateAndWritePomXML(primitiveReleaseId);
+        kieFileSystem.write("src/main/resources/META-INF/kmodule.xml",
+            ResourceFactory.newClassPathResource("META-INF/primitive-kmodule.xml"));
+        RULE_FILES.forEach(file -> kieFileSystem.write(ResourceFactory.newClassPathResource(PRIMITIVE_RULES_PATH + file)));
 
-        var kieModule = kieBuilder.getKieModule();
+        var kieModule = getKieBuilder(kieFileSystem, buildMode).getKieModule();
         return kieServices.newKieContainer(kieModule.getReleaseId());
     }
 
-    private KieBuilder getKieBuilder(KieFileSystem kieFileSystem) {
-        var kieBuilder = kieServices.newKieBuilder(kieFileSystem);
-        kieBuilder.buildAll();
+    /**
+     * Contenido del que depende el KieModule: kmodule.xml, los DRL y el modelo de hechos
+     * @return recursos que forman el hash de los KJAR
+     */
+    public KjarCache.Sources sources() {
+        var sources = new KjarCache.Sources().addClassPathResource("META-INF/kmodule.xml");
+        RULE_FILES.forEach(file -> sources.addClassPathResource(RULES_PATH + file));
+        return sources.addFactTypes(List.of(Transaction.class));
+    }
+
+    private KjarCache kjarCache(RulesEngineProperties properties) {
+        var directory = properties.getBuild().getKjarCacheDir();
+        return new KjarCache(kieServices, directory == null || directory.isBlank() ? null : Path.of(directory));
+    }
+
+    private KieBuilder getKieBuilder(KieFileSystem kieFileSystem, RuleBuildMode buildMode) {
+        var kieBuilder = KieModuleBuilder.buildAll(kieServices, kieFileSystem, buildMode);
         if (kieBuilder.getResults().hasMessages(org.kie.api.builder.Message.Level.ERROR)) {
             var errors = kieBuilder.getResults().getMessages(org.kie.api.builder.Message.Level.ERROR);
             throw new RuntimeException("Error building rules: " + errors);
@@ -36,15 +133,13 @@ public class DroolsConfig {
 
     private KieFileSystem getKieFileSystem() {
         KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        kieFileSystem.generateAndWritePomXML(releaseId);
         
         // Cargar kmodule.xml
         kieFileSystem.write(ResourceFactory.newClassPathResource("META-INF/kmodule.xml"));
         
         // Cargar reglas de diferentes niveles de complejidad
-        kieFileSystem.write(ResourceFactory.newClassPathResource(RULES_PATH + "low-complexity-rules.drl"));
-        kieFileSystem.write(ResourceFactory.newClassPathResource(RULES_PATH + "medium-complexity-rules.drl"));
-        kieFileSystem.write(ResourceFactory.newClassPathResource(RULES_PATH + "high-complexity-rules.drl"));
+        RULE_FILES.forEach(file -> kieFileSystem.write(ResourceFactory.newClassPathResource(RULES_PATH + file)));
         return kieFileSystem;
     }
 }
-
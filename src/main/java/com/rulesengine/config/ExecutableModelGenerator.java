@@ -0,0 +1,39 @@
+package com.rulesengine.config;
+
+import java.nio.file.Path;
+
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.KjarCache;
+import com.rulesengine.engine.RuleBuildMode;
+
+/**
+ * Genera en tiempo de build los KJAR con el executable model de las reglas del classpath.
+ * Se ejecuta desde el perfil Maven {@code executable-model} (fase process-classes):
+ * <pre>
+ * mvn package -Pexecutable-model
+ * </pre>
+ * Los KJAR se nombran por hash del contenido ({@link KjarCache}) y se cargan al arrancar con
+ * {@code rules-engine.build.mode=EXECUTABLE_MODEL} mientras las reglas y el modelo de hechos no cambien.
+ */
+public final class ExecutableModelGenerator {
+
+    private ExecutableModelGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ExecutableModelGenerator <output-directory>");
+        }
+        var outputDirectory = Path.of(args[0]);
+
+        var kjars = outputDirectory.resolve(KjarCache.CLASSPATH_DIRECTORY);
+
+        var rules = new DroolsConfig();
+        KjarCache.write(rules.buildKieModule(RuleBuildMode.EXECUTABLE_MODEL),
+            kjars.resolve(KjarCache.fileName(DroolsConfig.KJAR_MODULE, rules.sources())));
+
+        var decisionTables = new DecisionTableConfig();
+        KjarCache.write(decisionTables.buildKieModule(RuleBuildMode.EXECUTABLE_MODEL, new DecisionTableCompiler(null)),
+            kjars.resolve(KjarCache.fileName(DecisionTableConfig.KJAR_MODULE, decisionTables.sources())));
+    }
+}
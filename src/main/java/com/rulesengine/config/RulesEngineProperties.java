@@ -0,0 +1,624 @@
+package com.rulesengine.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.rulesengine.audit.AuditMode;
+import com.rulesengine.bulk.BulkInputFormat;
+import com.rulesengine.concurrency.OverloadStrategy;
+import com.rulesengine.engine.EvaluationStage;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.SchedulerType;
+import com.rulesengine.engine.SessionMode;
+
+/**
+ * Propiedades de configuración del motor de reglas (prefijo {@code rules-engine})
+ */
+@ConfigurationProperties(prefix = "rules-engine")
+public class RulesEngineProperties {
+
+    private final Session session = new Session();
+    private final Build build = new Build();
+    private final Audit audit = new Audit();
+    private final Batch batch = new Batch();
+    private final EvaluationScheduler evaluationScheduler = new EvaluationScheduler();
+    private final Concurrency concurrency = new Concurrency();
+    private final DynamicRules dynamicRules = new DynamicRules();
+    private final ResultCache resultCache = new ResultCache();
+    private final DecisionTables decisionTables = new DecisionTables();
+    private final Bulk bulk = new Bulk();
+    private final Composite composite = new Composite();
+    private final Staged staged = new Staged();
+
+    public Session getSession() {
+        return session;
+    }
+
+    public Build getBuild() {
+        return build;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public EvaluationScheduler getEvaluationScheduler() {
+        return evaluationScheduler;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public DynamicRules getDynamicRules() {
+        return dynamicRules;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public DecisionTables getDecisionTables() {
+        return decisionTables;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Composite getComposite() {
+        return composite;
+    }
+
+    public Staged getStaged() {
+        return staged;
+    }
+
+    /**
+     * Configuración de la evaluación por etapas (complexity=STAGED): LOW, MEDIUM y HIGH en orden,
+     * parando cuando la transacción deja de estar en PENDING
+     */
+    public static class Staged {
+        // Usar también la evaluación por etapas para complexity=ALL en lugar de la KieBase con todas las reglas
+        private boolean forAllRules = false;
+
+        public boolean isForAllRules() {
+            return forAllRules;
+        }
+
+        public void setForAllRules(boolean forAllRules) {
+            this.forAllRules = forAllRules;
+        }
+    }
+
+    /**
+     * Configuración de la evaluación compuesta de /api/composite
+     */
+    public static class Composite {
+        // Etapas por defecto, en orden de ejecución
+        private List<EvaluationStage> stages = List.of(
+            EvaluationStage.RULES, EvaluationStage.DECISION_TABLES, EvaluationStage.DYNAMIC_RULES);
+
+        public List<EvaluationStage> getStages() {
+            return stages;
+        }
+
+        public void setStages(List<EvaluationStage> stages) {
+            this.stages = stages;
+        }
+    }
+
+    /**
+     * Configuración de la evaluación masiva de un archivo sin servidor web
+     */
+    public static class Bulk {
+        // Archivo NDJSON o CSV de transacciones; si está vacío no se ejecuta
+        private String input;
+        // Archivo NDJSON de resultados, en el orden de entrada
+        private String output = "bulk-results.ndjson";
+        // NDJSON | CSV; vacío = según la extensión de input
+        private BulkInputFormat format;
+        private String complexity = "ALL";
+        // Particiones del archivo evaluadas en paralelo; 0 = número de cores
+        private int parallelism = 0;
+        // Repetir la evaluación con 1, 2, 4... particiones hasta parallelism
+        private boolean scalingCurve = false;
+
+        public String getInput() {
+            return input;
+        }
+
+        public void setInput(String input) {
+            this.input = input;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+
+        public void setOutput(String output) {
+            this.output = output;
+        }
+
+        public BulkInputFormat getFormat() {
+            return format;
+        }
+
+        public void setFormat(BulkInputFormat format) {
+            this.format = format;
+        }
+
+        public String getComplexity() {
+            return complexity;
+        }
+
+        public void setComplexity(String complexity) {
+            this.complexity = complexity;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public boolean isScalingCurve() {
+            return scalingCurve;
+        }
+
+        public void setScalingCurve(boolean scalingCurve) {
+            this.scalingCurve = scalingCurve;
+        }
+
+        /**
+         * Obtiene el paralelismo efectivo
+         * @return parallelism o el número de cores si no está configurado
+         */
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * Configuración de la evaluación de las Decision Tables de /api/decision-tables
+     */
+    public static class DecisionTables {
+        // Evaluar con un índice compilado (sin KieSession) si todas las reglas son rangos e igualdades
+        private boolean lookup = true;
+
+        public boolean isLookup() {
+            return lookup;
+        }
+
+        public void setLookup(boolean lookup) {
+            this.lookup = lookup;
+        }
+    }
+
+    /**
+     * Configuración de la caché de resultados de /api/rules y /api/decision-tables
+     */
+    public static class ResultCache {
+        private boolean enabled = false;
+        // Entradas máximas por KieBase
+        private long maximumSize = 100_000;
+        // Tiempo de vida de cada entrada desde que se guarda
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Configuración de las reglas dinámicas (DRL y Decision Tables subidas en runtime)
+     */
+    public static class DynamicRules {
+        private String directory = "dynamic-rules";
+        private final Watch watch = new Watch();
+        private final Shadow shadow = new Shadow();
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Watch getWatch() {
+            return watch;
+        }
+
+        public Shadow getShadow() {
+            return shadow;
+        }
+    }
+
+    /**
+     * Configuración de la evaluación en shadow de la candidata de reglas dinámicas
+     */
+    public static class Shadow {
+        // Fracción de las evaluaciones que se repiten con las reglas actuales y con la candidata
+        private double fraction = 0.1;
+        // Hilos de las evaluaciones en shadow, separados del scheduler de evaluación
+        private int threads = 1;
+        // Evaluaciones en shadow pendientes; las que no caben se descartan
+        private int queueCapacity = 1000;
+
+        public double getFraction() {
+            return fraction;
+        }
+
+        public void setFraction(double fraction) {
+            this.fraction = fraction;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Configuración del watcher del directorio de reglas dinámicas
+     */
+    public static class Watch {
+        private boolean enabled = true;
+        // Silencio tras el último cambio antes de compilar; agrupa las ráfagas de escrituras
+        private Duration debounce = Duration.ofMillis(500);
+        // Espera máxima desde el primer cambio aunque sigan llegando cambios
+        private Duration maxDelay = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getDebounce() {
+            return debounce;
+        }
+
+        public void setDebounce(Duration debounce) {
+            this.debounce = debounce;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+    }
+
+    /**
+     * Configuración de la concurrencia adaptativa (AIMD) de las rutas de streaming y lotes
+     */
+    public static class Concurrency {
+        // DELAY: la entrada espera (contrapresión) | SHED: se devuelve un resultado SHED si el límite retrocede
+        private OverloadStrategy overload = OverloadStrategy.DELAY;
+        private int initialLimit = 32;
+        private int minLimit = 1;
+        private int maxLimit = 512;
+        // Factor aplicado al límite cuando la latencia supera la tolerancia o la evaluación falla
+        private double backoffRatio = 0.9;
+        // Latencia máxima aceptada como múltiplo de la latencia base (mínima observada)
+        private double latencyTolerance = 2.0;
+
+        public OverloadStrategy getOverload() {
+            return overload;
+        }
+
+        public void setOverload(OverloadStrategy overload) {
+            this.overload = overload;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public double getLatencyTolerance() {
+            return latencyTolerance;
+        }
+
+        public void setLatencyTolerance(double latencyTolerance) {
+            this.latencyTolerance = latencyTolerance;
+        }
+    }
+
+    /**
+     * Configuración del scheduler de evaluación de reglas
+     */
+    public static class EvaluationScheduler {
+        // PARALLEL | BOUNDED_ELASTIC | VIRTUAL
+        private SchedulerType type = SchedulerType.PARALLEL;
+        // Hilos del scheduler PARALLEL; 0 = número de cores
+        private int threads = 0;
+        // Evaluaciones en cola del scheduler PARALLEL; las que no caben se rechazan
+        private int queueCapacity = 10_000;
+
+        public SchedulerType getType() {
+            return type;
+        }
+
+        public void setType(SchedulerType type) {
+            this.type = type;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * Obtiene el número efectivo de hilos
+         * @return threads o el número de cores si no está configurado
+         */
+        public int effectiveThreads() {
+            return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * Configuración de la evaluación por lotes
+     */
+    public static class Batch {
+        // Transacciones insertadas en la misma sesión antes de un único fireAllRules
+        private int chunkSize = 500;
+        // Chunks evaluados en paralelo; 0 = número de cores
+        private int parallelism = 0;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Obtiene el paralelismo efectivo
+         * @return parallelism o el número de cores si no está configurado
+         */
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * Configuración de la auditoría de disparos de reglas
+     */
+    public static class Audit {
+        // OFF | SAMPLED | FULL
+        private AuditMode mode = AuditMode.SAMPLED;
+        // Fracción de disparos auditados en modo SAMPLED
+        private double sampleRate = 0.01;
+        // Capacidad del ring buffer (se redondea a potencia de dos); los eventos que no caben se descartan
+        private int bufferSize = 8192;
+
+        public AuditMode getMode() {
+            return mode;
+        }
+
+        public void setMode(AuditMode mode) {
+            this.mode = mode;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+    }
+
+    /**
+     * Configuración de la compilación de las reglas
+     */
+    public static class Build {
+        // DRL: KieBuilder clásico | EXECUTABLE_MODEL: KJAR precompilado o compilación a executable model
+        private RuleBuildMode mode = RuleBuildMode.DRL;
+        // DRL compilado de las Decision Tables por hash de contenido (vacío = solo en memoria)
+        private String decisionTableCacheDir = ".rules-cache/decision-tables";
+        // KJAR con el executable model por hash de contenido, guardados en el primer arranque (vacío = no guardar)
+        private String kjarCacheDir = ".rules-cache/kjars";
+
+        public RuleBuildMode getMode() {
+            return mode;
+        }
+
+        public void setMode(RuleBuildMode mode) {
+            this.mode = mode;
+        }
+
+        public String getDecisionTableCacheDir() {
+            return decisionTableCacheDir;
+        }
+
+        public void setDecisionTableCacheDir(String decisionTableCacheDir) {
+            this.decisionTableCacheDir = decisionTableCacheDir;
+        }
+
+        public String getKjarCacheDir() {
+            return kjarCacheDir;
+        }
+
+        public void setKjarCacheDir(String kjarCacheDir) {
+            this.kjarCacheDir = kjarCacheDir;
+        }
+    }
+
+    /**
+     * Configuración del ciclo de vida de las KieSession
+     */
+    public static class Session {
+        private SessionMode mode = SessionMode.POOLED;
+        // Modo por KieBase (rules, rules-low, rules-medium, rules-high, decision-tables, dynamic-rules); sobrescribe a mode
+        private Map<String, SessionMode> kbaseModes = new HashMap<>();
+        private final Pool pool = new Pool();
+
+        public SessionMode getMode() {
+            return mode;
+        }
+
+        public void setMode(SessionMode mode) {
+            this.mode = mode;
+        }
+
+        public Map<String, SessionMode> getKbaseModes() {
+            return kbaseModes;
+        }
+
+        public void setKbaseModes(Map<String, SessionMode> kbaseModes) {
+            this.kbaseModes = kbaseModes;
+        }
+
+        public Pool getPool() {
+            return pool;
+        }
+
+        /**
+         * Obtiene el modo de ejecución de una KieBase
+         * @param kbase nombre de la KieBase
+         * @return el modo configurado para la KieBase o el modo por defecto
+         */
+        public SessionMode modeFor(String kbase) {
+            return kbaseModes.getOrDefault(kbase, mode);
+        }
+    }
+
+    /**
+     * Configuración del pool de sesiones
+     */
+    public static class Pool {
+        // Número máximo de sesiones ociosas por pool; 0 = número de cores
+        private int maxIdle = 0;
+        // Número de usos tras el cual una sesión se descarta y se crea una nueva
+        private int maxUsesPerSession = 10_000;
+
+        public int getMaxIdle() {
+            return maxIdle;
+        }
+
+        public void setMaxIdle(int maxIdle) {
+            this.maxIdle = maxIdle;
+        }
+
+        public int getMaxUsesPerSession() {
+            return maxUsesPerSession;
+        }
+
+        public void setMaxUsesPerSession(int maxUsesPerSession) {
+            this.maxUsesPerSession = maxUsesPerSession;
+        }
+
+        /**
+         * Obtiene el tamaño efectivo del pool
+         * @return maxIdle o el número de cores si no está configurado
+         */
+        public int effectiveMaxIdle() {
+            return maxIdle > 0 ? maxIdle : Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
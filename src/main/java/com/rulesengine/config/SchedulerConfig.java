@@ -0,0 +1,107 @@
+package com.rulesengine.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rulesengine.engine.SchedulerType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler dedicado a las evaluaciones de reglas ({@code rules-engine.evaluation-scheduler}).
+ * La evaluación es CPU-bound: el scheduler por defecto es un pool fijo de un hilo por core con cola
+ * acotada, en lugar de boundedElastic (pensado para I/O bloqueante).
+ * Métricas: {@code executor.*} con tag {@code name=rules-evaluation} (tareas en cola, hilos activos,
+ * tiempo en cola y de ejecución) y {@code rules.evaluation.rejected}.
+ */
+@Configuration
+public class SchedulerConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerConfig.class);
+
+    static final String EXECUTOR_NAME = "rules-evaluation";
+
+    @Bean(name = "evaluationScheduler", destroyMethod = "dispose")
+    public Scheduler evaluationScheduler(RulesEngineProperties properties, MeterRegistry registry) {
+        return createEvaluationScheduler(properties.getEvaluationScheduler(), registry);
+    }
+
+    /**
+     * Crea el scheduler de evaluación según la configuración
+     * @param config configuración del scheduler
+     * @param registry registro de métricas
+     * @return el scheduler de evaluación
+     */
+    public static Scheduler createEvaluationScheduler(RulesEngineProperties.EvaluationScheduler config,
+                                                      MeterRegistry registry) {
+        var type = config.getType();
+        if (type == SchedulerType.VIRTUAL && !virtualThreadsAvailable()) {
+            log.warn("Virtual threads require Java 21 (running {}), using PARALLEL evaluation scheduler",
+                Runtime.version());
+            type = SchedulerType.PARALLEL;
+        }
+        log.info("Evaluation scheduler: {} (threads {}, queue {})", type, config.effectiveThreads(), config.getQueueCapacity());
+        return switch (type) {
+            case BOUNDED_ELASTIC -> Schedulers.boundedElastic();
+            case VIRTUAL -> Schedulers.fromExecutorService(
+                ExecutorServiceMetrics.monitor(registry, newVirtualThreadPerTaskExecutor(), EXECUTOR_NAME),
+                EXECUTOR_NAME);
+            case PARALLEL -> Schedulers.fromExecutorService(
+                ExecutorServiceMetrics.monitor(registry, newFixedThreadPool(config, registry), EXECUTOR_NAME),
+                EXECUTOR_NAME);
+        };
+    }
+
+    private static ExecutorService newFixedThreadPool(RulesEngineProperties.EvaluationScheduler config,
+                                                      MeterRegistry registry) {
+        var threads = config.effectiveThreads();
+        var rejected = Counter.builder("rules.evaluation.rejected")
+            .description("Evaluaciones rechazadas por cola llena")
+            .register(registry);
+        var threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            var thread = new Thread(runnable, EXECUTOR_NAME + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()), threadFactory,
+            (runnable, executor) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("Evaluation queue is full (" + config.getQueueCapacity() + ")");
+            });
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Se invoca por reflexión para poder compilar con Java 17 (perfil java21 para compilar con Java 21)
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads not available", e);
+        }
+    }
+}
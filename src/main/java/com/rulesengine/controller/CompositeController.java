@@ -0,0 +1,59 @@
+package com.rulesengine.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.rulesengine.config.CodecConfig;
+import com.rulesengine.engine.EvaluationStage;
+import com.rulesengine.model.CompositeResult;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.CompositeEvaluationService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador para evaluar una transacción con reglas DRL, Decision Tables y reglas dinámicas
+ * en una sola petición
+ */
+@RestController
+@RequestMapping("/api/composite")
+public class CompositeController {
+
+    private static final Logger log = LoggerFactory.getLogger(CompositeController.class);
+    private final CompositeEvaluationService compositeEvaluationService;
+
+    public CompositeController(CompositeEvaluationService compositeEvaluationService) {
+        this.compositeEvaluationService = compositeEvaluationService;
+    }
+
+    /**
+     * Evalúa una transacción con cada etapa en orden
+     * POST /api/composite/evaluate?stages=rules,decision-tables,dynamic-rules&complexity=ALL
+     * Sin {@code stages} se usan las de {@code rules-engine.composite.stages}
+     */
+    @PostMapping(value = "/evaluate", produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<CompositeResult> evaluateTransaction(
+            @RequestBody Transaction transaction,
+            @RequestParam(required = false) String stages,
+            @RequestParam(defaultValue = "ALL") String complexity) {
+        var selected = compositeEvaluationService.getDefaultStages();
+        if (stages != null) {
+            try {
+                selected = EvaluationStage.parse(stages);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown stage in: " + stages));
+            }
+        }
+        log.info("Evaluating transaction {} with stages {}", transaction.getId(), selected);
+        return compositeEvaluationService.evaluate(transaction, selected, complexity);
+    }
+}
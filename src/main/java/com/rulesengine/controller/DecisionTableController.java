@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.rulesengine.concurrency.AdaptiveConcurrency;
+import com.rulesengine.config.CodecConfig;
 import com.rulesengine.model.RuleResult;
 import com.rulesengine.model.Transaction;
 import com.rulesengine.service.DecisionTableService;
@@ -32,16 +34,19 @@ public class DecisionTableController {
 
     private static final Logger log = LoggerFactory.getLogger(DecisionTableController.class);
     private final DecisionTableService decisionTableService;
+    private final AdaptiveConcurrency adaptiveConcurrency;
 
-    public DecisionTableController(DecisionTableService decisionTableService) {
+    public DecisionTableController(DecisionTableService decisionTableService, AdaptiveConcurrency adaptiveConcurrency) {
         this.decisionTableService = decisionTableService;
+        this.adaptiveConcurrency = adaptiveConcurrency;
     }
 
     /**
      * Evalúa una transacción usando Decision Tables
      * POST /api/decision-tables/evaluate
      */
-    @PostMapping(value = "/evaluate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PostMapping(value = "/evaluate", produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
     public Mono<RuleResult> evaluateTransaction(@RequestBody Transaction transaction) {
         log.info("Evaluating transaction {} with Decision Tables", transaction.getId());
         return decisionTableService.evaluateWithDecisionTables(transaction);
@@ -51,12 +56,29 @@ public class DecisionTableController {
      * Evalúa un lote de transacciones usando Decision Tables
      * POST /api/decision-tables/evaluate/batch
      */
-    @PostMapping(value = "/evaluate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PostMapping(value = "/evaluate/batch", produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
     public Flux<RuleResult> evaluateBatch(@RequestBody List<Transaction> transactions) {
         log.info("Evaluating batch of {} transactions with Decision Tables", transactions.size());
         return decisionTableService.evaluateBatch(transactions);
     }
 
+    /**
+     * Evalúa un stream NDJSON de transacciones usando Decision Tables, como /api/rules/evaluate/stream:
+     * el cuerpo se decodifica por líneas a medida que llegan los buffers y la lectura se detiene al
+     * alcanzar el límite de concurrencia, así que el lote nunca se carga entero en memoria
+     * POST /api/decision-tables/evaluate/stream
+     */
+    @PostMapping(value = "/evaluate/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+                    CodecConfig.APPLICATION_STREAM_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<RuleResult> evaluateStream(@RequestBody Flux<Transaction> transactions) {
+        log.info("Streaming evaluation with Decision Tables");
+        return adaptiveConcurrency.evaluate(transactions,
+                        decisionTableService::evaluateWithDecisionTables, RulesEngineController::shed)
+                .doOnError(error -> log.error("Error in Decision Tables stream evaluation", error));
+    }
+
     /**
      * Test de carga con Decision Tables
      * POST /api/decision-tables/load-test?count=1000
@@ -66,7 +88,8 @@ public class DecisionTableController {
         log.info("Starting load test with {} transactions using Decision Tables", count);
         return Flux.range(1, count)
                 .map(i -> createTestTransaction("DT-TX-" + i))
-                .flatMap(decisionTableService::evaluateWithDecisionTables, 200)
+                .transform(txs -> adaptiveConcurrency.evaluate(txs,
+                        decisionTableService::evaluateWithDecisionTables, RulesEngineController::shed))
                 .doOnNext(result -> log.debug("Processed: {}", result.getTransactionId()));
     }
 
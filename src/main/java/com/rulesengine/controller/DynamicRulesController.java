@@ -4,11 +4,11 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-import org.kie.api.runtime.KieContainer;
-import org.kie.api.runtime.KieSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,14 +20,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.rulesengine.concurrency.AdaptiveConcurrency;
+import com.rulesengine.config.CodecConfig;
+import com.rulesengine.engine.ExecutionResult;
+import com.rulesengine.metrics.RulesEngineMetrics;
 import com.rulesengine.model.RuleResult;
 import com.rulesengine.model.Transaction;
 import com.rulesengine.service.DynamicRulesService;
+import com.rulesengine.service.impl.ShadowEvaluator;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -40,19 +48,32 @@ public class DynamicRulesController {
 
     private static final Logger log = LoggerFactory.getLogger(DynamicRulesController.class);
     private final DynamicRulesService dynamicRulesService;
+    private final RulesEngineMetrics metrics;
+    private final Scheduler evaluationScheduler;
+    private final ShadowEvaluator shadowEvaluator;
+    private final AdaptiveConcurrency adaptiveConcurrency;
 
-    public DynamicRulesController(DynamicRulesService dynamicRulesService) {
+    public DynamicRulesController(DynamicRulesService dynamicRulesService, RulesEngineMetrics metrics,
+                                  @Qualifier("evaluationScheduler") Scheduler evaluationScheduler,
+                                  ShadowEvaluator shadowEvaluator, AdaptiveConcurrency adaptiveConcurrency) {
         this.dynamicRulesService = dynamicRulesService;
+        this.metrics = metrics;
+        this.evaluationScheduler = evaluationScheduler;
+        this.shadowEvaluator = shadowEvaluator;
+        this.adaptiveConcurrency = adaptiveConcurrency;
     }
 
     /**
-     * Sube un archivo de reglas (DRL o CSV) y lo compila
+     * Sube un archivo de reglas (DRL o Decision Table CSV/XLS/XLSX) y lo compila
      * POST /api/dynamic-rules/upload
+     * Con {@code shadow=true} el archivo se prepara como candidata: no recibe tráfico y una fracción
+     * de las evaluaciones se compara en segundo plano hasta promocionarla o descartarla.
      */
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public Mono<ResponseEntity<Map<String, Object>>> uploadRule(@RequestPart("file") FilePart filePart) {
+    public Mono<ResponseEntity<Map<String, Object>>> uploadRule(@RequestPart("file") FilePart filePart,
+                                                                @RequestParam(defaultValue = "false") boolean shadow) {
         String fileName = filePart.filename();
-        log.info("Uploading rule file: {}", fileName);
+        log.info("Uploading rule file: {}{}", fileName, shadow ? " as shadow candidate" : "");
 
         return DataBufferUtils.join(filePart.content())
                 .map(dataBuffer -> {
@@ -62,13 +83,18 @@ public class DynamicRulesController {
                     return bytes;
                 })
                 .flatMap(fileContent -> Mono.fromCallable(() -> {
-                    boolean success = dynamicRulesService.uploadAndCompileRule(fileContent, fileName);
+                    boolean success = shadow
+                        ? dynamicRulesService.stageCandidate(fileContent, fileName)
+                        : dynamicRulesService.uploadAndCompileRule(fileContent, fileName);
 
                     Map<String, Object> response = new HashMap<>();
                     if (success) {
                         response.put("status", "success");
-                        response.put("message", "Rule file uploaded and compiled successfully");
+                        response.put("message", shadow
+                            ? "Rule file compiled as shadow candidate"
+                            : "Rule file uploaded and compiled successfully");
                         response.put("fileName", fileName);
+                        response.put("shadow", shadow);
                         response.put("compilationTime", LocalDateTime.now());
                         return ResponseEntity.ok(response);
                     } else {
@@ -155,52 +181,141 @@ public class DynamicRulesController {
     }
 
     /**
-     * Evalúa una transacción usando reglas dinámicas
-     * POST /api/dynamic-rules/evaluate
+     * Estado de la candidata en shadow: divergencias y latencia respecto a las reglas actuales
+     * GET /api/dynamic-rules/candidate
      */
-    @PostMapping(value = "/evaluate", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Mono<RuleResult> evaluateWithDynamicRules(@RequestBody Transaction transaction) {
+    @GetMapping("/candidate")
+    public Mono<ResponseEntity<Map<String, Object>>> candidate() {
+        return Mono.fromCallable(() -> {
+            var snapshot = shadowEvaluator.snapshot();
+            Map<String, Object> response = new HashMap<>();
+            response.put("candidate", dynamicRulesService.getCandidateFileName());
+            response.put("rulesVersion", dynamicRulesService.getRulesVersion());
+            response.put("samples", snapshot.samples());
+            response.put("outcomeDivergences", snapshot.outcomeDivergences());
+            response.put("ruleDivergences", snapshot.ruleDivergences());
+            response.put("meanCurrentMicros", snapshot.meanCurrentMicros());
+            response.put("meanCandidateMicros", snapshot.meanCandidateMicros());
+            response.put("latencyDelta", snapshot.latencyDelta());
+            return ResponseEntity.ok(response);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Promociona la candidata: su archivo pasa a las reglas dinámicas y recibe todo el tráfico
+     * POST /api/dynamic-rules/candidate/promote
+     */
+    @PostMapping("/candidate/promote")
+    public Mono<ResponseEntity<Map<String, Object>>> promoteCandidate() {
         return Mono.fromCallable(() -> {
-            KieContainer container = dynamicRulesService.getDynamicKieContainer();
-            if (container == null) {
-                throw new RuntimeException("No dynamic rules loaded. Please upload rule files first.");
+            String fileName = dynamicRulesService.getCandidateFileName();
+            log.info("Promoting candidate: {}", fileName);
+            boolean success = dynamicRulesService.promoteCandidate();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("fileName", fileName);
+            if (success) {
+                response.put("status", "success");
+                response.put("message", "Candidate promoted");
+                response.put("rulesVersion", dynamicRulesService.getRulesVersion());
+                return ResponseEntity.ok(response);
+            } else {
+                response.put("status", "error");
+                response.put("message", fileName == null
+                    ? "No candidate to promote"
+                    : "Failed to apply candidate to the current rules. Check logs for details.");
+                return ResponseEntity.status(fileName == null ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT).body(response);
             }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Descarta la candidata
+     * DELETE /api/dynamic-rules/candidate
+     */
+    @DeleteMapping("/candidate")
+    public Mono<ResponseEntity<Map<String, Object>>> discardCandidate() {
+        return Mono.fromCallable(() -> {
+            String fileName = dynamicRulesService.getCandidateFileName();
+            log.info("Discarding candidate: {}", fileName);
+            dynamicRulesService.discardCandidate();
 
-            long startTime = System.currentTimeMillis();
-            KieSession kieSession = container.newKieSession();
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Candidate discarded");
+            response.put("fileName", fileName);
+            return ResponseEntity.ok(response);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
 
-            try {
-                transaction.setStatus("PENDING");
-                if (transaction.getRiskScore() == null) {
-                    transaction.setRiskScore(0);
-                }
+    /**
+     * Evalúa una transacción usando reglas dinámicas
+     * POST /api/dynamic-rules/evaluate
+     */
+    @PostMapping(value = "/evaluate", produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<RuleResult> evaluateWithDynamicRules(@RequestBody Transaction transaction) {
+        return evaluate(transaction);
+    }
 
-                kieSession.insert(transaction);
-                int rulesFired = kieSession.fireAllRules();
+    /**
+     * Evalúa un stream NDJSON de transacciones usando reglas dinámicas, como /api/rules/evaluate/stream:
+     * el cuerpo se decodifica por líneas a medida que llegan los buffers y la lectura se detiene al
+     * alcanzar el límite de concurrencia, así que el lote nunca se carga entero en memoria
+     * POST /api/dynamic-rules/evaluate/stream
+     */
+    @PostMapping(value = "/evaluate/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+                    CodecConfig.APPLICATION_STREAM_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<RuleResult> evaluateStream(@RequestBody Flux<Transaction> transactions) {
+        log.info("Streaming evaluation with dynamic rules");
+        return adaptiveConcurrency.evaluate(transactions, this::evaluate, RulesEngineController::shed)
+                .doOnError(error -> log.error("Error in dynamic rules stream evaluation", error));
+    }
 
-                long processingTime = System.currentTimeMillis() - startTime;
+    private Mono<RuleResult> evaluate(Transaction transaction) {
+        return Mono.fromCallable(() -> {
+            long startTime = System.nanoTime();
 
-                RuleResult result = new RuleResult();
-                result.setTransactionId(transaction.getId());
-                result.setStatus(transaction.getStatus());
-                result.setFinalRiskScore(transaction.getRiskScore());
-                result.setProcessingTimeMs(processingTime);
-                result.setComplexityLevel("DYNAMIC");
-                result.setAppliedRules(List.of("Dynamic Rules fired: " + rulesFired));
+            transaction.setStatus("PENDING");
+            if (transaction.getRiskScore() == null) {
+                transaction.setRiskScore(0);
+            }
+            // Si hay candidata, una fracción se compara en segundo plano sobre una copia
+            shadowEvaluator.submit(transaction);
 
-                if (transaction.getRejectionReason() != null) {
-                    result.getReasons().add(transaction.getRejectionReason());
+            // La versión retenida no se descarta aunque se publiquen reglas nuevas durante la evaluación
+            ExecutionResult execution;
+            try (var rules = dynamicRulesService.acquireRules()) {
+                if (rules == null) {
+                    throw new RuntimeException("No dynamic rules loaded. Please upload rule files first.");
                 }
+                execution = dynamicRulesService.getRuleExecutor().execute(List.of(transaction));
+            }
+
+            long elapsed = System.nanoTime() - startTime;
+            long processingTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            metrics.recordEvaluation(RulesEngineMetrics.ENGINE_DYNAMIC_RULES, "DYNAMIC", elapsed);
 
-                log.debug("Transaction {} evaluated with dynamic rules in {}ms with {} rules fired",
-                    transaction.getId(), processingTime, rulesFired);
+            RuleResult result = new RuleResult();
+            result.setTransactionId(transaction.getId());
+            result.setStatus(transaction.getStatus());
+            result.setFinalRiskScore(transaction.getRiskScore());
+            result.setProcessingTimeMs(processingTime);
+            result.setComplexityLevel("DYNAMIC");
+            result.setAppliedRules(execution.firedRules());
 
-                return result;
-            } finally {
-                kieSession.dispose();
+            if (transaction.getRejectionReason() != null) {
+                result.getReasons().add(transaction.getRejectionReason());
             }
+
+            log.debug("Transaction {} evaluated with dynamic rules in {}ms with {} rules fired",
+                transaction.getId(), processingTime, execution.rulesFired());
+
+            return result;
         })
-        .subscribeOn(Schedulers.boundedElastic())
+        .subscribeOn(evaluationScheduler)
         .doOnError(error -> log.error("Error evaluating transaction with dynamic rules: {}", 
             transaction.getId(), error));
     }
@@ -217,6 +332,9 @@ public class DynamicRulesController {
             response.put("hasRules", dynamicRulesService.hasDynamicRules());
             response.put("ruleFiles", dynamicRulesService.listDynamicRules().size());
             response.put("lastCompilationTime", dynamicRulesService.getLastCompilationTime());
+            response.put("rulesVersion", dynamicRulesService.getRulesVersion());
+            response.put("drainingVersions", dynamicRulesService.getDrainingVersions());
+            response.put("candidate", dynamicRulesService.getCandidateFileName());
             return ResponseEntity.ok(response);
         }).subscribeOn(Schedulers.boundedElastic());
     }
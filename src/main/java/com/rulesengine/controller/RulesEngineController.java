@@ -12,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.rulesengine.concurrency.AdaptiveConcurrency;
+import com.rulesengine.config.CodecConfig;
 import com.rulesengine.model.RuleResult;
 import com.rulesengine.model.Transaction;
 import com.rulesengine.service.RulesEngineService;
@@ -25,12 +27,15 @@ public class RulesEngineController {
     
     private static final Logger log = LoggerFactory.getLogger(RulesEngineController.class);
     private final RulesEngineService rulesEngineService;
+    private final AdaptiveConcurrency adaptiveConcurrency;
     
-    public RulesEngineController(RulesEngineService rulesEngineService) {
+    public RulesEngineController(RulesEngineService rulesEngineService, AdaptiveConcurrency adaptiveConcurrency) {
         this.rulesEngineService = rulesEngineService;
+        this.adaptiveConcurrency = adaptiveConcurrency;
     }
 
-    @PostMapping(value = "/evaluate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PostMapping(value = "/evaluate", produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
     public Mono<RuleResult> evaluateTransaction(
             @RequestBody Transaction transaction,
             @RequestParam(defaultValue = "ALL") String complexity) {
@@ -38,23 +43,26 @@ public class RulesEngineController {
         return rulesEngineService.evaluateTransaction(transaction, complexity);
     }
 
-    @PostMapping(value = "/evaluate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PostMapping(value = "/evaluate/batch", produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
     public Flux<RuleResult> evaluateBatch(
             @RequestBody List<Transaction> transactions,
             @RequestParam(defaultValue = "ALL") String complexity) {
         log.info("Evaluating batch of {} transactions with complexity {}", transactions.size(), complexity);
-        return Flux.fromIterable(transactions)
-                .flatMap(tx -> rulesEngineService.evaluateTransaction(tx, complexity), 100) // Concurrencia de 100
-                .doOnError(error -> log.error("Error in batch evaluation", error));
+        // Chunks de transacciones por sesión, resultados en el orden de entrada
+        return rulesEngineService.evaluateBatch(transactions, complexity);
     }
 
-    @PostMapping(value = "/evaluate/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PostMapping(value = "/evaluate/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+                    CodecConfig.APPLICATION_STREAM_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, CodecConfig.APPLICATION_STREAM_SMILE_VALUE})
     public Flux<RuleResult> evaluateStream(
             @RequestBody Flux<Transaction> transactions,
             @RequestParam(defaultValue = "ALL") String complexity) {
         log.info("Streaming evaluation with complexity {}", complexity);
-        return transactions
-                .flatMap(tx -> rulesEngineService.evaluateTransaction(tx, complexity), 100)
+        // Concurrencia adaptativa: al saturarse se retrasa la lectura del stream o se descartan transacciones
+        return adaptiveConcurrency.evaluate(transactions,
+                        tx -> rulesEngineService.evaluateTransaction(tx, complexity), RulesEngineController::shed)
                 .doOnError(error -> log.error("Error in stream evaluation", error));
     }
 
@@ -68,7 +76,8 @@ public class RulesEngineController {
         log.info("Starting load test with {} LOW complexity transactions", count);
         return Flux.range(1, count)
                 .map(i -> createTestTransaction("TX-LOW-" + i, "LOW"))
-                .flatMap(tx -> rulesEngineService.evaluateTransaction(tx, "LOW"), 200)
+                .transform(txs -> adaptiveConcurrency.evaluate(txs,
+                        tx -> rulesEngineService.evaluateTransaction(tx, "LOW"), RulesEngineController::shed))
                 .doOnNext(result -> log.debug("Processed: {}", result.getTransactionId()));
     }
 
@@ -77,7 +86,8 @@ public class RulesEngineController {
         log.info("Starting load test with {} MEDIUM complexity transactions", count);
         return Flux.range(1, count)
                 .map(i -> createTestTransaction("TX-MED-" + i, "MEDIUM"))
-                .flatMap(tx -> rulesEngineService.evaluateTransaction(tx, "MEDIUM"), 200)
+                .transform(txs -> adaptiveConcurrency.evaluate(txs,
+                        tx -> rulesEngineService.evaluateTransaction(tx, "MEDIUM"), RulesEngineController::shed))
                 .doOnNext(result -> log.debug("Processed: {}", result.getTransactionId()));
     }
 
@@ -86,7 +96,8 @@ public class RulesEngineController {
         log.info("Starting load test with {} HIGH complexity transactions", count);
         return Flux.range(1, count)
                 .map(i -> createTestTransaction("TX-HIGH-" + i, "HIGH"))
-                .flatMap(tx -> rulesEngineService.evaluateTransaction(tx, "HIGH"), 200)
+                .transform(txs -> adaptiveConcurrency.evaluate(txs,
+                        tx -> rulesEngineService.evaluateTransaction(tx, "HIGH"), RulesEngineController::shed))
                 .doOnNext(result -> log.debug("Processed: {}", result.getTransactionId()));
     }
 
@@ -98,14 +109,27 @@ public class RulesEngineController {
                     String complexity = i % 3 == 0 ? "HIGH" : (i % 2 == 0 ? "MEDIUM" : "LOW");
                     return createTestTransaction("TX-MIX-" + i, complexity);
                 })
-                .flatMap(tx -> {
+                .transform(txs -> adaptiveConcurrency.evaluate(txs, tx -> {
                     String complexity = tx.getId().contains("LOW") ? "LOW" : 
                                       (tx.getId().contains("MED") ? "MEDIUM" : "HIGH");
                     return rulesEngineService.evaluateTransaction(tx, complexity);
-                }, 200)
+                }, RulesEngineController::shed))
                 .doOnNext(result -> log.debug("Processed: {}", result.getTransactionId()));
     }
 
+    /**
+     * Resultado de una transacción descartada por sobrecarga (rules-engine.concurrency.overload=SHED)
+     * @param transaction la transacción descartada
+     * @return resultado con estado SHED; la transacción puede reintentarse
+     */
+    static RuleResult shed(Transaction transaction) {
+        var result = new RuleResult();
+        result.setTransactionId(transaction.getId());
+        result.setStatus("SHED");
+        result.getReasons().add("Evaluation shed: concurrency limit reached");
+        return result;
+    }
+
     private Transaction createTestTransaction(String id, String complexity) {
         Transaction tx = new Transaction();
         tx.setId(id);
@@ -0,0 +1,159 @@
+package com.rulesengine.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.decisiontable.InputType;
+import org.drools.decisiontable.SpreadsheetCompiler;
+import org.kie.api.io.Resource;
+import org.kie.internal.io.ResourceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compila Decision Tables (CSV, XLS y XLSX) a DRL con {@link SpreadsheetCompiler}.
+ * El DRL generado se guarda por hash SHA-256 del contenido de la tabla, en memoria y
+ * opcionalmente en disco, de forma que una tabla sin cambios no se vuelve a compilar
+ * en las recargas ni en los siguientes arranques.
+ */
+public class DecisionTableCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionTableCompiler.class);
+
+    // La versión de Drools forma parte de la clave: otro compilador puede generar otro DRL
+    private static final String COMPILER_VERSION = String.valueOf(SpreadsheetCompiler.class.getPackage().getImplementationVersion());
+
+    private final Path cacheDirectory;
+    private final Map<String, String> compiled = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param cacheDirectory directorio de la caché en disco; null para cachear solo en memoria
+     */
+    public DecisionTableCompiler(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Indica si el fichero es una Decision Table soportada
+     * @param fileName nombre del fichero
+     * @return true para .csv, .xls y .xlsx
+     */
+    public static boolean isDecisionTable(String fileName) {
+        var name = fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".csv") || name.endsWith(".xls") || name.endsWith(".xlsx");
+    }
+
+    /**
+     * Compila una Decision Table y devuelve el DRL como recurso listo para un KieFileSystem
+     * @param sourcePath ruta de la tabla (determina el formato); el recurso DRL usa {@code sourcePath + ".drl"}
+     * @param content contenido de la tabla
+     * @return recurso DRL
+     */
+    public Resource compile(String sourcePath, byte[] content) {
+        var drl = compileToDrl(sourcePath, content);
+        return ResourceFactory.newByteArrayResource(drl.getBytes(StandardCharsets.UTF_8))
+            .setSourcePath(sourcePath + ".drl");
+    }
+
+    /**
+     * Compila una Decision Table a DRL, reutilizando el resultado si el contenido no ha cambiado
+     * @param sourcePath ruta de la tabla (determina el formato)
+     * @param content contenido de la tabla
+     * @return DRL generado
+     */
+    public String compileToDrl(String sourcePath, byte[] content) {
+        var inputType = inputType(sourcePath);
+        var key = contentHash(inputType == InputType.CSV ? "csv" : "xls", content);
+
+        var drl = compiled.get(key);
+        if (drl == null) {
+            drl = readCached(key);
+            if (drl != null) {
+                compiled.put(key, drl);
+            }
+        }
+        if (drl != null) {
+            hits.incrementAndGet();
+            log.debug("Decision table {} unchanged ({}), reusing compiled DRL", sourcePath, key);
+            return drl;
+        }
+
+        misses.incrementAndGet();
+        var startTime = System.nanoTime();
+        try {
+            drl = new SpreadsheetCompiler().compile(new ByteArrayInputStream(content), inputType);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid decision table " + sourcePath + ": " + e.getMessage(), e);
+        }
+        compiled.put(key, drl);
+        writeCached(key, drl);
+        log.info("Compiled decision table {} in {}ms", sourcePath, (System.nanoTime() - startTime) / 1_000_000);
+        return drl;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static InputType inputType(String sourcePath) {
+        if (!isDecisionTable(sourcePath)) {
+            throw new IllegalArgumentException("Unsupported decision table format: " + sourcePath);
+        }
+        return sourcePath.toLowerCase(Locale.ROOT).endsWith(".csv") ? InputType.CSV : InputType.XLS;
+    }
+
+    private static String contentHash(String format, byte[] content) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update((COMPILER_VERSION + ':' + format + ':').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String readCached(String key) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        var file = cacheDirectory.resolve(key + ".drl");
+        try {
+            return Files.exists(file) ? Files.readString(file) : null;
+        } catch (IOException e) {
+            log.warn("Could not read compiled decision table {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeCached(String key, String drl) {
+        if (cacheDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDirectory);
+            // Escritura atómica: otro proceso nunca lee un DRL a medio escribir
+            var tmp = Files.createTempFile(cacheDirectory, key, ".tmp");
+            Files.writeString(tmp, drl);
+            Files.move(tmp, cacheDirectory.resolve(key + ".drl"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not cache compiled decision table in {}", cacheDirectory, e);
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package com.rulesengine.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.drools.drl.ast.descr.ExprConstraintDescr;
+import org.drools.drl.ast.descr.PackageDescr;
+import org.drools.drl.ast.descr.PatternDescr;
+import org.drools.drl.ast.descr.RuleDescr;
+import org.drools.drl.parser.DrlParser;
+import org.drools.drl.parser.DroolsParserException;
+import org.kie.internal.builder.conf.LanguageLevelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rulesengine.model.Transaction;
+
+/**
+ * Decision Tables compiladas a un índice de búsqueda que se evalúa sin KieSession.
+ * <p>
+ * Admite las tablas que son búsquedas puras sobre una transacción: un único patrón
+ * {@code Transaction(...)} por regla con rangos sobre {@code amount} ({@code <, <=, >, >=}) e
+ * igualdades sobre campos categóricos ({@code country == "USA"}, {@code isVIP == false}...), y
+ * acciones que fijan el estado, el motivo de rechazo o la puntuación (o la suman a la acumulada).
+ * Las reglas se agrupan en un hash por los valores de sus columnas categóricas y, dentro de cada
+ * grupo, en un array ordenado de los límites de los rangos de {@code amount}: cada evaluación son
+ * unas pocas búsquedas en hash y una búsqueda binaria.
+ * <p>
+ * Las acciones no llaman a {@code modify}, así que igual que en Drools las condiciones se evalúan
+ * sobre la transacción tal como llega y las reglas se disparan por salience. Cualquier otra cosa
+ * ({@code from}, {@code modify}, otros operadores o atributos, reglas con la misma salience que
+ * pueden coincidir en la misma transacción, cuyo orden en Drools no está definido...) no se
+ * compila: {@link #compile(List)} devuelve null y las tablas se evalúan con Drools.
+ */
+public final class DecisionTableLookup {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionTableLookup.class);
+
+    private static final String TRANSACTION = Transaction.class.getSimpleName();
+
+    // Campos categóricos que se pueden indexar, con el tipo de literal que admiten
+    private static final Map<String, Function<Transaction, Object>> STRING_FIELDS = Map.of(
+        "id", Transaction::getId,
+        "userId", Transaction::getUserId,
+        "currency", Transaction::getCurrency,
+        "transactionType", Transaction::getTransactionType,
+        "merchantId", Transaction::getMerchantId,
+        "country", Transaction::getCountry,
+        "status", Transaction::getStatus,
+        "accountTier", Transaction::getAccountTier);
+    private static final Map<String, Function<Transaction, Object>> BOOLEAN_FIELDS = Map.of(
+        "isVIP", Transaction::getIsVIP);
+
+    private static final Pattern RANGE = Pattern.compile("amount\\s*(<=|>=|<|>)\\s*(-?\\d+(?:\\.\\d+)?)");
+    private static final Pattern EQUALITY = Pattern.compile("(\\w+)\\s*==\\s*(\"([^\"\\\\]*)\"|true|false)");
+    private static final String SET_TEXT = "\\s*%s\\.set(Status|RejectionReason)\\(\\s*\"([^\"\\\\]*)\"\\s*\\)\\s*;";
+    private static final String SET_RISK = "\\s*%s\\.setRiskScore\\(\\s*(-?\\d+)\\s*\\)\\s*;";
+    private static final String ADD_RISK = "\\s*%1$s\\.setRiskScore\\(\\s*\\(\\s*%1$s\\.getRiskScore\\(\\)\\s*!=\\s*null\\s*"
+        + "\\?\\s*%1$s\\.getRiskScore\\(\\)\\s*:\\s*0\\s*\\)\\s*\\+\\s*(-?\\d+)\\s*\\)\\s*;";
+
+    private static final int[] NONE = new int[0];
+
+    // Valor de las columnas que una regla no restringe
+    private static final Object ANY = new Object() {
+        @Override
+        public String toString() {
+            return "*";
+        }
+    };
+
+    private final Rule[] rules;
+    private final String[] keyFields;
+    private final Function<Transaction, Object>[] keyReaders;
+    // Combinaciones de columnas sin restringir presentes en alguna regla (bit i: keyFields[i] es ANY)
+    private final int[] keyMasks;
+    private final Map<List<Object>, RangeIndex> index;
+
+    private DecisionTableLookup(List<Rule> rules) {
+        this.rules = rules.toArray(Rule[]::new);
+        Set<String> fields = new TreeSet<>();
+        rules.forEach(rule -> fields.addAll(rule.equalities.keySet()));
+        this.keyFields = fields.toArray(String[]::new);
+        @SuppressWarnings("unchecked")
+        Function<Transaction, Object>[] readers = new Function[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            readers[i] = STRING_FIELDS.containsKey(keyFields[i]) ? STRING_FIELDS.get(keyFields[i]) : BOOLEAN_FIELDS.get(keyFields[i]);
+        }
+        this.keyReaders = readers;
+
+        Map<List<Object>, List<Integer>> buckets = new LinkedHashMap<>();
+        Set<Integer> masks = new LinkedHashSet<>();
+        for (int id = 0; id < this.rules.length; id++) {
+            var rule = this.rules[id];
+            var key = new Object[keyFields.length];
+            int mask = 0;
+            for (int i = 0; i < keyFields.length; i++) {
+                var value = rule.equalities.get(keyFields[i]);
+                key[i] = value != null ? value : ANY;
+                mask |= value == null ? 1 << i : 0;
+            }
+            buckets.computeIfAbsent(Arrays.asList(key), k -> new ArrayList<>()).add(id);
+            masks.add(mask);
+        }
+        this.keyMasks = masks.stream().mapToInt(Integer::intValue).toArray();
+        this.index = new HashMap<>();
+        buckets.forEach((key, ids) -> index.put(key, new RangeIndex(this.rules, ids)));
+    }
+
+    /**
+     * Compila el DRL de unas Decision Tables a un índice de búsqueda
+     * @param drls DRL de cada tabla, en orden de carga
+     * @return el índice o null si alguna regla no se puede compilar (se deben evaluar con Drools)
+     */
+    public static DecisionTableLookup compile(List<String> drls) {
+        try {
+            List<Rule> rules = new ArrayList<>();
+            for (String drl : drls) {
+                parse(drl, rules);
+            }
+            // Orden de disparo: salience descendente; el orden de carga solo desempata reglas que nunca coinciden
+            rules.sort(Comparator.comparingInt((Rule rule) -> rule.salience).reversed());
+            checkAmbiguousOrder(rules);
+            rules.removeIf(Rule::neverMatches);
+            var lookup = new DecisionTableLookup(rules);
+            log.info("Decision tables compiled to lookup: {} rules indexed by {} and amount ranges",
+                rules.size(), Arrays.toString(lookup.keyFields));
+            return lookup;
+        } catch (IllegalArgumentException e) {
+            log.info("Decision tables evaluated with Drools, cannot compile to lookup: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Evalúa las reglas sobre una transacción y aplica sus acciones en orden de disparo
+     * @param transaction transacción ya inicializada (estado PENDING, puntuación inicial)
+     * @return reglas disparadas, en orden de disparo
+     */
+    public List<Rule> evaluate(Transaction transaction) {
+        var values = new Object[keyReaders.length];
+        for (int i = 0; i < keyReaders.length; i++) {
+            values[i] = keyReaders[i].apply(transaction);
+        }
+        var amount = transaction.getAmount();
+
+        // Cada regla está en un único grupo: se juntan los de todas las combinaciones de columnas
+        int[] matched = NONE;
+        for (int mask : keyMasks) {
+            var key = new Object[values.length];
+            boolean complete = true;
+            for (int i = 0; i < values.length && complete; i++) {
+                key[i] = (mask & 1 << i) != 0 ? ANY : values[i];
+                // Una igualdad nunca se cumple con el campo a null
+                complete = key[i] != null;
+            }
+            var bucket = complete ? index.get(Arrays.asList(key)) : null;
+            var ids = bucket != null ? bucket.lookup(amount) : NONE;
+            if (ids.length > 0) {
+                matched = matched.length == 0 ? ids : merge(matched, ids);
+            }
+        }
+        if (matched.length == 0) {
+            return List.of();
+        }
+
+        List<Rule> fired = new ArrayList<>(matched.length);
+        for (int id : matched) {
+            var rule = rules[id];
+            for (var action : rule.actions) {
+                action.accept(transaction);
+            }
+            fired.add(rule);
+        }
+        return fired;
+    }
+
+    /**
+     * @return número de reglas indexadas
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * @return columnas categóricas del índice hash
+     */
+    public List<String> getKeyFields() {
+        return List.of(keyFields);
+    }
+
+    /**
+     * Une dos listas de reglas ordenadas por orden de disparo (los slots son compartidos, no se modifican)
+     */
+    private static int[] merge(int[] first, int[] second) {
+        var merged = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            merged[k++] = first[i] < second[j] ? first[i++] : second[j++];
+        }
+        while (i < first.length) {
+            merged[k++] = first[i++];
+        }
+        while (j < second.length) {
+            merged[k++] = second[j++];
+        }
+        return merged;
+    }
+
+    private static void parse(String drl, List<Rule> rules) {
+        var parser = new DrlParser(LanguageLevelOption.DRL6);
+        PackageDescr pkg;
+        try {
+            pkg = parser.parse(null, drl);
+        } catch (DroolsParserException e) {
+            throw new IllegalArgumentException("invalid DRL: " + e.getMessage(), e);
+        }
+        if (pkg == null || parser.hasErrors()) {
+            throw new IllegalArgumentException("invalid DRL: " + parser.getErrors());
+        }
+        if (!pkg.getGlobals().isEmpty() || !pkg.getFunctions().isEmpty() || !pkg.getTypeDeclarations().isEmpty()
+                || !pkg.getEnumDeclarations().isEmpty() || !pkg.getEntryPointDeclarations().isEmpty()
+                || !pkg.getWindowDeclarations().isEmpty()) {
+            throw new IllegalArgumentException("package " + pkg.getName() + " declares globals, functions or types");
+        }
+        for (var attribute : pkg.getAttributes()) {
+            if (!"dialect".equals(attribute.getName()) || !"java".equals(attribute.getValue())) {
+                throw new IllegalArgumentException("package attribute " + attribute.getName());
+            }
+        }
+        for (var ruleDescr : pkg.getRules()) {
+            rules.add(parseRule(pkg.getName(), ruleDescr));
+        }
+    }
+
+    private static Rule parseRule(String packageName, RuleDescr descr) {
+        var name = descr.getName();
+        if (descr.isQuery() || descr.getParentName() != null || !descr.getNamedConsequences().isEmpty()) {
+            throw new IllegalArgumentException("rule " + name + " is a query, extends a rule or has named consequences");
+        }
+        int salience = 0;
+        for (var attribute : descr.getAttributes().values()) {
+            if (!"salience".equals(attribute.getName())) {
+                throw new IllegalArgumentException("rule " + name + " uses attribute " + attribute.getName());
+            }
+            try {
+                salience = Integer.parseInt(attribute.getValue().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("rule " + name + " has a dynamic salience");
+            }
+        }
+
+        var lhs = descr.getLhs().getDescrs();
+        if (lhs.size() != 1 || !(lhs.get(0) instanceof PatternDescr pattern) || pattern.getSource() != null
+                || pattern.isQuery() || !isTransaction(pattern.getObjectType())) {
+            throw new IllegalArgumentException("rule " + name + " is not a single Transaction pattern");
+        }
+        var rule = new Rule(packageName, name, salience);
+        for (var constraint : pattern.getDescrs()) {
+            if (!(constraint instanceof ExprConstraintDescr expr) || expr.getType() != ExprConstraintDescr.Type.NAMED) {
+                throw new IllegalArgumentException("rule " + name + " has a positional constraint");
+            }
+            parseConstraint(rule, expr.getExpression().trim());
+        }
+        parseConsequence(rule, pattern.getIdentifier(), String.valueOf(descr.getConsequence()));
+        return rule;
+    }
+
+    private static boolean isTransaction(String objectType) {
+        return TRANSACTION.equals(objectType) || Transaction.class.getName().equals(objectType);
+    }
+
+    private static void parseConstraint(Rule rule, String expression) {
+        Matcher range = RANGE.matcher(expression);
+        if (range.matches()) {
+            rule.amount = rule.amount.restrict(range.group(1), new BigDecimal(range.group(2)));
+            return;
+        }
+        Matcher equality = EQUALITY.matcher(expression);
+        if (equality.matches()) {
+            var field = equality.group(1);
+            var quoted = equality.group(3);
+            Object value;
+            if (quoted != null && STRING_FIELDS.containsKey(field)) {
+                value = quoted;
+            } else if (quoted == null && BOOLEAN_FIELDS.containsKey(field)) {
+                value = Boolean.valueOf(equality.group(2));
+            } else {
+                throw new IllegalArgumentException("rule " + rule.name + " compares " + field + " with " + equality.group(2));
+            }
+            var previous = rule.equalities.putIfAbsent(field, value);
+            if (previous != null && !previous.equals(value)) {
+                rule.contradictory = true;
+            }
+            return;
+        }
+        throw new IllegalArgumentException("rule " + rule.name + " has unsupported constraint: " + expression);
+    }
+
+    private static void parseConsequence(Rule rule, String identifier, String consequence) {
+        if (consequence.isBlank()) {
+            return;
+        }
+        if (identifier == null) {
+            throw new IllegalArgumentException("rule " + rule.name + " has actions without a bound transaction");
+        }
+        var id = Pattern.quote(identifier);
+        Matcher setText = Pattern.compile(SET_TEXT.formatted(id)).matcher(consequence);
+        Matcher setRisk = Pattern.compile(SET_RISK.formatted(id)).matcher(consequence);
+        Matcher addRisk = Pattern.compile(ADD_RISK.formatted(id)).matcher(consequence);
+        int position = 0;
+        while (!consequence.substring(position).isBlank()) {
+            if (region(setText, position, consequence).lookingAt()) {
+                var value = setText.group(2);
+                rule.actions.add("Status".equals(setText.group(1))
+                    ? transaction -> transaction.setStatus(value)
+                    : transaction -> transaction.setRejectionReason(value));
+                position = setText.end();
+            } else if (region(setRisk, position, consequence).lookingAt()) {
+                var value = Integer.parseInt(setRisk.group(1));
+                rule.actions.add(transaction -> transaction.setRiskScore(value));
+                position = setRisk.end();
+            } else if (region(addRisk, position, consequence).lookingAt()) {
+                var value = Integer.parseInt(addRisk.group(1));
+                rule.actions.add(transaction -> transaction.setRiskScore(
+                    (transaction.getRiskScore() != null ? transaction.getRiskScore() : 0) + value));
+                position = addRisk.end();
+            } else {
+                throw new IllegalArgumentException("rule " + rule.name + " has unsupported action: "
+                    + consequence.substring(position).trim());
+            }
+        }
+    }
+
+    private static Matcher region(Matcher matcher, int start, String input) {
+        return matcher.region(start, input.length());
+    }
+
+    /**
+     * Drools no define el orden entre reglas con la misma salience: si dos pueden coincidir en la
+     * misma transacción el resultado podría depender de ese orden y no se compila
+     */
+    private static void checkAmbiguousOrder(List<Rule> rules) {
+        for (int i = 0; i < rules.size(); i++) {
+            for (int j = i + 1; j < rules.size() && rules.get(j).salience == rules.get(i).salience; j++) {
+                var first = rules.get(i);
+                var second = rules.get(j);
+                if (!first.neverMatches() && !second.neverMatches() && first.overlaps(second)) {
+                    throw new IllegalArgumentException("rules " + first.name + " and " + second.name
+                        + " have the same salience and can match the same transaction");
+                }
+            }
+        }
+    }
+
+    /**
+     * Regla compilada: igualdades por columna, rango de {@code amount} y acciones
+     */
+    public static final class Rule {
+
+        private final String packageName;
+        private final String name;
+        private final int salience;
+        private final Map<String, Object> equalities = new HashMap<>();
+        private final List<Consumer<Transaction>> actions = new ArrayList<>();
+        private Interval amount = Interval.ALL;
+        private boolean contradictory;
+
+        private Rule(String packageName, String name, int salience) {
+            this.packageName = packageName;
+            this.name = name;
+            this.salience = salience;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private boolean neverMatches() {
+            return contradictory || amount.isEmpty();
+        }
+
+        private boolean overlaps(Rule other) {
+            for (var equality : equalities.entrySet()) {
+                var value = other.equalities.get(equality.getKey());
+                if (value != null && !value.equals(equality.getValue())) {
+                    return false;
+                }
+            }
+            return amount.intersects(other.amount);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (salience " + salience + ")";
+        }
+    }
+
+    /**
+     * Rango de {@code amount}; un límite null no está acotado. Un amount null solo cumple el rango
+     * sin límites (la regla no restringe el campo), igual que en Drools.
+     */
+    private record Interval(BigDecimal lower, boolean lowerInclusive, BigDecimal upper, boolean upperInclusive,
+                            boolean constrained) {
+
+        static final Interval ALL = new Interval(null, false, null, false, false);
+
+        Interval restrict(String operator, BigDecimal bound) {
+            return switch (operator) {
+                case ">" -> withLower(bound, false);
+                case ">=" -> withLower(bound, true);
+                case "<" -> withUpper(bound, false);
+                default -> withUpper(bound, true);
+            };
+        }
+
+        private Interval withLower(BigDecimal bound, boolean inclusive) {
+            if (lower != null) {
+                int cmp = bound.compareTo(lower);
+                if (cmp < 0 || (cmp == 0 && (inclusive || !lowerInclusive))) {
+                    return new Interval(lower, lowerInclusive, upper, upperInclusive, true);
+                }
+            }
+            return new Interval(bound, inclusive, upper, upperInclusive, true);
+        }
+
+        private Interval withUpper(BigDecimal bound, boolean inclusive) {
+            if (upper != null) {
+                int cmp = bound.compareTo(upper);
+                if (cmp > 0 || (cmp == 0 && (inclusive || !upperInclusive))) {
+                    return new Interval(lower, lowerInclusive, upper, upperInclusive, true);
+                }
+            }
+            return new Interval(lower, lowerInclusive, bound, inclusive, true);
+        }
+
+        boolean contains(BigDecimal value) {
+            if (value == null) {
+                return !constrained;
+            }
+            if (lower != null) {
+                int cmp = value.compareTo(lower);
+                if (cmp < 0 || (cmp == 0 && !lowerInclusive)) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                int cmp = value.compareTo(upper);
+                return cmp < 0 || (cmp == 0 && upperInclusive);
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            if (lower == null || upper == null) {
+                return false;
+            }
+            int cmp = lower.compareTo(upper);
+            return cmp > 0 || (cmp == 0 && !(lowerInclusive && upperInclusive));
+        }
+
+        boolean intersects(Interval other) {
+            var intersection = this;
+            if (other.lower != null) {
+                intersection = intersection.withLower(other.lower, other.lowerInclusive);
+            }
+            if (other.upper != null) {
+                intersection = intersection.withUpper(other.upper, other.upperInclusive);
+            }
+            return !intersection.isEmpty();
+        }
+    }
+
+    /**
+     * Reglas de un grupo de columnas categóricas indexadas por {@code amount}.
+     * Los límites de los rangos, ordenados, dividen la recta en segmentos: el punto de cada límite
+     * (slot impar) y los intervalos abiertos entre ellos (slots pares). Cada slot guarda las reglas
+     * que lo cumplen, en orden de disparo, y una búsqueda binaria del amount lo localiza.
+     */
+    private static final class RangeIndex {
+
+        private final BigDecimal[] bounds;
+        private final int[][] slots;
+        private final int[] withoutAmount;
+
+        RangeIndex(Rule[] rules, List<Integer> ids) {
+            Set<BigDecimal> distinct = new TreeSet<>();
+            for (int id : ids) {
+                var amount = rules[id].amount;
+                if (amount.lower() != null) {
+                    distinct.add(amount.lower());
+                }
+                if (amount.upper() != null) {
+                    distinct.add(amount.upper());
+                }
+            }
+            // TreeSet usa compareTo: 100 y 100.00 son el mismo límite
+            this.bounds = distinct.toArray(BigDecimal[]::new);
+            this.slots = new int[bounds.length * 2 + 1][];
+            for (int slot = 0; slot < slots.length; slot++) {
+                var point = representative(slot);
+                slots[slot] = matching(rules, ids, point);
+            }
+            this.withoutAmount = matching(rules, ids, null);
+        }
+
+        int[] lookup(BigDecimal amount) {
+            if (amount == null) {
+                return withoutAmount;
+            }
+            int position = Arrays.binarySearch(bounds, amount);
+            return slots[position >= 0 ? position * 2 + 1 : (-position - 1) * 2];
+        }
+
+        /**
+         * Un punto cualquiera del slot: el límite o un punto interior del intervalo abierto
+         */
+        private BigDecimal representative(int slot) {
+            if (bounds.length == 0) {
+                return BigDecimal.ZERO;
+            }
+            if (slot % 2 == 1) {
+                return bounds[slot / 2];
+            }
+            int upper = slot / 2;
+            if (upper == 0) {
+                return bounds[0].subtract(BigDecimal.ONE);
+            }
+            if (upper == bounds.length) {
+                return bounds[bounds.length - 1].add(BigDecimal.ONE);
+            }
+            return bounds[upper - 1].add(bounds[upper]).divide(BigDecimal.valueOf(2));
+        }
+
+        private static int[] matching(Rule[] rules, List<Integer> ids, BigDecimal amount) {
+            var matching = ids.stream().filter(id -> rules[id].amount.contains(amount)).mapToInt(Integer::intValue).toArray();
+            return matching.length == 0 ? NONE : matching;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.rulesengine.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Conjunto de reglas de una etapa de la evaluación compuesta ({@code /api/composite/evaluate})
+ */
+public enum EvaluationStage {
+    /** Reglas DRL por nivel de complejidad (kieContainerRules) */
+    RULES,
+    /** Decision Tables (índice compilado o decisionTableKieContainer) */
+    DECISION_TABLES,
+    /** Reglas dinámicas; la etapa se omite si no hay ninguna cargada */
+    DYNAMIC_RULES;
+
+    /**
+     * @return nombre de la etapa en la API y en las métricas (rules, decision-tables, dynamic-rules)
+     */
+    public String id() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Lee una lista de etapas separadas por comas, por su nombre en la API o el del enum
+     * @param stages p. ej. {@code rules,decision-tables}
+     * @return las etapas en el orden indicado
+     * @throws IllegalArgumentException si alguna etapa no existe
+     */
+    public static List<EvaluationStage> parse(String stages) {
+        var parsed = new ArrayList<EvaluationStage>();
+        for (var stage : stages.split(",")) {
+            var name = stage.strip().toUpperCase(Locale.ROOT).replace('-', '_');
+            if (!name.isEmpty()) {
+                parsed.add(valueOf(name));
+            }
+        }
+        return parsed;
+    }
+}
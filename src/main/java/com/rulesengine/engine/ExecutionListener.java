@@ -0,0 +1,117 @@
+package com.rulesengine.engine;
+
+import java.util.List;
+
+import org.kie.api.event.KieRuntimeEventManager;
+
+/**
+ * Observador del ciclo de vida de sesiones y ejecuciones de los {@link RuleExecutor}.
+ * Permite instrumentar el motor (métricas) sin acoplar el paquete engine a Micrometer.
+ */
+public interface ExecutionListener {
+
+    /** Listener que no hace nada (tests y benchmarks) */
+    ExecutionListener NONE = new ExecutionListener() {
+    };
+
+    /**
+     * Combina varios listeners en uno que los notifica en orden
+     * @param listeners listeners a combinar
+     * @return el listener combinado
+     */
+    static ExecutionListener composite(List<? extends ExecutionListener> listeners) {
+        if (listeners.isEmpty()) {
+            return NONE;
+        }
+        if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        var all = List.copyOf(listeners);
+        return new ExecutionListener() {
+            @Override
+            public void sessionCreated(String executor, KieRuntimeEventManager session, long durationNanos) {
+                all.forEach(listener -> listener.sessionCreated(executor, session, durationNanos));
+            }
+
+            @Override
+            public void sessionDisposed(String executor, long durationNanos) {
+                all.forEach(listener -> listener.sessionDisposed(executor, durationNanos));
+            }
+
+            @Override
+            public void poolCreated(KieSessionPool pool) {
+                all.forEach(listener -> listener.poolCreated(pool));
+            }
+
+            @Override
+            public void executed(String executor, int factCount, int rulesFired, long durationNanos) {
+                all.forEach(listener -> listener.executed(executor, factCount, rulesFired, durationNanos));
+            }
+
+            @Override
+            public void ruleFired(String executor, String packageName, String ruleName, Object fact) {
+                all.forEach(listener -> listener.ruleFired(executor, packageName, ruleName, fact));
+            }
+
+            @Override
+            public void stageExited(String executor, String stage, int transactions, long savedNanos) {
+                all.forEach(listener -> listener.stageExited(executor, stage, transactions, savedNanos));
+            }
+        };
+    }
+
+    /**
+     * Se invoca al crear una sesión (stateful o stateless); permite registrar event listeners en ella
+     * @param executor nombre del ejecutor
+     * @param session la sesión creada
+     * @param durationNanos tiempo de creación
+     */
+    default void sessionCreated(String executor, KieRuntimeEventManager session, long durationNanos) {
+    }
+
+    /**
+     * Se invoca al descartar una sesión con dispose()
+     * @param executor nombre del ejecutor
+     * @param durationNanos tiempo del dispose
+     */
+    default void sessionDisposed(String executor, long durationNanos) {
+    }
+
+    /**
+     * Se invoca al crear un pool de sesiones
+     * @param pool el pool creado
+     */
+    default void poolCreated(KieSessionPool pool) {
+    }
+
+    /**
+     * Se invoca tras cada ejecución de reglas
+     * @param executor nombre del ejecutor
+     * @param factCount número de hechos insertados
+     * @param rulesFired número de reglas ejecutadas
+     * @param durationNanos tiempo de la ejecución
+     */
+    default void executed(String executor, int factCount, int rulesFired, long durationNanos) {
+    }
+
+    /**
+     * Se invoca por cada regla disparada fuera de una KieSession (ejecutores que no usan Drools,
+     * como {@link LookupRuleExecutor}); en las sesiones se usan sus propios event listeners
+     * @param executor nombre del ejecutor
+     * @param packageName paquete de la regla
+     * @param ruleName nombre de la regla
+     * @param fact hecho sobre el que se ha disparado
+     */
+    default void ruleFired(String executor, String packageName, String ruleName, Object fact) {
+    }
+
+    /**
+     * Se invoca cuando transacciones dejan de estar en PENDING en una etapa de {@link StagedRuleExecutor}
+     * @param executor nombre del ejecutor por etapas
+     * @param stage ejecutor de la etapa, o {@link StagedRuleExecutor#NO_EXIT} si siguen en PENDING tras la última
+     * @param transactions número de transacciones que salen
+     * @param savedNanos tiempo estimado de las etapas que no se ejecutan para esas transacciones
+     */
+    default void stageExited(String executor, String stage, int transactions, long savedNanos) {
+    }
+}
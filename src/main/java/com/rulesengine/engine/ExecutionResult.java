@@ -0,0 +1,28 @@
+package com.rulesengine.engine;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una ejecución de reglas
+ * @param rulesFired número de reglas ejecutadas
+ * @param firedRules nombres de las reglas ejecutadas, en orden de disparo
+ * @param matchedFacts hecho principal (primer objeto del match) de cada regla de {@code firedRules}
+ */
+public record ExecutionResult(int rulesFired, List<String> firedRules, List<Object> matchedFacts) {
+
+    /**
+     * Agrupa las reglas ejecutadas por hecho (por identidad), manteniendo el orden de disparo.
+     * Útil cuando se evalúan varios hechos en la misma sesión.
+     * @return reglas ejecutadas por cada hecho
+     */
+    public Map<Object, List<String>> firedRulesByFact() {
+        Map<Object, List<String>> byFact = new IdentityHashMap<>();
+        for (int i = 0; i < firedRules.size(); i++) {
+            byFact.computeIfAbsent(matchedFacts.get(i), fact -> new ArrayList<>()).add(firedRules.get(i));
+        }
+        return byFact;
+    }
+}
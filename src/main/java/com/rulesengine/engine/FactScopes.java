@@ -0,0 +1,87 @@
+package com.rulesengine.engine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.drools.base.definitions.rule.impl.RuleImpl;
+import org.drools.base.rule.EvalCondition;
+import org.drools.base.rule.GroupElement;
+import org.drools.base.rule.Pattern;
+import org.kie.api.KieBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Determina si las reglas de una KieBase están acotadas a un único hecho, es decir, si evaluar varios
+ * hechos en la misma sesión da el mismo resultado que evaluarlos por separado.
+ * Una regla está acotada si su LHS es exactamente un patrón sin {@code from}/{@code accumulate}/
+ * {@code collect}, más opcionalmente {@code eval} que solo usan variables de ese patrón: no hay joins
+ * entre hechos, ni {@code not}/{@code exists}, ni reglas sin patrones (que se dispararían una vez por
+ * sesión en lugar de una vez por hecho).
+ */
+public final class FactScopes {
+
+    private static final Logger log = LoggerFactory.getLogger(FactScopes.class);
+
+    // Las KieBase se sustituyen al recargar reglas: claves débiles para no retenerlas
+    private static final Map<KieBase, Boolean> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FactScopes() {
+    }
+
+    /**
+     * Indica si todas las reglas de la KieBase están acotadas a un único hecho
+     * @param kieBase la KieBase a inspeccionar
+     * @return true si se pueden evaluar varios hechos independientes en la misma sesión
+     */
+    public static boolean isFactScoped(KieBase kieBase) {
+        if (kieBase == null) {
+            return false;
+        }
+        return CACHE.computeIfAbsent(kieBase, FactScopes::inspect);
+    }
+
+    private static boolean inspect(KieBase kieBase) {
+        for (var kiePackage : kieBase.getKiePackages()) {
+            for (var rule : kiePackage.getRules()) {
+                if (!(rule instanceof RuleImpl ruleImpl) || ruleImpl.isQuery()) {
+                    continue;
+                }
+                if (!isSinglePattern(ruleImpl.getLhs())) {
+                    log.info("Rule '{}' is not scoped to a single fact; batches will be evaluated one fact per session",
+                        rule.getName());
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSinglePattern(GroupElement lhs) {
+        if (lhs == null || !lhs.isAnd()) {
+            return false;
+        }
+        Pattern pattern = null;
+        for (var element : lhs.getChildren()) {
+            if (element instanceof Pattern candidate && pattern == null && candidate.getSource() == null) {
+                pattern = candidate;
+            } else if (!(element instanceof EvalCondition)) {
+                return false;
+            }
+        }
+        if (pattern == null) {
+            return false;
+        }
+        for (var element : lhs.getChildren()) {
+            if (element instanceof EvalCondition eval) {
+                for (var declaration : eval.getRequiredDeclarations()) {
+                    if (declaration.getPattern() != pattern) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
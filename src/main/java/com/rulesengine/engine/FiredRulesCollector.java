@@ -0,0 +1,60 @@
+package com.rulesengine.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+
+/**
+ * AgendaEventListener que recoge las reglas disparadas en la ejecución en curso.
+ * La ejecución de reglas es síncrona en el hilo que la invoca (también con StatelessKieSession),
+ * por lo que basta un ThreadLocal para separar ejecuciones concurrentes que comparten KieBase.
+ */
+final class FiredRulesCollector extends DefaultAgendaEventListener {
+
+    static final FiredRulesCollector INSTANCE = new FiredRulesCollector();
+
+    private static final ThreadLocal<Collected> CURRENT = new ThreadLocal<>();
+
+    private FiredRulesCollector() {
+    }
+
+    /**
+     * Empieza a recoger las reglas disparadas en el hilo actual
+     * @return listas que se irán rellenando con las reglas y sus hechos
+     */
+    static Collected begin() {
+        var collected = new Collected(new ArrayList<>(), new ArrayList<>());
+        CURRENT.set(collected);
+        return collected;
+    }
+
+    /**
+     * Deja de recoger reglas en el hilo actual
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void afterMatchFired(AfterMatchFiredEvent event) {
+        var collected = CURRENT.get();
+        if (collected != null) {
+            var match = event.getMatch();
+            var objects = match.getObjects();
+            collected.firedRules().add(match.getRule().getName());
+            collected.matchedFacts().add(objects.isEmpty() ? null : objects.get(0));
+        }
+    }
+
+    /**
+     * Reglas disparadas y hecho principal de cada disparo
+     */
+    record Collected(List<String> firedRules, List<Object> matchedFacts) {
+
+        ExecutionResult toResult(int rulesFired) {
+            return new ExecutionResult(rulesFired, firedRules, matchedFacts);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.rulesengine.engine;
+
+import java.util.function.Supplier;
+
+import org.kie.api.KieBase;
+
+/**
+ * Proveedor que crea una KieSession nueva en cada evaluación y la descarta al devolverla
+ */
+public class FreshKieSessionProvider implements KieSessionProvider {
+
+    private final String name;
+    private final Supplier<KieBase> kieBaseSupplier;
+    private final ExecutionListener listener;
+
+    public FreshKieSessionProvider(String name, Supplier<KieBase> kieBaseSupplier) {
+        this(name, kieBaseSupplier, ExecutionListener.NONE);
+    }
+
+    public FreshKieSessionProvider(String name, Supplier<KieBase> kieBaseSupplier, ExecutionListener listener) {
+        this.name = name;
+        this.kieBaseSupplier = kieBaseSupplier;
+        this.listener = listener;
+    }
+
+    @Override
+    public KieSessionLease acquire() {
+        var kieBase = kieBaseSupplier.get();
+        if (kieBase == null) {
+            throw new IllegalStateException("No KieBase available for session provider " + name);
+        }
+        var lease = new KieSessionLease(KieSessions.newKieSession(name, kieBase, listener), kieBase, this);
+        lease.markUsed();
+        return lease;
+    }
+
+    @Override
+    public void release(KieSessionLease lease) {
+        KieSessions.dispose(name, lease.session(), listener);
+    }
+
+    @Override
+    public void invalidate() {
+        // Nada que invalidar: las sesiones no se reutilizan
+    }
+
+    @Override
+    public KieBase getKieBase() {
+        return kieBaseSupplier.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
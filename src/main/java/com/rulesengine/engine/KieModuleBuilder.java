@@ -0,0 +1,67 @@
+package com.rulesengine.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.model.codegen.ExecutableModelProject;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+
+/**
+ * Utilidades para compilar KieModules en modo DRL o executable model
+ * y para cargar/guardar KJARs precompilados
+ */
+public final class KieModuleBuilder {
+
+    private KieModuleBuilder() {
+    }
+
+    /**
+     * Compila el contenido del KieFileSystem
+     * @param kieServices servicios de KIE
+     * @param kieFileSystem recursos a compilar
+     * @param mode modo de compilación
+     * @return el KieBuilder con los resultados de la compilación
+     */
+    public static KieBuilder buildAll(KieServices kieServices, KieFileSystem kieFileSystem, RuleBuildMode mode) {
+        var kieBuilder = kieServices.newKieBuilder(kieFileSystem);
+        if (mode == RuleBuildMode.EXECUTABLE_MODEL) {
+            kieBuilder.buildAll(ExecutableModelProject.class);
+        } else {
+            kieBuilder.buildAll();
+        }
+        return kieBuilder;
+    }
+
+    /**
+     * Carga un KJAR precompilado desde el classpath y lo registra en el repositorio de KIE
+     * @param kieServices servicios de KIE
+     * @param location ubicación del KJAR en el classpath
+     * @return el KieModule cargado o null si el KJAR no existe
+     */
+    public static KieModule loadFromClasspath(KieServices kieServices, String location) {
+        try (InputStream in = KieModuleBuilder.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                return null;
+            }
+            return kieServices.getRepository().addKieModule(kieServices.getResources().newByteArrayResource(in.readAllBytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading prebuilt KJAR " + location, e);
+        }
+    }
+
+    /**
+     * Escribe un KieModule compilado como KJAR
+     * @param kieModule el KieModule compilado
+     * @param target fichero de destino
+     */
+    public static void writeKjar(KieModule kieModule, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.write(target, ((InternalKieModule) kieModule).getBytes());
+    }
+}
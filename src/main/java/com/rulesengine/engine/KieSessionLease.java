@@ -0,0 +1,43 @@
+package com.rulesengine.engine;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+/**
+ * Préstamo de una KieSession obtenido de un {@link KieSessionProvider}.
+ * Al cerrarse la sesión vuelve a su proveedor (pool) o se descarta.
+ */
+public final class KieSessionLease implements AutoCloseable {
+
+    private final KieSession session;
+    private final KieBase kieBase;
+    private final KieSessionProvider provider;
+    private int uses;
+
+    KieSessionLease(KieSession session, KieBase kieBase, KieSessionProvider provider) {
+        this.session = session;
+        this.kieBase = kieBase;
+        this.provider = provider;
+    }
+
+    public KieSession session() {
+        return session;
+    }
+
+    KieBase kieBase() {
+        return kieBase;
+    }
+
+    int uses() {
+        return uses;
+    }
+
+    void markUsed() {
+        uses++;
+    }
+
+    @Override
+    public void close() {
+        provider.release(this);
+    }
+}
@@ -0,0 +1,209 @@
+package com.rulesengine.engine;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.drools.kiesession.session.StatefulKnowledgeSessionImpl;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool acotado de KieSession reutilizables.
+ * <ul>
+ *   <li>Mantiene como máximo {@code maxIdle} sesiones ociosas (por defecto una por core);
+ *       las sesiones sobrantes se descartan al devolverse.</li>
+ *   <li>Cada sesión se resetea al devolverse al pool para no filtrar hechos entre evaluaciones.</li>
+ *   <li>Las sesiones se descartan si el reset falla, si quedan hechos tras el reset o si
+ *       superan {@code maxUsesPerSession} usos.</li>
+ *   <li>Si la KieBase que devuelve el supplier cambia (recarga de reglas) el pool se
+ *       invalida y las sesiones de la KieBase anterior se descartan. Una KieBase sustituida no
+ *       vuelve a ser la actual: los hilos que aún la retienen ({@link VersionedKieContainer})
+ *       reciben sesiones nuevas que se descartan al devolverse.</li>
+ * </ul>
+ */
+public class KieSessionPool implements KieSessionProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(KieSessionPool.class);
+
+    private final String name;
+    private final Supplier<KieBase> kieBaseSupplier;
+    private final int maxUsesPerSession;
+    private final BlockingQueue<KieSessionLease> idle;
+    private final ExecutionListener listener;
+
+    private volatile KieBase currentKieBase;
+    // KieBases sustituidas por una más reciente; referencias débiles para no retener su memoria
+    private final Set<KieBase> retiredKieBases = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public KieSessionPool(String name, Supplier<KieBase> kieBaseSupplier, int maxIdle, int maxUsesPerSession) {
+        this(name, kieBaseSupplier, maxIdle, maxUsesPerSession, ExecutionListener.NONE);
+    }
+
+    public KieSessionPool(String name, Supplier<KieBase> kieBaseSupplier, int maxIdle, int maxUsesPerSession,
+                          ExecutionListener listener) {
+        if (maxIdle <= 0) {
+            throw new IllegalArgumentException("maxIdle must be greater than 0");
+        }
+        this.name = name;
+        this.kieBaseSupplier = kieBaseSupplier;
+        this.maxUsesPerSession = maxUsesPerSession;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+        this.listener = listener;
+        listener.poolCreated(this);
+    }
+
+    @Override
+    public KieSessionLease acquire() {
+        var kieBase = resolveKieBase();
+        if (kieBase != currentKieBase) {
+            // KieBase en drenaje: sesión de un solo uso, sin tocar las ociosas de la actual
+            created.incrementAndGet();
+            var lease = new KieSessionLease(KieSessions.newKieSession(name, kieBase, listener), kieBase, this);
+            lease.markUsed();
+            return lease;
+        }
+
+        var lease = idle.poll();
+        while (lease != null && lease.kieBase() != kieBase) {
+            evict(lease, "stale KieBase");
+            lease = idle.poll();
+        }
+
+        if (lease == null) {
+            lease = new KieSessionLease(KieSessions.newKieSession(name, kieBase, listener), kieBase, this);
+            created.incrementAndGet();
+        } else {
+            reused.incrementAndGet();
+        }
+        lease.markUsed();
+        return lease;
+    }
+
+    @Override
+    public void release(KieSessionLease lease) {
+        if (lease.kieBase() != currentKieBase) {
+            evict(lease, "stale KieBase");
+            return;
+        }
+        if (maxUsesPerSession > 0 && lease.uses() >= maxUsesPerSession) {
+            evict(lease, "max uses reached");
+            return;
+        }
+        if (!reset(lease.session())) {
+            evict(lease, "unhealthy after reset");
+            return;
+        }
+        if (!idle.offer(lease)) {
+            // Pool lleno: la sesión sobrante no se conserva
+            KieSessions.dispose(name, lease.session(), listener);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        KieSessionLease lease;
+        while ((lease = idle.poll()) != null) {
+            evict(lease, "pool invalidated");
+        }
+    }
+
+    @Override
+    public KieBase getKieBase() {
+        return kieBaseSupplier.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    /**
+     * Obtiene la KieBase actual e invalida el pool si ha cambiado desde la última evaluación.
+     * Solo avanza: una KieBase ya sustituida (versión en drenaje) no vuelve a ser la actual
+     * @return la KieBase del hilo
+     */
+    private KieBase resolveKieBase() {
+        var kieBase = kieBaseSupplier.get();
+        if (kieBase == null) {
+            throw new IllegalStateException("No KieBase available for session pool " + name);
+        }
+        if (kieBase != currentKieBase) {
+            synchronized (this) {
+                if (kieBase != currentKieBase && !retiredKieBases.contains(kieBase)) {
+                    log.info("KieBase changed for session pool {}, invalidating idle sessions", name);
+                    if (currentKieBase != null) {
+                        retiredKieBases.add(currentKieBase);
+                    }
+                    currentKieBase = kieBase;
+                    invalidate();
+                }
+            }
+        }
+        return kieBase;
+    }
+
+    /**
+     * Resetea la sesión para su reutilización
+     * @param session la sesión a resetear
+     * @return true si la sesión queda limpia y reutilizable
+     */
+    private boolean reset(KieSession session) {
+        try {
+            if (session instanceof StatefulKnowledgeSessionImpl statefulSession) {
+                if (!statefulSession.isAlive()) {
+                    return false;
+                }
+                // reset() también elimina los event listeners: se vuelven a registrar
+                var agendaListeners = List.copyOf(statefulSession.getAgendaEventListeners());
+                var ruleRuntimeListeners = List.copyOf(statefulSession.getRuleRuntimeEventListeners());
+                statefulSession.reset();
+                agendaListeners.forEach(statefulSession::addEventListener);
+                ruleRuntimeListeners.forEach(statefulSession::addEventListener);
+            } else {
+                session.getFactHandles().forEach(session::delete);
+            }
+            return session.getFactCount() == 0;
+        } catch (RuntimeException e) {
+            log.warn("Error resetting session from pool {}", name, e);
+            return false;
+        }
+    }
+
+    private void evict(KieSessionLease lease, String reason) {
+        evicted.incrementAndGet();
+        log.debug("Evicting session from pool {}: {}", name, reason);
+        try {
+            KieSessions.dispose(name, lease.session(), listener);
+        } catch (RuntimeException e) {
+            log.warn("Error disposing evicted session from pool {}", name, e);
+        }
+    }
+}
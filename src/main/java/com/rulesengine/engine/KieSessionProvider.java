@@ -0,0 +1,47 @@
+package com.rulesengine.engine;
+
+import org.kie.api.KieBase;
+
+/**
+ * Proveedor de KieSession para las evaluaciones de reglas.
+ * Uso típico:
+ * <pre>
+ * try (var lease = provider.acquire()) {
+ *     lease.session().insert(transaction);
+ *     lease.session().fireAllRules();
+ * }
+ * </pre>
+ * @see KieSessionPool
+ * @see FreshKieSessionProvider
+ */
+public interface KieSessionProvider {
+
+    /**
+     * Obtiene una sesión lista para usar
+     * @return préstamo de la sesión; debe cerrarse al terminar la evaluación
+     */
+    KieSessionLease acquire();
+
+    /**
+     * Devuelve una sesión obtenida con {@link #acquire()}
+     * @param lease el préstamo a devolver
+     */
+    void release(KieSessionLease lease);
+
+    /**
+     * Descarta todas las sesiones ociosas (por ejemplo tras recargar las reglas)
+     */
+    void invalidate();
+
+    /**
+     * Obtiene la KieBase actual de la que se crean las sesiones
+     * @return la KieBase o null si no hay reglas cargadas
+     */
+    KieBase getKieBase();
+
+    /**
+     * Obtiene el nombre del proveedor
+     * @return nombre del proveedor
+     */
+    String getName();
+}
@@ -0,0 +1,39 @@
+package com.rulesengine.engine;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+
+/**
+ * Creación y descarte de sesiones comunes a todos los ejecutores: registra el
+ * {@link FiredRulesCollector} y notifica los tiempos al {@link ExecutionListener}
+ */
+final class KieSessions {
+
+    private KieSessions() {
+    }
+
+    static KieSession newKieSession(String name, KieBase kieBase, ExecutionListener listener) {
+        var startTime = System.nanoTime();
+        var session = kieBase.newKieSession();
+        session.addEventListener(FiredRulesCollector.INSTANCE);
+        listener.sessionCreated(name, session, System.nanoTime() - startTime);
+        return session;
+    }
+
+    static StatelessKieSession newStatelessKieSession(String name, KieBase kieBase, KieSessionsPool pool,
+                                                      ExecutionListener listener) {
+        var startTime = System.nanoTime();
+        var session = pool != null ? pool.newStatelessKieSession() : kieBase.newStatelessKieSession();
+        session.addEventListener(FiredRulesCollector.INSTANCE);
+        listener.sessionCreated(name, session, System.nanoTime() - startTime);
+        return session;
+    }
+
+    static void dispose(String name, KieSession session, ExecutionListener listener) {
+        var startTime = System.nanoTime();
+        session.dispose();
+        listener.sessionDisposed(name, System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,194 @@
+package com.rulesengine.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * KJAR con el executable model de un KieModule, guardados por hash SHA-256 de su contenido:
+ * los recursos de las reglas (kmodule.xml, DRL, Decision Tables), el bytecode de los tipos de
+ * hecho que usan y la versión de Drools. Un KJAR solo se reutiliza si nada de eso ha cambiado.
+ * <ol>
+ *   <li>{@code kjars/<módulo>-<hash>.jar} en el classpath, generado en build con el perfil
+ *       {@code executable-model}</li>
+ *   <li>{@code <directorio>/<módulo>-<hash>.jar}, guardado por un arranque anterior</li>
+ *   <li>Si no existe, se compila y se guarda en el directorio para los siguientes arranques</li>
+ * </ol>
+ */
+public class KjarCache {
+
+    private static final Logger log = LoggerFactory.getLogger(KjarCache.class);
+
+    /** Ubicación en el classpath de los KJAR generados en build */
+    public static final String CLASSPATH_DIRECTORY = "kjars/";
+
+    private static final String DROOLS_VERSION = String.valueOf(InternalKieModule.class.getPackage().getImplementationVersion());
+
+    private final KieServices kieServices;
+    private final Path directory;
+
+    /**
+     * @param kieServices servicios de KIE
+     * @param directory directorio de los KJAR guardados en runtime; null para usar solo los del classpath
+     */
+    public KjarCache(KieServices kieServices, Path directory) {
+        this.kieServices = kieServices;
+        this.directory = directory;
+    }
+
+    /**
+     * Carga el KJAR del contenido indicado o lo compila y lo guarda si no existe
+     * @param module nombre del módulo (prefijo del fichero)
+     * @param sources recursos de las reglas y tipos de hecho que forman el hash
+     * @param builder compila el KieModule a executable model
+     * @return el KieModule registrado en el repositorio de KIE y su origen
+     */
+    public Resolved resolve(String module, Sources sources, Supplier<KieModule> builder) {
+        var fileName = fileName(module, sources);
+        var kieModule = KieModuleBuilder.loadFromClasspath(kieServices, CLASSPATH_DIRECTORY + fileName);
+        if (kieModule != null) {
+            return new Resolved(kieModule, "prebuilt executable model");
+        }
+        var cached = directory != null ? directory.resolve(fileName) : null;
+        if (cached != null && Files.exists(cached)) {
+            try {
+                kieModule = kieServices.getRepository().addKieModule(
+                    kieServices.getResources().newByteArrayResource(Files.readAllBytes(cached)));
+                return new Resolved(kieModule, "cached executable model " + cached.getFileName());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not load cached KJAR {}, rebuilding", cached, e);
+            }
+        }
+
+        kieModule = builder.get();
+        if (cached != null) {
+            try {
+                write(kieModule, cached);
+                log.info("Stored executable model KJAR {} for next starts", cached);
+            } catch (IOException e) {
+                log.warn("Could not store KJAR in {}", directory, e);
+            }
+        }
+        return new Resolved(kieModule, RuleBuildMode.EXECUTABLE_MODEL.name());
+    }
+
+    /**
+     * Nombre del KJAR de un contenido
+     * @param module nombre del módulo
+     * @param sources recursos de las reglas y tipos de hecho
+     * @return {@code <módulo>-<hash>.jar}
+     */
+    public static String fileName(String module, Sources sources) {
+        return module + '-' + sources.hash() + ".jar";
+    }
+
+    /**
+     * Escribe un KieModule como KJAR de forma atómica: otro proceso nunca lee un KJAR a medio escribir
+     * @param kieModule el KieModule compilado
+     * @param target fichero de destino
+     */
+    public static void write(KieModule kieModule, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        var tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, ((InternalKieModule) kieModule).getBytes());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Resultado de {@link #resolve}
+     * @param kieModule el KieModule registrado en el repositorio de KIE
+     * @param source origen para los logs de arranque
+     */
+    public record Resolved(KieModule kieModule, String source) {
+    }
+
+    /**
+     * Contenido que determina un KJAR: recursos por ruta y bytecode de los tipos de hecho
+     */
+    public static final class Sources {
+
+        private final Map<String, byte[]> resources = new TreeMap<>();
+
+        /**
+         * Añade un recurso de las reglas
+         * @param path ruta del recurso
+         * @param content contenido
+         * @return estos recursos
+         */
+        public Sources add(String path, byte[] content) {
+            resources.put(path, content);
+            return this;
+        }
+
+        /**
+         * Añade un recurso del classpath
+         * @param path ruta del recurso en el classpath
+         * @return estos recursos
+         */
+        public Sources addClassPathResource(String path) {
+            return add(path, readClassPathResource(KjarCache.class.getClassLoader(), path));
+        }
+
+        /**
+         * Añade el bytecode de los tipos de hecho: el executable model compila accesos a sus métodos
+         * @param factTypes tipos de hecho usados por las reglas
+         * @return estos recursos
+         */
+        public Sources addFactTypes(List<Class<?>> factTypes) {
+            for (var factType : factTypes) {
+                var path = factType.getName().replace('.', '/') + ".class";
+                add(path, readClassPathResource(factType.getClassLoader(), path));
+            }
+            return this;
+        }
+
+        /**
+         * @return hash SHA-256 de la versión de Drools y de cada recurso (ruta y contenido), en hexadecimal
+         */
+        public String hash() {
+            try {
+                var digest = MessageDigest.getInstance("SHA-256");
+                digest.update(DROOLS_VERSION.getBytes(StandardCharsets.UTF_8));
+                for (var resource : resources.entrySet()) {
+                    digest.update((resource.getKey() + ':' + resource.getValue().length + ':').getBytes(StandardCharsets.UTF_8));
+                    digest.update(resource.getValue());
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static byte[] readClassPathResource(ClassLoader classLoader, String path) {
+            try (InputStream in = classLoader.getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new IllegalStateException("Resource not found in classpath: " + path);
+                }
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading " + path, e);
+            }
+        }
+    }
+}
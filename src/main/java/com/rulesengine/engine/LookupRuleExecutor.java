@@ -0,0 +1,80 @@
+package com.rulesengine.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.AgendaFilter;
+
+import com.rulesengine.model.Transaction;
+
+/**
+ * Ejecutor de Decision Tables compiladas a un {@link DecisionTableLookup}: evalúa las transacciones
+ * sin KieSession. Las ejecuciones con filtro de agenda o con hechos que no son transacciones pasan
+ * al ejecutor de Drools de las mismas tablas.
+ */
+public class LookupRuleExecutor implements RuleExecutor {
+
+    private final String name;
+    private final DecisionTableLookup lookup;
+    private final RuleExecutor fallback;
+    private final ExecutionListener listener;
+
+    public LookupRuleExecutor(String name, DecisionTableLookup lookup, RuleExecutor fallback, ExecutionListener listener) {
+        this.name = name;
+        this.lookup = lookup;
+        this.fallback = fallback;
+        this.listener = listener;
+    }
+
+    /**
+     * Evalúa cada transacción por separado; las reglas se devuelven agrupadas por transacción y,
+     * dentro de cada una, en orden de disparo
+     */
+    @Override
+    public ExecutionResult execute(List<?> facts, AgendaFilter filter) {
+        if (filter != null || !facts.stream().allMatch(Transaction.class::isInstance)) {
+            return fallback.execute(facts, filter);
+        }
+        var startTime = System.nanoTime();
+        List<String> firedRules = new ArrayList<>();
+        List<Object> matchedFacts = new ArrayList<>();
+        for (var fact : facts) {
+            var transaction = (Transaction) fact;
+            for (var rule : lookup.evaluate(transaction)) {
+                firedRules.add(rule.getName());
+                matchedFacts.add(transaction);
+                listener.ruleFired(name, rule.getPackageName(), rule.getName(), transaction);
+            }
+        }
+        listener.executed(name, facts.size(), firedRules.size(), System.nanoTime() - startTime);
+        return new ExecutionResult(firedRules.size(), firedRules, matchedFacts);
+    }
+
+    @Override
+    public void invalidate() {
+        fallback.invalidate();
+    }
+
+    @Override
+    public KieBase getKieBase() {
+        return fallback.getKieBase();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return modo del ejecutor de Drools usado como respaldo
+     */
+    @Override
+    public SessionMode getMode() {
+        return fallback.getMode();
+    }
+
+    public DecisionTableLookup getLookup() {
+        return lookup;
+    }
+}
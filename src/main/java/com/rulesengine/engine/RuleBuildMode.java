@@ -0,0 +1,11 @@
+package com.rulesengine.engine;
+
+/**
+ * Modo de compilación de las reglas
+ */
+public enum RuleBuildMode {
+    /** Compilación DRL clásica con KieBuilder (restricciones evaluadas con MVEL) */
+    DRL,
+    /** Executable model: las reglas se compilan a clases Java (drools-model-codegen) */
+    EXECUTABLE_MODEL
+}
@@ -0,0 +1,55 @@
+package com.rulesengine.engine;
+
+import java.util.List;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.AgendaFilter;
+
+/**
+ * Ejecuta las reglas de una KieBase sobre un conjunto de hechos.
+ * Oculta si la ejecución usa sesiones stateful (pool o nuevas) o una StatelessKieSession.
+ * @see StatefulRuleExecutor
+ * @see StatelessRuleExecutor
+ */
+public interface RuleExecutor {
+
+    /**
+     * Inserta los hechos y ejecuta todas las reglas
+     * @param facts hechos a insertar
+     * @return número y nombres de las reglas ejecutadas
+     */
+    default ExecutionResult execute(List<?> facts) {
+        return execute(facts, null);
+    }
+
+    /**
+     * Inserta los hechos y ejecuta las reglas aceptadas por el filtro
+     * @param facts hechos a insertar
+     * @param filter filtro de la agenda o null para ejecutar todas las reglas
+     * @return número y nombres de las reglas ejecutadas
+     */
+    ExecutionResult execute(List<?> facts, AgendaFilter filter);
+
+    /**
+     * Descarta el estado reutilizable ligado a la KieBase actual (por ejemplo tras recargar las reglas)
+     */
+    void invalidate();
+
+    /**
+     * Obtiene la KieBase actual del ejecutor
+     * @return la KieBase o null si no hay reglas cargadas
+     */
+    KieBase getKieBase();
+
+    /**
+     * Obtiene el nombre del ejecutor
+     * @return nombre del ejecutor
+     */
+    String getName();
+
+    /**
+     * Obtiene el modo de ejecución
+     * @return modo de ejecución
+     */
+    SessionMode getMode();
+}
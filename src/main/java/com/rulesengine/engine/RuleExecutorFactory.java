@@ -0,0 +1,53 @@
+package com.rulesengine.engine;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.kie.api.KieBase;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.config.RulesEngineProperties;
+
+/**
+ * Crea los ejecutores de reglas según el modo configurado para cada KieBase
+ * ({@code rules-engine.session.kbase-modes}, o {@code rules-engine.session.mode} por defecto)
+ */
+@Component
+public class RuleExecutorFactory {
+
+    private final RulesEngineProperties properties;
+    private final ExecutionListener listener;
+
+    public RuleExecutorFactory(RulesEngineProperties properties, List<ExecutionListener> listeners) {
+        this.properties = properties;
+        this.listener = ExecutionListener.composite(listeners);
+    }
+
+    /**
+     * Crea un ejecutor de reglas para una KieBase
+     * @param name nombre del ejecutor (clave en kbase-modes, logs y métricas)
+     * @param kieBaseSupplier supplier de la KieBase actual; se consulta en cada evaluación
+     * @return el ejecutor de reglas
+     */
+    public RuleExecutor create(String name, Supplier<KieBase> kieBaseSupplier) {
+        var session = properties.getSession();
+        var pool = session.getPool();
+        var mode = session.modeFor(name);
+        return switch (mode) {
+            case POOLED -> new StatefulRuleExecutor(new KieSessionPool(name, kieBaseSupplier,
+                pool.effectiveMaxIdle(), pool.getMaxUsesPerSession(), listener), mode, listener);
+            case FRESH -> new StatefulRuleExecutor(new FreshKieSessionProvider(name, kieBaseSupplier, listener), mode, listener);
+            case STATELESS -> new StatelessRuleExecutor(name, kieBaseSupplier, pool.effectiveMaxIdle(), listener);
+        };
+    }
+
+    /**
+     * Crea un ejecutor que evalúa las transacciones con unas Decision Tables compiladas
+     * @param lookup índice compilado de las tablas
+     * @param fallback ejecutor de Drools de las mismas tablas, para lo que el índice no evalúa
+     * @return el ejecutor de reglas, con el nombre del de Drools
+     */
+    public RuleExecutor createLookup(DecisionTableLookup lookup, RuleExecutor fallback) {
+        return new LookupRuleExecutor(fallback.getName(), lookup, fallback, listener);
+    }
+}
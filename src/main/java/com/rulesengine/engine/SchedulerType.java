@@ -0,0 +1,13 @@
+package com.rulesengine.engine;
+
+/**
+ * Tipo de scheduler en el que se ejecutan las evaluaciones de reglas
+ */
+public enum SchedulerType {
+    /** Pool de hilos de tamaño fijo (por defecto uno por core) con cola acotada: adecuado para trabajo CPU-bound */
+    PARALLEL,
+    /** Schedulers.boundedElastic() de Reactor: hasta 10 hilos por core, pensado para I/O bloqueante */
+    BOUNDED_ELASTIC,
+    /** Un hilo virtual por evaluación; requiere Java 21 (si no está disponible se usa PARALLEL) */
+    VIRTUAL
+}
@@ -0,0 +1,13 @@
+package com.rulesengine.engine;
+
+/**
+ * Modo de ejecución de las reglas para una KieBase
+ */
+public enum SessionMode {
+    /** Sesiones stateful reutilizadas desde un pool acotado, reseteadas al devolverse */
+    POOLED,
+    /** Una sesión stateful nueva por evaluación, descartada con dispose() al terminar */
+    FRESH,
+    /** Una StatelessKieSession por KieBase; cada evaluación es una única ejecución de comandos */
+    STATELESS
+}
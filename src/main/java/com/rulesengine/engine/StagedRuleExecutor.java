@@ -0,0 +1,153 @@
+package com.rulesengine.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.AgendaFilter;
+
+import com.rulesengine.model.Transaction;
+
+/**
+ * Ejecuta varias KieBases en etapas (LOW, MEDIUM y HIGH): cada etapa solo recibe las transacciones
+ * que siguen en PENDING tras las anteriores, así que las que resuelven las reglas simples no pagan
+ * el matching de las complejas. Los hechos que no son transacciones pasan a todas las etapas.
+ * <p>
+ * Las reglas ejecutadas se devuelven por etapa, en orden de disparo dentro de cada una. El resultado
+ * puede diferir del de la KieBase con todas las reglas: una regla de una etapa posterior ya no puede
+ * cambiar una transacción que una etapa anterior ha aprobado o rechazado.
+ * <p>
+ * Por cada etapa se notifican las transacciones que salen en ella y el tiempo estimado ahorrado:
+ * la media móvil del tiempo por transacción de las etapas que no han llegado a ejecutar.
+ */
+public class StagedRuleExecutor implements RuleExecutor {
+
+    /** Etapa notificada para las transacciones que siguen en PENDING tras la última */
+    public static final String NO_EXIT = "none";
+
+    // Peso de cada muestra en la media móvil del tiempo por transacción de cada etapa (1/16)
+    private static final int EWMA_SHIFT = 4;
+
+    private final String name;
+    private final List<RuleExecutor> stages;
+    private final RuleExecutor allRules;
+    private final ExecutionListener listener;
+    private final AtomicLongArray nanosPerTransaction;
+
+    /**
+     * @param name nombre del ejecutor
+     * @param stages ejecutores de cada etapa, en orden
+     * @param allRules ejecutor con todas las reglas de las etapas: su KieBase es la que se expone
+     *                 (la huella de la caché de resultados cubre los campos que leen todas las etapas)
+     * @param listener recibe las salidas por etapa
+     */
+    public StagedRuleExecutor(String name, List<RuleExecutor> stages, RuleExecutor allRules, ExecutionListener listener) {
+        this.name = name;
+        this.stages = List.copyOf(stages);
+        this.allRules = allRules;
+        this.listener = listener;
+        this.nanosPerTransaction = new AtomicLongArray(stages.size());
+    }
+
+    @Override
+    public ExecutionResult execute(List<?> facts, AgendaFilter filter) {
+        List<String> firedRules = new ArrayList<>();
+        List<Object> matchedFacts = new ArrayList<>();
+        List<?> pending = facts;
+        var hasTransactions = transactionCount(facts) > 0;
+        for (int i = 0; i < stages.size(); i++) {
+            var transactions = transactionCount(pending);
+            if (hasTransactions && transactions == 0) {
+                // Todas las transacciones han salido: las siguientes etapas no tienen nada que decidir
+                break;
+            }
+            var startTime = System.nanoTime();
+            var result = stages.get(i).execute(pending, filter);
+            var elapsed = System.nanoTime() - startTime;
+            firedRules.addAll(result.firedRules());
+            matchedFacts.addAll(result.matchedFacts());
+
+            pending = stillPending(pending);
+            if (transactions > 0) {
+                updateAverage(i, elapsed / transactions);
+            }
+            var exited = transactions - transactionCount(pending);
+            if (exited > 0) {
+                listener.stageExited(name, stages.get(i).getName(), exited, exited * remainingNanos(i + 1));
+            }
+        }
+        var notExited = transactionCount(pending);
+        if (notExited > 0) {
+            listener.stageExited(name, NO_EXIT, notExited, 0);
+        }
+        return new ExecutionResult(firedRules.size(), firedRules, matchedFacts);
+    }
+
+    @Override
+    public void invalidate() {
+        stages.forEach(RuleExecutor::invalidate);
+        allRules.invalidate();
+    }
+
+    @Override
+    public KieBase getKieBase() {
+        return allRules.getKieBase();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return modo del ejecutor de la primera etapa
+     */
+    @Override
+    public SessionMode getMode() {
+        return stages.get(0).getMode();
+    }
+
+    /**
+     * Tiempo medio por transacción de una etapa
+     * @param stage índice de la etapa
+     * @return media móvil en nanosegundos (0 si la etapa aún no se ha ejecutado)
+     */
+    public long getNanosPerTransaction(int stage) {
+        return nanosPerTransaction.get(stage);
+    }
+
+    private static List<?> stillPending(List<?> facts) {
+        List<Object> pending = new ArrayList<>(facts.size());
+        for (var fact : facts) {
+            if (!(fact instanceof Transaction transaction) || "PENDING".equals(transaction.getStatus())) {
+                pending.add(fact);
+            }
+        }
+        return pending;
+    }
+
+    private static int transactionCount(List<?> facts) {
+        int count = 0;
+        for (var fact : facts) {
+            if (fact instanceof Transaction) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long remainingNanos(int fromStage) {
+        long nanos = 0;
+        for (int i = fromStage; i < stages.size(); i++) {
+            nanos += nanosPerTransaction.get(i);
+        }
+        return nanos;
+    }
+
+    private void updateAverage(int stage, long sample) {
+        // Actualización sin CAS: es una estimación y una muestra perdida entre hilos no importa
+        var current = nanosPerTransaction.get(stage);
+        nanosPerTransaction.set(stage, current == 0 ? sample : current + ((sample - current) >> EWMA_SHIFT));
+    }
+}
@@ -0,0 +1,58 @@
+package com.rulesengine.engine;
+
+import java.util.List;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.AgendaFilter;
+
+/**
+ * Ejecutor que usa una KieSession stateful obtenida de un {@link KieSessionProvider}
+ */
+public class StatefulRuleExecutor implements RuleExecutor {
+
+    private final KieSessionProvider sessionProvider;
+    private final SessionMode mode;
+    private final ExecutionListener listener;
+
+    public StatefulRuleExecutor(KieSessionProvider sessionProvider, SessionMode mode, ExecutionListener listener) {
+        this.sessionProvider = sessionProvider;
+        this.mode = mode;
+        this.listener = listener;
+    }
+
+    @Override
+    public ExecutionResult execute(List<?> facts, AgendaFilter filter) {
+        var startTime = System.nanoTime();
+        var collected = FiredRulesCollector.begin();
+        int rulesFired;
+        try (var lease = sessionProvider.acquire()) {
+            var kieSession = lease.session();
+            facts.forEach(kieSession::insert);
+            rulesFired = filter != null ? kieSession.fireAllRules(filter) : kieSession.fireAllRules();
+        } finally {
+            FiredRulesCollector.end();
+        }
+        listener.executed(getName(), facts.size(), rulesFired, System.nanoTime() - startTime);
+        return collected.toResult(rulesFired);
+    }
+
+    @Override
+    public void invalidate() {
+        sessionProvider.invalidate();
+    }
+
+    @Override
+    public KieBase getKieBase() {
+        return sessionProvider.getKieBase();
+    }
+
+    @Override
+    public String getName() {
+        return sessionProvider.getName();
+    }
+
+    @Override
+    public SessionMode getMode() {
+        return mode;
+    }
+}
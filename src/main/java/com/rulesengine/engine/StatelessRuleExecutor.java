@@ -0,0 +1,140 @@
+package com.rulesengine.engine;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.drools.commands.runtime.rule.FireAllRulesCommand;
+import org.kie.api.KieBase;
+import org.kie.api.command.Command;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.api.runtime.rule.AgendaFilter;
+import org.kie.internal.command.CommandFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ejecutor basado en una única StatelessKieSession por KieBase.
+ * La sesión se crea desde un {@code KieSessionsPool} de Drools, de modo que cada ejecución
+ * reutiliza internamente una sesión stateful del pool en lugar de crearla y descartarla.
+ * Cada evaluación (uno o varios hechos) se envía como un único BatchExecutionCommand.
+ * Al cambiar la KieBase (recarga de reglas) o al invalidar el ejecutor, el pool de la KieBase
+ * anterior se cierra con {@code shutdown()}; los hilos que aún retienen una KieBase sustituida
+ * ({@link VersionedKieContainer}) evalúan con una sesión stateless sin pool.
+ */
+public class StatelessRuleExecutor implements RuleExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatelessRuleExecutor.class);
+    private static final String RULES_FIRED = "rulesFired";
+
+    private final String name;
+    private final Supplier<KieBase> kieBaseSupplier;
+    private final int poolSize;
+    private final ExecutionListener listener;
+
+    private volatile Binding binding;
+    // KieBases sustituidas por una más reciente; referencias débiles para no retener su memoria
+    private final Set<KieBase> retiredKieBases = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public StatelessRuleExecutor(String name, Supplier<KieBase> kieBaseSupplier, int poolSize) {
+        this(name, kieBaseSupplier, poolSize, ExecutionListener.NONE);
+    }
+
+    public StatelessRuleExecutor(String name, Supplier<KieBase> kieBaseSupplier, int poolSize, ExecutionListener listener) {
+        this.name = name;
+        this.kieBaseSupplier = kieBaseSupplier;
+        this.poolSize = poolSize;
+        this.listener = listener;
+    }
+
+    @Override
+    public ExecutionResult execute(List<?> facts, AgendaFilter filter) {
+        var startTime = System.nanoTime();
+        List<Command<?>> commands = List.of(
+            CommandFactory.newInsertElements(facts),
+            new FireAllRulesCommand(RULES_FIRED, -1, filter));
+        var collected = FiredRulesCollector.begin();
+        int rulesFired;
+        try {
+            var results = resolveSession().execute(CommandFactory.newBatchExecution(commands));
+            rulesFired = (Integer) results.getValue(RULES_FIRED);
+        } finally {
+            FiredRulesCollector.end();
+        }
+        listener.executed(name, facts.size(), rulesFired, System.nanoTime() - startTime);
+        return collected.toResult(rulesFired);
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        var previous = binding;
+        binding = null;
+        if (previous != null) {
+            previous.shutdown(name);
+        }
+    }
+
+    @Override
+    public KieBase getKieBase() {
+        return kieBaseSupplier.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SessionMode getMode() {
+        return SessionMode.STATELESS;
+    }
+
+    /**
+     * Obtiene la StatelessKieSession de la KieBase actual, recreándola si la KieBase ha cambiado
+     * @return la sesión stateless
+     */
+    private StatelessKieSession resolveSession() {
+        var kieBase = kieBaseSupplier.get();
+        if (kieBase == null) {
+            throw new IllegalStateException("No KieBase available for rule executor " + name);
+        }
+        var current = binding;
+        if (current != null && current.kieBase() == kieBase) {
+            return current.session();
+        }
+        synchronized (this) {
+            current = binding;
+            if (current != null && current.kieBase() == kieBase) {
+                return current.session();
+            }
+            if (retiredKieBases.contains(kieBase)) {
+                // KieBase en drenaje: no vuelve a ser la actual ni reabre su pool
+                return KieSessions.newStatelessKieSession(name, kieBase, null, listener);
+            }
+            log.info("Creating stateless session for rule executor {}", name);
+            var pool = kieBase.newKieSessionsPool(poolSize);
+            var next = new Binding(kieBase, pool, KieSessions.newStatelessKieSession(name, kieBase, pool, listener));
+            binding = next;
+            if (current != null) {
+                retiredKieBases.add(current.kieBase());
+                current.shutdown(name);
+            }
+            return next.session();
+        }
+    }
+
+    private record Binding(KieBase kieBase, KieSessionsPool pool, StatelessKieSession session) {
+
+        // Las sesiones en uso se descartan al terminar su ejecución en lugar de volver al pool
+        void shutdown(String name) {
+            try {
+                pool.shutdown();
+            } catch (RuntimeException e) {
+                log.warn("Error shutting down session pool of rule executor {}", name, e);
+            }
+        }
+    }
+}
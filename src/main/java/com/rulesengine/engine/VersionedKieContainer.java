@@ -0,0 +1,191 @@
+package com.rulesengine.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * KieContainer versionado que se puede sustituir sin bloquear las evaluaciones.
+ * <ul>
+ *   <li>{@link #acquire()} retiene la versión actual con un CAS sobre su contador de referencias,
+ *       sin locks; las evaluaciones que empiezan después de {@link #publish(KieContainer)} ya ven
+ *       la nueva versión.</li>
+ *   <li>La versión anterior se retira al publicar la nueva y su KieContainer se descarta con
+ *       {@code dispose()} cuando termina la última evaluación que la retenía.</li>
+ *   <li>Mientras un hilo retiene una versión, {@link #getKieBase()} devuelve en ese hilo la KieBase
+ *       de esa versión, de forma que el ejecutor de reglas evalúa con la versión retenida.</li>
+ * </ul>
+ */
+public final class VersionedKieContainer {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionedKieContainer.class);
+
+    private final String name;
+    private final AtomicReference<Version> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicInteger draining = new AtomicInteger();
+    private final ThreadLocal<Version> pinned = new ThreadLocal<>();
+
+    public VersionedKieContainer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retiene la versión actual hasta que se llame a {@link Version#close()} desde el mismo hilo
+     * @return la versión retenida o null si no se ha publicado ninguna
+     */
+    public Version acquire() {
+        while (true) {
+            var version = current.get();
+            if (version == null) {
+                return null;
+            }
+            if (version.tryRetain()) {
+                pinned.set(version);
+                return version;
+            }
+            // Se retiró y drenó entre la lectura y el retain: la nueva versión ya está publicada
+        }
+    }
+
+    /**
+     * Publica un nuevo KieContainer; la versión anterior se descarta cuando termina de drenar
+     * @param container contenedor con la KieBase por defecto ya construida
+     * @return la versión publicada
+     */
+    public Version publish(KieContainer container) {
+        var version = new Version(versions.incrementAndGet(), container);
+        var previous = current.getAndSet(version);
+        if (previous != null) {
+            draining.incrementAndGet();
+            previous.retired = true;
+            previous.release();
+        }
+        log.info("Published KieContainer version {} for {}", version.number, name);
+        return version;
+    }
+
+    /**
+     * Retira la versión actual sin publicar otra; se descarta cuando termina de drenar
+     */
+    public void clear() {
+        var previous = current.getAndSet(null);
+        if (previous != null) {
+            draining.incrementAndGet();
+            previous.retired = true;
+            previous.release();
+            log.info("Retired KieContainer version {} for {}", previous.number, name);
+        }
+    }
+
+    /**
+     * @return la versión actual sin retenerla (solo para consultas fuera de la evaluación)
+     */
+    public Version current() {
+        return current.get();
+    }
+
+    /**
+     * @return la KieBase de la versión retenida por este hilo o, si no retiene ninguna, la actual
+     */
+    public KieBase getKieBase() {
+        var version = pinned.get();
+        if (version == null) {
+            version = current.get();
+        }
+        return version != null ? version.kieBase : null;
+    }
+
+    /**
+     * @return número de la versión actual (0 si no hay ninguna)
+     */
+    public long getVersion() {
+        var version = current.get();
+        return version != null ? version.number : 0;
+    }
+
+    /**
+     * @return versiones retiradas que aún tienen evaluaciones en curso
+     */
+    public int getDrainingCount() {
+        return draining.get();
+    }
+
+    /**
+     * Versión publicada de un KieContainer. Cada {@link VersionedKieContainer#acquire()} debe
+     * cerrarse exactamente una vez (try-with-resources).
+     */
+    public final class Version implements AutoCloseable {
+
+        private final long number;
+        private final KieContainer container;
+        private final KieBase kieBase;
+        // La referencia inicial es la de VersionedKieContainer mientras la versión es la actual
+        private final AtomicInteger references = new AtomicInteger(1);
+        private volatile boolean retired;
+        private volatile boolean disposed;
+
+        private Version(long number, KieContainer container) {
+            this.number = number;
+            this.container = container;
+            this.kieBase = container.getKieBase();
+        }
+
+        public long number() {
+            return number;
+        }
+
+        public KieContainer container() {
+            return container;
+        }
+
+        public KieBase kieBase() {
+            return kieBase;
+        }
+
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public void close() {
+            pinned.remove();
+            release();
+        }
+
+        private boolean tryRetain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                dispose();
+            }
+        }
+
+        private void dispose() {
+            disposed = true;
+            if (retired) {
+                draining.decrementAndGet();
+            }
+            try {
+                container.dispose();
+                log.info("Disposed drained KieContainer version {} for {}", number, name);
+            } catch (RuntimeException e) {
+                log.warn("Error disposing KieContainer version {} for {}", number, name, e);
+            }
+        }
+    }
+}
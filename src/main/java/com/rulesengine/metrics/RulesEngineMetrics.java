@@ -0,0 +1,210 @@
+package com.rulesengine.metrics;
+
+import com.rulesengine.engine.ExecutionListener;
+import com.rulesengine.engine.KieSessionPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.kie.api.event.KieRuntimeEventManager;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas Micrometer del motor de reglas, expuestas en /actuator/prometheus:
+ * <ul>
+ *   <li>{@code rules.evaluation}: tiempo de evaluación por motor y nivel de complejidad</li>
+ *   <li>{@code rules.execution}: tiempo de ejecución de reglas por ejecutor</li>
+ *   <li>{@code rules.batch.size}: hechos insertados por ejecución</li>
+ *   <li>{@code rules.fired}: reglas disparadas por nombre de regla</li>
+ *   <li>{@code rules.session.create} / {@code rules.session.dispose}: ciclo de vida de sesiones</li>
+ *   <li>{@code rules.session.pool.*}: estado de los pools de sesiones</li>
+ *   <li>{@code rules.staged.exit} / {@code rules.staged.saved}: transacciones que salen en cada etapa
+ *       de la evaluación por etapas y tiempo estimado ahorrado</li>
+ * </ul>
+ */
+@Component
+public class RulesEngineMetrics implements ExecutionListener {
+
+    public static final String ENGINE_RULES = "rules";
+    public static final String ENGINE_DECISION_TABLES = "decision-tables";
+    public static final String ENGINE_DYNAMIC_RULES = "dynamic-rules";
+    public static final String ENGINE_COMPOSITE = "composite";
+
+    private final MeterRegistry registry;
+
+    // Cachés de medidores para no resolverlos en el registro en cada petición
+    private final Map<String, Timer> evaluationTimers = new ConcurrentHashMap<>();
+    private final Map<String, ExecutorMeters> executorMeters = new ConcurrentHashMap<>();
+    private final Map<String, StageExitMeters> stageExitMeters = new ConcurrentHashMap<>();
+
+    public RulesEngineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registra el tiempo de una evaluación completa
+     * @param engine motor (rules, decision-tables, dynamic-rules)
+     * @param complexity nivel de complejidad; debe ser un valor acotado
+     * @param durationNanos tiempo transcurrido
+     */
+    public void recordEvaluation(String engine, String complexity, long durationNanos) {
+        evaluationTimers.computeIfAbsent(engine + '|' + complexity, key -> Timer.builder("rules.evaluation")
+                .description("Tiempo de evaluación de una transacción")
+                .tag("engine", engine)
+                .tag("complexity", complexity)
+                .register(registry))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void sessionCreated(String executor, KieRuntimeEventManager session, long durationNanos) {
+        var meters = meters(executor);
+        meters.sessionCreate.record(durationNanos, TimeUnit.NANOSECONDS);
+        session.addEventListener(meters.ruleFiredListener);
+    }
+
+    @Override
+    public void sessionDisposed(String executor, long durationNanos) {
+        meters(executor).sessionDispose.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void poolCreated(KieSessionPool pool) {
+        Gauge.builder("rules.session.pool.idle", pool, KieSessionPool::getIdleCount)
+            .description("Sesiones ociosas en el pool")
+            .tag("executor", pool.getName())
+            .register(registry);
+        FunctionCounter.builder("rules.session.pool.created", pool, KieSessionPool::getCreatedCount)
+            .tag("executor", pool.getName())
+            .register(registry);
+        FunctionCounter.builder("rules.session.pool.reused", pool, KieSessionPool::getReusedCount)
+            .tag("executor", pool.getName())
+            .register(registry);
+        FunctionCounter.builder("rules.session.pool.evicted", pool, KieSessionPool::getEvictedCount)
+            .tag("executor", pool.getName())
+            .register(registry);
+    }
+
+    @Override
+    public void executed(String executor, int factCount, int rulesFired, long durationNanos) {
+        var meters = meters(executor);
+        meters.execution.record(durationNanos, TimeUnit.NANOSECONDS);
+        meters.batchSize.record(factCount);
+    }
+
+    @Override
+    public void stageExited(String executor, String stage, int transactions, long savedNanos) {
+        var meters = stageExitMeters.computeIfAbsent(executor + '|' + stage,
+            key -> new StageExitMeters(registry, executor, stage));
+        meters.exits.increment(transactions);
+        meters.saved.increment((double) savedNanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private ExecutorMeters meters(String executor) {
+        return executorMeters.computeIfAbsent(executor, name -> new ExecutorMeters(registry, name));
+    }
+
+    /**
+     * Medidores asociados a un ejecutor de reglas
+     */
+    private static final class ExecutorMeters {
+
+        private final Timer execution;
+        private final Timer sessionCreate;
+        private final Timer sessionDispose;
+        private final DistributionSummary batchSize;
+        private final RuleFiredCounter ruleFiredListener;
+
+        private ExecutorMeters(MeterRegistry registry, String executor) {
+            this.execution = Timer.builder("rules.execution")
+                .description("Tiempo de inserción y disparo de reglas")
+                .tag("executor", executor)
+                .register(registry);
+            this.sessionCreate = Timer.builder("rules.session.create")
+                .tag("executor", executor)
+                .register(registry);
+            this.sessionDispose = Timer.builder("rules.session.dispose")
+                .tag("executor", executor)
+                .register(registry);
+            this.batchSize = DistributionSummary.builder("rules.batch.size")
+                .description("Hechos insertados por ejecución")
+                .tag("executor", executor)
+                .register(registry);
+            this.ruleFiredListener = new RuleFiredCounter(registry, executor);
+        }
+    }
+
+    /**
+     * Medidores de las salidas en una etapa de la evaluación por etapas
+     */
+    private static final class StageExitMeters {
+
+        private final Counter exits;
+        private final Counter saved;
+
+        private StageExitMeters(MeterRegistry registry, String executor, String stage) {
+            this.exits = Counter.builder("rules.staged.exit")
+                .description("Transacciones que dejan de estar en PENDING en cada etapa")
+                .tag("executor", executor)
+                .tag("stage", stage)
+                .register(registry);
+            this.saved = Counter.builder("rules.staged.saved")
+                .description("Tiempo estimado de las etapas que no se ejecutan")
+                .baseUnit("seconds")
+                .tag("executor", executor)
+                .tag("stage", stage)
+                .register(registry);
+        }
+    }
+
+    /**
+     * AgendaEventListener que cuenta los disparos de cada regla. Las reglas de los ejecutores de
+     * reglas dinámicas las suben los usuarios: como mucho {@link #MAX_DYNAMIC_RULE_TAGS} reglas tienen
+     * su propio contador y el resto se agrega en {@code package=other, rule=other}
+     */
+    private static final class RuleFiredCounter extends DefaultAgendaEventListener {
+
+        private static final int MAX_DYNAMIC_RULE_TAGS = 100;
+        private static final String OTHER = "other";
+
+        private final MeterRegistry registry;
+        private final String executor;
+        private final int maxRuleTags;
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+        private RuleFiredCounter(MeterRegistry registry, String executor) {
+            this.registry = registry;
+            this.executor = executor;
+            this.maxRuleTags = executor.startsWith(ENGINE_DYNAMIC_RULES) ? MAX_DYNAMIC_RULE_TAGS : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            var rule = event.getMatch().getRule();
+            var counter = counters.get(rule.getPackageName() + '.' + rule.getName());
+            if (counter == null) {
+                counter = counters.size() < maxRuleTags
+                    ? counter(rule.getPackageName() + '.' + rule.getName(), rule.getPackageName(), rule.getName())
+                    : counter(OTHER, OTHER, OTHER);
+            }
+            counter.increment();
+        }
+
+        private Counter counter(String key, String packageName, String ruleName) {
+            return counters.computeIfAbsent(key, k -> Counter.builder("rules.fired")
+                .description("Disparos de cada regla")
+                .tag("executor", executor)
+                .tag("package", packageName)
+                .tag("rule", ruleName)
+                .register(registry));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rulesengine.model;
+
+/**
+ * Nivel de cuenta de {@link PrimitiveTransaction}: las reglas lo comparan por identidad
+ */
+public enum AccountTier {
+    BRONZE,
+    SILVER,
+    GOLD,
+    PLATINUM
+}
@@ -0,0 +1,20 @@
+package com.rulesengine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de la evaluación compuesta: el resultado global (estado más restrictivo, riesgo acumulado,
+ * reglas y motivos de todas las etapas) y el desglose por etapa
+ */
+public class CompositeResult extends RuleResult {
+    private List<StageResult> stages = new ArrayList<>();
+
+    public List<StageResult> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<StageResult> stages) {
+        this.stages = stages;
+    }
+}
@@ -0,0 +1,281 @@
+package com.rulesengine.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Transacción con campos primitivos para las reglas de {@code rules/primitive}: importes en céntimos
+ * ({@code long}), contadores {@code int}, {@code isVIP} {@code boolean} y nivel de cuenta como enum.
+ * País, divisa, tipo y estado son cadenas canónicas: los valores conocidos se leen del JSON sin crear
+ * un String nuevo.
+ * <p>
+ * A diferencia de {@link Transaction}, un campo numérico ausente vale 0 (o {@code false}) en lugar de
+ * null; solo {@code riskScore} distingue "sin asignar" ({@link #isRiskScoreSet()}).
+ */
+@JsonDeserialize(using = PrimitiveTransactionDeserializer.class)
+@JsonSerialize(using = PrimitiveTransactionSerializer.class)
+public class PrimitiveTransaction {
+
+    /** Escala de los importes: 2 decimales */
+    public static final int MONEY_SCALE = 2;
+
+    private String id;
+    private String userId;
+    private long amountMinor;
+    private String currency;
+    private String transactionType; // PURCHASE, WITHDRAWAL, TRANSFER, etc.
+    private LocalDateTime timestamp;
+    private String merchantId;
+    private String country;
+    private int riskScore;
+    private boolean riskScoreSet;
+    private String status; // PENDING, APPROVED, REJECTED
+    private String rejectionReason;
+
+    // Campos para reglas complejas
+    private int userAge;
+    private int accountAgeDays;
+    private long monthlyTransactionVolumeMinor;
+    private int failedTransactionsLastMonth;
+    private boolean vip;
+    private AccountTier accountTier;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * @return importe en céntimos
+     */
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public void setMerchantId(String merchantId) {
+        this.merchantId = merchantId;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    /**
+     * @return puntuación de riesgo, 0 si no se ha asignado
+     */
+    public int getRiskScore() {
+        return riskScore;
+    }
+
+    public void setRiskScore(int riskScore) {
+        this.riskScore = riskScore;
+        this.riskScoreSet = true;
+    }
+
+    public boolean isRiskScoreSet() {
+        return riskScoreSet;
+    }
+
+    /**
+     * Deja la puntuación de riesgo sin asignar (equivale a null en {@link Transaction})
+     */
+    public void clearRiskScore() {
+        this.riskScore = 0;
+        this.riskScoreSet = false;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public void setRejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+
+    public int getUserAge() {
+        return userAge;
+    }
+
+    public void setUserAge(int userAge) {
+        this.userAge = userAge;
+    }
+
+    public int getAccountAgeDays() {
+        return accountAgeDays;
+    }
+
+    public void setAccountAgeDays(int accountAgeDays) {
+        this.accountAgeDays = accountAgeDays;
+    }
+
+    /**
+     * @return volumen mensual en céntimos
+     */
+    public long getMonthlyTransactionVolumeMinor() {
+        return monthlyTransactionVolumeMinor;
+    }
+
+    public void setMonthlyTransactionVolumeMinor(long monthlyTransactionVolumeMinor) {
+        this.monthlyTransactionVolumeMinor = monthlyTransactionVolumeMinor;
+    }
+
+    public int getFailedTransactionsLastMonth() {
+        return failedTransactionsLastMonth;
+    }
+
+    public void setFailedTransactionsLastMonth(int failedTransactionsLastMonth) {
+        this.failedTransactionsLastMonth = failedTransactionsLastMonth;
+    }
+
+    public boolean isVip() {
+        return vip;
+    }
+
+    public void setVip(boolean vip) {
+        this.vip = vip;
+    }
+
+    public AccountTier getAccountTier() {
+        return accountTier;
+    }
+
+    public void setAccountTier(AccountTier accountTier) {
+        this.accountTier = accountTier;
+    }
+
+    /**
+     * Copia superficial de la transacción (todos los campos son inmutables)
+     * @return una transacción nueva con los mismos valores
+     */
+    public PrimitiveTransaction copy() {
+        PrimitiveTransaction copy = new PrimitiveTransaction();
+        copy.id = id;
+        copy.userId = userId;
+        copy.amountMinor = amountMinor;
+        copy.currency = currency;
+        copy.transactionType = transactionType;
+        copy.timestamp = timestamp;
+        copy.merchantId = merchantId;
+        copy.country = country;
+        copy.riskScore = riskScore;
+        copy.riskScoreSet = riskScoreSet;
+        copy.status = status;
+        copy.rejectionReason = rejectionReason;
+        copy.userAge = userAge;
+        copy.accountAgeDays = accountAgeDays;
+        copy.monthlyTransactionVolumeMinor = monthlyTransactionVolumeMinor;
+        copy.failedTransactionsLastMonth = failedTransactionsLastMonth;
+        copy.vip = vip;
+        copy.accountTier = accountTier;
+        return copy;
+    }
+
+    /**
+     * Convierte una {@link Transaction}: los campos null pasan a 0 (o {@code false})
+     * @param transaction transacción con campos boxed
+     * @return la transacción equivalente
+     * @throws ArithmeticException si un importe tiene más de 2 decimales
+     */
+    public static PrimitiveTransaction of(Transaction transaction) {
+        PrimitiveTransaction primitive = new PrimitiveTransaction();
+        primitive.id = transaction.getId();
+        primitive.userId = transaction.getUserId();
+        primitive.amountMinor = toMinor(transaction.getAmount());
+        primitive.currency = transaction.getCurrency();
+        primitive.transactionType = transaction.getTransactionType();
+        primitive.timestamp = transaction.getTimestamp();
+        primitive.merchantId = transaction.getMerchantId();
+        primitive.country = transaction.getCountry();
+        if (transaction.getRiskScore() != null) {
+            primitive.setRiskScore(transaction.getRiskScore());
+        }
+        primitive.status = transaction.getStatus();
+        primitive.rejectionReason = transaction.getRejectionReason();
+        primitive.userAge = valueOrZero(transaction.getUserAge());
+        primitive.accountAgeDays = valueOrZero(transaction.getAccountAgeDays());
+        primitive.monthlyTransactionVolumeMinor = toMinor(transaction.getMonthlyTransactionVolume());
+        primitive.failedTransactionsLastMonth = valueOrZero(transaction.getFailedTransactionsLastMonth());
+        primitive.vip = Boolean.TRUE.equals(transaction.getIsVIP());
+        primitive.accountTier = transaction.getAccountTier() != null ? AccountTier.valueOf(transaction.getAccountTier()) : null;
+        return primitive;
+    }
+
+    /**
+     * @param amount importe decimal
+     * @return el importe en céntimos, 0 si es null
+     * @throws ArithmeticException si tiene más de 2 decimales o no cabe en un long
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(MONEY_SCALE).longValueExact() : 0L;
+    }
+
+    /**
+     * @param amountMinor importe en céntimos
+     * @return el importe decimal con 2 decimales
+     */
+    public static BigDecimal fromMinor(long amountMinor) {
+        return BigDecimal.valueOf(amountMinor, MONEY_SCALE);
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
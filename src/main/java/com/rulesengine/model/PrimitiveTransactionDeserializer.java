@@ -0,0 +1,188 @@
+package com.rulesengine.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Lee una {@link PrimitiveTransaction} directamente de los tokens JSON, con los mismos nombres de campo
+ * que {@link Transaction}: los importes se convierten a céntimos desde el texto del número (sin
+ * {@link BigDecimal} salvo exponentes o más de 2 decimales) y las cadenas conocidas se resuelven a su
+ * instancia canónica desde el buffer del parser, sin crear un String
+ */
+public class PrimitiveTransactionDeserializer extends StdDeserializer<PrimitiveTransaction> {
+
+    // Valores conocidos de currency, transactionType, country y status
+    private static final String[] SYMBOLS = {
+        "USD", "EUR", "PURCHASE", "WITHDRAWAL", "TRANSFER", "USA",
+        "HIGH_RISK_COUNTRY_1", "HIGH_RISK_COUNTRY_2", "HIGH_RISK_COUNTRY_3",
+        "PENDING", "APPROVED", "REJECTED", "PENDING_REVIEW"
+    };
+    private static final AccountTier[] TIERS = AccountTier.values();
+
+    private static final long INVALID = Long.MIN_VALUE;
+    // Como mucho 16 dígitos enteros: el importe en céntimos cabe en un long
+    private static final int MAX_INTEGER_DIGITS = 16;
+    private static final long MINOR_UNITS = 100;
+    private static final long MAX_UNITS = Long.MAX_VALUE / MINOR_UNITS;
+
+    public PrimitiveTransactionDeserializer() {
+        super(PrimitiveTransaction.class);
+    }
+
+    @Override
+    public PrimitiveTransaction deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        var token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (PrimitiveTransaction) context.handleUnexpectedToken(PrimitiveTransaction.class, parser);
+        }
+
+        var transaction = new PrimitiveTransaction();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            var field = parser.currentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> transaction.setId(_parseString(parser, context));
+                case "userId" -> transaction.setUserId(_parseString(parser, context));
+                case "amount" -> transaction.setAmountMinor(parseMinorUnits(parser, context));
+                case "currency" -> transaction.setCurrency(parseSymbol(parser, context));
+                case "transactionType" -> transaction.setTransactionType(parseSymbol(parser, context));
+                case "timestamp" -> transaction.setTimestamp(context.readValue(parser, LocalDateTime.class));
+                case "merchantId" -> transaction.setMerchantId(_parseString(parser, context));
+                case "country" -> transaction.setCountry(parseSymbol(parser, context));
+                case "riskScore" -> transaction.setRiskScore(_parseIntPrimitive(parser, context));
+                case "status" -> transaction.setStatus(parseSymbol(parser, context));
+                case "rejectionReason" -> transaction.setRejectionReason(_parseString(parser, context));
+                case "userAge" -> transaction.setUserAge(_parseIntPrimitive(parser, context));
+                case "accountAgeDays" -> transaction.setAccountAgeDays(_parseIntPrimitive(parser, context));
+                case "monthlyTransactionVolume" -> transaction.setMonthlyTransactionVolumeMinor(parseMinorUnits(parser, context));
+                case "failedTransactionsLastMonth" -> transaction.setFailedTransactionsLastMonth(_parseIntPrimitive(parser, context));
+                case "isVIP" -> transaction.setVip(_parseBooleanPrimitive(parser, context));
+                case "accountTier" -> transaction.setAccountTier(parseTier(parser, context));
+                default -> handleUnknownProperty(parser, context, transaction, field);
+            }
+        }
+        return transaction;
+    }
+
+    private long parseMinorUnits(JsonParser parser, DeserializationContext context) throws IOException {
+        var token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            var units = parser.getLongValue();
+            if (units > -MAX_UNITS && units < MAX_UNITS) {
+                return units * MINOR_UNITS;
+            }
+        } else if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING) {
+            var minorUnits = parseMinorUnits(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (minorUnits != INVALID) {
+                return minorUnits;
+            }
+        } else if (token != JsonToken.VALUE_NUMBER_INT) {
+            return (Long) context.handleUnexpectedToken(Long.TYPE, parser);
+        }
+
+        // Exponentes, más de 2 decimales (válido si son ceros) o números muy grandes
+        try {
+            return PrimitiveTransaction.toMinor(token == JsonToken.VALUE_STRING
+                ? new BigDecimal(parser.getText().trim()) : parser.getDecimalValue());
+        } catch (ArithmeticException | NumberFormatException e) {
+            return context.reportInputMismatch(this, "Invalid amount '%s': expected a number with at most %d decimals",
+                parser.getText(), PrimitiveTransaction.MONEY_SCALE);
+        }
+    }
+
+    /**
+     * Convierte a céntimos un número decimal sin exponente, con como mucho 2 decimales
+     * @return el importe en céntimos o {@link #INVALID} si el texto no tiene esa forma
+     */
+    static long parseMinorUnits(char[] buffer, int offset, int length) {
+        var end = offset + length;
+        var i = offset;
+        var negative = i < end && buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long units = 0;
+        var integerDigits = 0;
+        for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+            units = units * 10 + (buffer[i] - '0');
+            integerDigits++;
+        }
+        if (integerDigits == 0 || integerDigits > MAX_INTEGER_DIGITS) {
+            return INVALID;
+        }
+        long fraction = 0;
+        var fractionDigits = 0;
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                if (++fractionDigits > PrimitiveTransaction.MONEY_SCALE) {
+                    return INVALID;
+                }
+                fraction = fraction * 10 + (buffer[i] - '0');
+            }
+            if (fractionDigits == 0) {
+                return INVALID;
+            }
+        }
+        if (i != end) {
+            return INVALID;
+        }
+        for (; fractionDigits < PrimitiveTransaction.MONEY_SCALE; fractionDigits++) {
+            fraction *= 10;
+        }
+        var minorUnits = units * MINOR_UNITS + fraction;
+        return negative ? -minorUnits : minorUnits;
+    }
+
+    private String parseSymbol(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return _parseString(parser, context);
+        }
+        var buffer = parser.getTextCharacters();
+        var offset = parser.getTextOffset();
+        var length = parser.getTextLength();
+        for (var symbol : SYMBOLS) {
+            if (matches(symbol, buffer, offset, length)) {
+                return symbol;
+            }
+        }
+        return new String(buffer, offset, length);
+    }
+
+    private AccountTier parseTier(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            var buffer = parser.getTextCharacters();
+            var offset = parser.getTextOffset();
+            var length = parser.getTextLength();
+            for (var tier : TIERS) {
+                if (matches(tier.name(), buffer, offset, length)) {
+                    return tier;
+                }
+            }
+        }
+        return (AccountTier) context.handleWeirdStringValue(AccountTier.class, parser.getText(),
+            "not one of the account tiers %s", Arrays.toString(TIERS));
+    }
+
+    private static boolean matches(String symbol, char[] buffer, int offset, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.rulesengine.model;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Escribe una {@link PrimitiveTransaction} con el mismo JSON que {@link Transaction}: importes decimales
+ * con 2 decimales, {@code riskScore} null si no está asignado e {@code isVIP}
+ */
+public class PrimitiveTransactionSerializer extends StdSerializer<PrimitiveTransaction> {
+
+    public PrimitiveTransactionSerializer() {
+        super(PrimitiveTransaction.class);
+    }
+
+    @Override
+    public void serialize(PrimitiveTransaction transaction, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(transaction);
+        generator.writeStringField("id", transaction.getId());
+        generator.writeStringField("userId", transaction.getUserId());
+        generator.writeNumberField("amount", PrimitiveTransaction.fromMinor(transaction.getAmountMinor()));
+        generator.writeStringField("currency", transaction.getCurrency());
+        generator.writeStringField("transactionType", transaction.getTransactionType());
+        provider.defaultSerializeField("timestamp", transaction.getTimestamp(), generator);
+        generator.writeStringField("merchantId", transaction.getMerchantId());
+        generator.writeStringField("country", transaction.getCountry());
+        if (transaction.isRiskScoreSet()) {
+            generator.writeNumberField("riskScore", transaction.getRiskScore());
+        } else {
+            generator.writeNullField("riskScore");
+        }
+        generator.writeStringField("status", transaction.getStatus());
+        generator.writeStringField("rejectionReason", transaction.getRejectionReason());
+        generator.writeNumberField("userAge", transaction.getUserAge());
+        generator.writeNumberField("accountAgeDays", transaction.getAccountAgeDays());
+        generator.writeNumberField("monthlyTransactionVolume",
+            PrimitiveTransaction.fromMinor(transaction.getMonthlyTransactionVolumeMinor()));
+        generator.writeNumberField("failedTransactionsLastMonth", transaction.getFailedTransactionsLastMonth());
+        generator.writeBooleanField("isVIP", transaction.isVip());
+        generator.writeStringField("accountTier", transaction.getAccountTier() != null ? transaction.getAccountTier().name() : null);
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,64 @@
+package com.rulesengine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una etapa de la evaluación compuesta
+ */
+public class StageResult {
+    private String stage; // rules, decision-tables, dynamic-rules
+    private boolean skipped;
+    private String status;
+    private Integer riskScore; // riesgo acumulado al terminar la etapa
+    private List<String> appliedRules = new ArrayList<>();
+    private long processingTimeMicros;
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(boolean skipped) {
+        this.skipped = skipped;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getRiskScore() {
+        return riskScore;
+    }
+
+    public void setRiskScore(Integer riskScore) {
+        this.riskScore = riskScore;
+    }
+
+    public List<String> getAppliedRules() {
+        return appliedRules;
+    }
+
+    public void setAppliedRules(List<String> appliedRules) {
+        this.appliedRules = appliedRules;
+    }
+
+    public long getProcessingTimeMicros() {
+        return processingTimeMicros;
+    }
+
+    public void setProcessingTimeMicros(long processingTimeMicros) {
+        this.processingTimeMicros = processingTimeMicros;
+    }
+}
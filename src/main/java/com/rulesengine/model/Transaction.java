@@ -161,6 +161,29 @@ public class Transaction {
         this.accountTier = accountTier;
     }
 
-
+    /**
+     * Copia superficial de la transacción (todos los campos son inmutables)
+     * @return una transacción nueva con los mismos valores
+     */
+    public Transaction copy() {
+        Transaction copy = new Transaction();
+        copy.id = id;
+        copy.userId = userId;
+        copy.amount = amount;
+        copy.currency = currency;
+        copy.transactionType = transactionType;
+        copy.timestamp = timestamp;
+        copy.merchantId = merchantId;
+        copy.country = country;
+        copy.riskScore = riskScore;
+        copy.status = status;
+        copy.rejectionReason = rejectionReason;
+        copy.userAge = userAge;
+        copy.accountAgeDays = accountAgeDays;
+        copy.monthlyTransactionVolume = monthlyTransactionVolume;
+        copy.failedTransactionsLastMonth = failedTransactionsLastMonth;
+        copy.isVIP = isVIP;
+        copy.accountTier = accountTier;
+        return copy;
+    }
 }
-
@@ -0,0 +1,34 @@
+package com.rulesengine.service;
+
+import java.util.List;
+
+import com.rulesengine.engine.EvaluationStage;
+import com.rulesengine.model.CompositeResult;
+import com.rulesengine.model.Transaction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio para evaluar una transacción con varios conjuntos de reglas en una sola petición
+ * @see com.rulesengine.model.CompositeResult
+ * @see com.rulesengine.engine.EvaluationStage
+ */
+public interface CompositeEvaluationService {
+
+    /**
+     * Evalúa la transacción con cada etapa, en orden, en una única tarea del scheduler de evaluación.
+     * Cada etapa parte de PENDING con el riesgo acumulado por las anteriores; el estado final es el más
+     * restrictivo de las etapas (REJECTED, PENDING_REVIEW, PENDING, APPROVED)
+     * @param transaction la transacción a evaluar
+     * @param stages etapas en orden de ejecución
+     * @param complexityLevel nivel de complejidad de la etapa RULES
+     * @return Mono con el resultado global y el desglose por etapa
+     */
+    Mono<CompositeResult> evaluate(Transaction transaction, List<EvaluationStage> stages, String complexityLevel);
+
+    /**
+     * Obtiene las etapas por defecto ({@code rules-engine.composite.stages})
+     * @return etapas en orden de ejecución
+     */
+    List<EvaluationStage> getDefaultStages();
+}
@@ -1,9 +1,13 @@
 package com.rulesengine.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.kie.api.runtime.KieContainer;
 
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.VersionedKieContainer;
+
 
 /**
  * Servicio para gestionar reglas dinámicas
@@ -20,13 +24,14 @@ public interface DynamicRulesService {
     void initialize();
 
     /**
-     * Carga y compila reglas dinámicas desde el directorio dynamic-rules
-     * @return true si la compilación fue exitosa
+     * Carga y compila reglas dinámicas desde el directorio dynamic-rules; los archivos con errores
+     * se omiten y se publican los demás
+     * @return true si se cargaron todos los archivos
      */
     boolean loadDynamicRules();
 
     /**
-     * Sube un archivo de reglas y lo compila
+     * Sube un archivo de reglas y lo compila; solo se escribe en el directorio si compila
      * @param fileContent contenido del archivo
      * @param fileName nombre del archivo
      * @return true si fue exitoso
@@ -40,6 +45,52 @@ public interface DynamicRulesService {
      */
     boolean deleteRule(String fileName);
     
+    /**
+     * Aplica los archivos creados, modificados o borrados directamente en el directorio de reglas.
+     * Si algún archivo tiene errores se mantienen las reglas actuales para ese archivo.
+     * @param relativePaths archivos cambiados, relativos al directorio de reglas dinámicas
+     * @return true si se aplicaron todos los cambios
+     */
+    boolean applyFileChanges(Collection<String> relativePaths);
+
+    /**
+     * Compila las reglas actuales más un archivo como candidata para evaluarla en shadow,
+     * sin que reciba tráfico
+     * @param fileContent contenido del archivo
+     * @param fileName nombre del archivo
+     * @return true si la candidata compila
+     */
+    boolean stageCandidate(byte[] fileContent, String fileName);
+
+    /**
+     * Aplica el archivo de la candidata a las reglas actuales y descarta la candidata
+     * @return true si fue exitoso
+     */
+    boolean promoteCandidate();
+
+    /**
+     * Descarta la candidata
+     */
+    void discardCandidate();
+
+    /**
+     * Retiene la versión candidata para una evaluación en shadow
+     * @return versión retenida (cerrar al terminar) o null si no hay candidata
+     */
+    VersionedKieContainer.Version acquireCandidate();
+
+    /**
+     * Obtiene el ejecutor de la candidata
+     * @return ejecutor ligado a la versión candidata retenida
+     */
+    RuleExecutor getCandidateExecutor();
+
+    /**
+     * Obtiene el archivo de la candidata
+     * @return nombre del archivo o null si no hay candidata
+     */
+    String getCandidateFileName();
+
     /**
      * Lista las reglas dinámicas
      * @return lista de nombres de archivos
@@ -52,6 +103,32 @@ public interface DynamicRulesService {
      */
     KieContainer getDynamicKieContainer();
 
+    /**
+     * Retiene la versión actual de las reglas dinámicas para una evaluación, sin locks.
+     * Mientras está retenida, el ejecutor evalúa en ese hilo con esa versión y su contenedor
+     * no se descarta aunque se publique otra.
+     * @return versión retenida (cerrar al terminar) o null si no hay reglas dinámicas
+     */
+    VersionedKieContainer.Version acquireRules();
+
+    /**
+     * Obtiene el ejecutor de las reglas dinámicas
+     * @return ejecutor ligado a la versión retenida (o a la actual)
+     */
+    RuleExecutor getRuleExecutor();
+
+    /**
+     * Obtiene el número de versión de las reglas dinámicas publicadas
+     * @return versión actual (0 si no hay reglas dinámicas)
+     */
+    long getRulesVersion();
+
+    /**
+     * Obtiene las versiones anteriores que aún tienen evaluaciones en curso
+     * @return número de versiones pendientes de descartar
+     */
+    int getDrainingVersions();
+
     /**
      * Verifica si hay reglas dinámicas
      * @return true si hay reglas dinámicas
@@ -1,8 +1,12 @@
 package com.rulesengine.service;
 
+import com.rulesengine.engine.RuleExecutor;
 import com.rulesengine.model.RuleResult;
 import com.rulesengine.model.Transaction;
 
+import java.util.List;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
  
@@ -30,5 +34,29 @@ public interface RulesEngineService {
      * @return Mono con el resultado de la evaluación
      */
     Mono<RuleResult> evaluateTransactionWithAllRules(Transaction transaction);
+
+    /**
+     * Evalúa un lote de transacciones insertando varias transacciones en cada sesión
+     * @param transactions lista de transacciones
+     * @param complexityLevel nivel de complejidad de las transacciones
+     * @return Flux con los resultados en el orden de entrada
+     */
+    Flux<RuleResult> evaluateBatch(List<Transaction> transactions, String complexityLevel);
+
+    /**
+     * Evalúa un chunk de transacciones en una sola ejecución en el hilo que llama (bloqueante), sin el
+     * scheduler de evaluación ni el límite de concurrencia de {@link #evaluateBatch}
+     * @param chunk transacciones a evaluar
+     * @param complexityLevel nivel de complejidad de las transacciones
+     * @return resultados en el orden de entrada
+     */
+    List<RuleResult> evaluateChunk(List<Transaction> chunk, String complexityLevel);
+
+    /**
+     * Obtiene el ejecutor de las reglas de un nivel de complejidad, sin caché de resultados
+     * @param complexityLevel nivel de complejidad (LOW, MEDIUM, HIGH; cualquier otro valor son todas las reglas)
+     * @return ejecutor de la KieBase del nivel
+     */
+    RuleExecutor getRuleExecutor(String complexityLevel);
 }
 
@@ -0,0 +1,126 @@
+package com.rulesengine.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.concurrency.AdaptiveConcurrency;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.FactScopes;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Evaluación por lotes: divide las transacciones en chunks de {@code rules-engine.batch.chunk-size},
+ * inserta cada chunk en una única sesión con un solo fireAllRules y devuelve los resultados en el
+ * orden de entrada. Los chunks se evalúan en paralelo, hasta {@code rules-engine.batch.parallelism}
+ * según el límite adaptativo de {@link AdaptiveConcurrency}.
+ * <p>
+ * Solo es equivalente a evaluar cada transacción por separado si las reglas no relacionan hechos
+ * entre sí ({@link FactScopes}); si la KieBase no lo garantiza cada transacción se evalúa en su
+ * propia ejecución.
+ */
+@Component
+public class BatchEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchEvaluator.class);
+
+    private final int chunkSize;
+    private final Scheduler evaluationScheduler;
+    private final AdaptiveConcurrency adaptiveConcurrency;
+
+    public BatchEvaluator(RulesEngineProperties properties,
+                          @Qualifier("evaluationScheduler") Scheduler evaluationScheduler,
+                          AdaptiveConcurrency adaptiveConcurrency) {
+        this.evaluationScheduler = evaluationScheduler;
+        this.adaptiveConcurrency = adaptiveConcurrency;
+        this.chunkSize = Math.max(1, properties.getBatch().getChunkSize());
+    }
+
+    /**
+     * Construye el resultado de una transacción evaluada; en un chunk, {@code processingTimeMs} es el
+     * tiempo del chunk dividido entre sus transacciones
+     */
+    @FunctionalInterface
+    public interface ResultBuilder {
+        RuleResult build(Transaction transaction, List<String> firedRules, long processingTimeMs);
+    }
+
+    /**
+     * Evalúa las transacciones por chunks
+     * @param transactions transacciones a evaluar
+     * @param executor ejecutor de reglas
+     * @param resultBuilder construye el resultado de cada transacción
+     * @return Flux con los resultados en el orden de entrada
+     */
+    public Flux<RuleResult> evaluate(List<Transaction> transactions, RuleExecutor executor, ResultBuilder resultBuilder) {
+        return adaptiveConcurrency.evaluateSequential(Flux.fromIterable(partition(transactions, chunkSize)),
+                        chunk -> Mono.fromCallable(() -> evaluateChunk(chunk, executor, resultBuilder))
+                                .subscribeOn(evaluationScheduler))
+                .flatMapIterable(results -> results);
+    }
+
+    /**
+     * Evalúa un chunk en el hilo que llama, sin pasar por el scheduler de evaluación ni por el límite
+     * adaptativo: para quien ya reparte el trabajo entre sus propios hilos
+     * @param chunk transacciones a evaluar en una sola ejecución
+     * @param executor ejecutor de reglas
+     * @param resultBuilder construye el resultado de cada transacción
+     * @return resultados en el orden de entrada
+     */
+    public List<RuleResult> evaluateChunk(List<Transaction> chunk, RuleExecutor executor, ResultBuilder resultBuilder) {
+        if (!FactScopes.isFactScoped(executor.getKieBase())) {
+            var results = new ArrayList<RuleResult>(chunk.size());
+            for (var transaction : chunk) {
+                results.addAll(evaluateTogether(List.of(transaction), executor, resultBuilder));
+            }
+            return results;
+        }
+        return evaluateTogether(chunk, executor, resultBuilder);
+    }
+
+    private List<RuleResult> evaluateTogether(List<Transaction> chunk, RuleExecutor executor, ResultBuilder resultBuilder) {
+        var startTime = System.nanoTime();
+        for (var transaction : chunk) {
+            transaction.setStatus("PENDING");
+            if (transaction.getRiskScore() == null) {
+                transaction.setRiskScore(0);
+            }
+        }
+
+        var firedRulesByFact = executor.execute(chunk).firedRulesByFact();
+
+        var elapsed = System.nanoTime() - startTime;
+        // Cada resultado lleva su parte del tiempo del chunk, no el tiempo de todo el chunk
+        var processingTime = TimeUnit.NANOSECONDS.toMillis(elapsed / chunk.size());
+        var results = new ArrayList<RuleResult>(chunk.size());
+        for (var transaction : chunk) {
+            var result = resultBuilder.build(transaction, firedRulesByFact.getOrDefault(transaction, List.of()), processingTime);
+            if (transaction.getRejectionReason() != null) {
+                result.getReasons().add(transaction.getRejectionReason());
+            }
+            results.add(result);
+        }
+        log.debug("Chunk of {} transactions evaluated by {} in {}ms", chunk.size(), executor.getName(),
+            TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return results;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        var chunks = new ArrayList<List<T>>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + size)));
+        }
+        return chunks;
+    }
+}
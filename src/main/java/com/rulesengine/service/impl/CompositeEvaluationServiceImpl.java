@@ -0,0 +1,158 @@
+package com.rulesengine.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.EvaluationStage;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.metrics.RulesEngineMetrics;
+import com.rulesengine.model.CompositeResult;
+import com.rulesengine.model.StageResult;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.CompositeEvaluationService;
+import com.rulesengine.service.DynamicRulesService;
+import com.rulesengine.service.RulesEngineService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Evaluación compuesta: encadena los ejecutores de cada conjunto de reglas sobre la misma transacción
+ * dentro de una única tarea del scheduler de evaluación, en lugar de tres peticiones con su propia
+ * deserialización y su propio salto de scheduler. No usa la caché de resultados: el resultado de cada
+ * etapa depende del riesgo acumulado por las anteriores. El riesgo final es la suma del de cada etapa.
+ * Métricas: {@code rules.evaluation} con {@code engine=composite} (total) y con el nombre de cada etapa
+ * y {@code complexity=COMPOSITE}.
+ */
+@Service
+public class CompositeEvaluationServiceImpl implements CompositeEvaluationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompositeEvaluationServiceImpl.class);
+
+    static final String COMPLEXITY = "COMPOSITE";
+    // Estados de más a menos restrictivo; el resultado global es el más restrictivo de las etapas
+    private static final Map<String, Integer> SEVERITY = Map.of(
+        "REJECTED", 3, "PENDING_REVIEW", 2, "PENDING", 1, "APPROVED", 0);
+
+    private final RulesEngineService rulesEngineService;
+    private final RuleExecutor decisionTableExecutor;
+    private final DynamicRulesService dynamicRulesService;
+    private final RulesEngineMetrics metrics;
+    private final List<EvaluationStage> defaultStages;
+    private final Scheduler evaluationScheduler;
+
+    public CompositeEvaluationServiceImpl(RulesEngineService rulesEngineService,
+                                          @Qualifier("decisionTableRuleExecutor") RuleExecutor decisionTableExecutor,
+                                          DynamicRulesService dynamicRulesService,
+                                          RulesEngineMetrics metrics,
+                                          RulesEngineProperties properties,
+                                          @Qualifier("evaluationScheduler") Scheduler evaluationScheduler) {
+        this.rulesEngineService = rulesEngineService;
+        this.decisionTableExecutor = decisionTableExecutor;
+        this.dynamicRulesService = dynamicRulesService;
+        this.metrics = metrics;
+        this.defaultStages = List.copyOf(properties.getComposite().getStages());
+        this.evaluationScheduler = evaluationScheduler;
+    }
+
+    @Override
+    public Mono<CompositeResult> evaluate(Transaction transaction, List<EvaluationStage> stages, String complexityLevel) {
+        return Mono.fromCallable(() -> evaluateStages(transaction, stages, complexityLevel))
+            .subscribeOn(evaluationScheduler)
+            .doOnError(error -> log.error("Error in composite evaluation of transaction: {}", transaction.getId(), error));
+    }
+
+    @Override
+    public List<EvaluationStage> getDefaultStages() {
+        return defaultStages;
+    }
+
+    private CompositeResult evaluateStages(Transaction transaction, List<EvaluationStage> stages, String complexityLevel) {
+        var startTime = System.nanoTime();
+        if (transaction.getRiskScore() == null) {
+            transaction.setRiskScore(0);
+        }
+
+        var result = new CompositeResult();
+        result.setTransactionId(transaction.getId());
+        result.setComplexityLevel(COMPLEXITY);
+        String status = null;
+        for (var stage : stages) {
+            var stageStart = System.nanoTime();
+            transaction.setStatus("PENDING");
+            transaction.setRejectionReason(null);
+
+            var stageResult = new StageResult();
+            stageResult.setStage(stage.id());
+            var firedRules = execute(stage, transaction, complexityLevel);
+            if (firedRules == null) {
+                stageResult.setSkipped(true);
+            } else {
+                stageResult.setStatus(transaction.getStatus());
+                stageResult.setAppliedRules(firedRules);
+                result.getAppliedRules().addAll(firedRules);
+                if (transaction.getRejectionReason() != null) {
+                    result.getReasons().add(transaction.getRejectionReason());
+                }
+                status = mostRestrictive(status, transaction.getStatus());
+            }
+            stageResult.setRiskScore(transaction.getRiskScore());
+
+            var stageElapsed = System.nanoTime() - stageStart;
+            stageResult.setProcessingTimeMicros(TimeUnit.NANOSECONDS.toMicros(stageElapsed));
+            metrics.recordEvaluation(stage.id(), COMPLEXITY, stageElapsed);
+            result.getStages().add(stageResult);
+        }
+
+        transaction.setStatus(status != null ? status : "PENDING");
+        result.setStatus(transaction.getStatus());
+        result.setFinalRiskScore(transaction.getRiskScore());
+        var elapsed = System.nanoTime() - startTime;
+        result.setProcessingTimeMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        metrics.recordEvaluation(RulesEngineMetrics.ENGINE_COMPOSITE, COMPLEXITY, elapsed);
+
+        log.debug("Transaction {} evaluated by {} stages in {}us", transaction.getId(), stages.size(),
+            TimeUnit.NANOSECONDS.toMicros(elapsed));
+        return result;
+    }
+
+    /**
+     * Ejecuta las reglas de una etapa sobre la transacción
+     * @return reglas ejecutadas, o null si la etapa se omite (sin reglas dinámicas cargadas)
+     */
+    private List<String> execute(EvaluationStage stage, Transaction transaction, String complexityLevel) {
+        return switch (stage) {
+            case RULES -> rulesEngineService.getRuleExecutor(complexityLevel).execute(List.of(transaction)).firedRules();
+            case DECISION_TABLES -> {
+                // transaction-rules.csv fija el riesgo base en lugar de sumarlo: las tablas se evalúan con
+                // el riesgo a cero (ninguna condición lo lee) y su resultado se suma al acumulado
+                var accumulated = transaction.getRiskScore();
+                transaction.setRiskScore(0);
+                var firedRules = decisionTableExecutor.execute(List.of(transaction)).firedRules();
+                transaction.setRiskScore(accumulated + transaction.getRiskScore());
+                yield firedRules;
+            }
+            case DYNAMIC_RULES -> {
+                // La versión retenida no se descarta aunque se publiquen reglas nuevas durante la etapa
+                try (var rules = dynamicRulesService.acquireRules()) {
+                    yield rules == null ? null
+                        : dynamicRulesService.getRuleExecutor().execute(List.of(transaction)).firedRules();
+                }
+            }
+        };
+    }
+
+    private static String mostRestrictive(String current, String candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return SEVERITY.getOrDefault(candidate, -1) > SEVERITY.getOrDefault(current, -1) ? candidate : current;
+    }
+}
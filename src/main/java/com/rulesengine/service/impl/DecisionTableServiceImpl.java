@@ -1,33 +1,48 @@
 package com.rulesengine.service.impl;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-import org.kie.api.runtime.KieContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.rulesengine.cache.ResultCache;
+import com.rulesengine.cache.ResultCacheFactory;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.metrics.RulesEngineMetrics;
 import com.rulesengine.model.RuleResult;
 import com.rulesengine.model.Transaction;
 import com.rulesengine.service.DecisionTableService;
 
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
  
 @Service
 public class DecisionTableServiceImpl implements DecisionTableService {
 
 
-    // Usar sesión por defecto ya que el kmodule.xml no está creando la sesión con nombre
-    // private static final String DECISION_TABLE_SESSION = "decisionTableSession";
     private static final Logger log = LoggerFactory.getLogger(DecisionTableServiceImpl.class);
     
-    private final KieContainer decisionTableKieContainer;
+    private final RuleExecutor ruleExecutor;
+    private final ResultCache resultCache;
+    private final RulesEngineMetrics metrics;
+    private final BatchEvaluator batchEvaluator;
+    private final Scheduler evaluationScheduler;
 
-    public DecisionTableServiceImpl(@Qualifier("decisionTableKieContainer") KieContainer decisionTableKieContainer) {
-        this.decisionTableKieContainer = decisionTableKieContainer;
+    public DecisionTableServiceImpl(@Qualifier("decisionTableRuleExecutor") RuleExecutor ruleExecutor,
+                                    RulesEngineMetrics metrics,
+                                    BatchEvaluator batchEvaluator,
+                                    ResultCacheFactory resultCacheFactory,
+                                    @Qualifier("evaluationScheduler") Scheduler evaluationScheduler) {
+        this.evaluationScheduler = evaluationScheduler;
+        this.metrics = metrics;
+        this.batchEvaluator = batchEvaluator;
+        // Índice compilado de las tablas (rules-engine.decision-tables.lookup) o sesiones de Drools
+        this.ruleExecutor = ruleExecutor;
+        this.resultCache = resultCacheFactory.create(ruleExecutor);
     }
 
     /**
@@ -38,81 +53,65 @@ public class DecisionTableServiceImpl implements DecisionTableService {
     @Override
     public Mono<RuleResult> evaluateWithDecisionTables(Transaction transaction) {
         return Mono.fromCallable(() -> {
-            var startTime = System.currentTimeMillis();
+            var startTime = System.nanoTime();
             
-            // Crear una nueva sesión de Drools para cada transacción (thread-safe)
-            // Usar la sesión por defecto del KieContainer
-            var kieSession = decisionTableKieContainer.newKieSession();
-            
-            if (kieSession == null) {
-                throw new RuntimeException("KieSession is null, cannot evaluate transaction. Available KieBases: " + 
-                    decisionTableKieContainer.getKieBaseNames());
+            // Configurar la transacción
+            transaction.setStatus("PENDING");
+            if (transaction.getRiskScore() == null) {
+                transaction.setRiskScore(0);
             }
             
-            try {
-                // Configurar la transacción
-                transaction.setStatus("PENDING");
-                if (transaction.getRiskScore() == null) {
-                    transaction.setRiskScore(0);
-                }
-                
-                // Insertar la transacción en la sesión
-                kieSession.insert(transaction);
-                
-                // Ejecutar todas las reglas de las Decision Tables
-                var rulesFired = kieSession.fireAllRules();
-                
-                var processingTime = System.currentTimeMillis() - startTime;
-                
-                // Construir el resultado
-                var result = buildResult(transaction, rulesFired, processingTime);
-                
-                if (transaction.getRejectionReason() != null) {
-                    result.getReasons().add(transaction.getRejectionReason());
-                }
-                
-                log.debug("Transaction {} evaluated with Decision Tables in {}ms with {} rules fired", 
-                    transaction.getId(), processingTime, rulesFired);
-                
-                return result;
-            } finally {
-                if (kieSession != null) {
-                    kieSession.dispose();
-                }
+            // Ejecutar todas las reglas de las Decision Tables (índice compilado, o sesión del pool,
+            // nueva o stateless según rules-engine.session), o reutilizar el resultado cacheado
+            var execution = resultCache.execute(transaction);
+            
+            var elapsed = System.nanoTime() - startTime;
+            var processingTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            metrics.recordEvaluation(RulesEngineMetrics.ENGINE_DECISION_TABLES, "DECISION_TABLE", elapsed);
+            
+            // Construir el resultado
+            var result = buildResult(transaction, execution.firedRules(), processingTime);
+            
+            if (transaction.getRejectionReason() != null) {
+                result.getReasons().add(transaction.getRejectionReason());
             }
+            
+            log.debug("Transaction {} evaluated with Decision Tables in {}ms with {} rules fired", 
+                transaction.getId(), processingTime, execution.rulesFired());
+            
+            return result;
         })
-        .subscribeOn(Schedulers.boundedElastic())
+        .subscribeOn(evaluationScheduler)
         .doOnError(error -> log.error("Error evaluating transaction with Decision Tables: {}", 
             transaction.getId(), error));
     }
 
     /**
-     * Evalúa múltiples transacciones usando Decision Tables
+     * Evalúa múltiples transacciones usando Decision Tables, insertando varias transacciones en cada sesión
      * @param transactions lista de transacciones
-     * @return Flux con los resultados
+     * @return Flux con los resultados en el orden de entrada
      */
     @Override
     public reactor.core.publisher.Flux<RuleResult> evaluateBatch(List<Transaction> transactions) {
-        return reactor.core.publisher.Flux.fromIterable(transactions)
-                .flatMap(this::evaluateWithDecisionTables, 100)
+        return batchEvaluator.evaluate(transactions, ruleExecutor, this::buildResult)
                 .doOnError(error -> log.error("Error in batch evaluation with Decision Tables", error));
     }
 
     /**
      * Construye el resultado de la evaluación de una transacción
      * @param transaction la transacción evaluada
-     * @param rulesFired número de reglas ejecutadas
+     * @param firedRules nombres de las reglas ejecutadas
      * @param processingTime tiempo de procesamiento en milisegundos
      * @return RuleResult con los resultados de la evaluación
      */
-    private RuleResult buildResult(Transaction transaction, int rulesFired, long processingTime) {
+    private RuleResult buildResult(Transaction transaction, List<String> firedRules, long processingTime) {
         var result = new RuleResult();
         result.setTransactionId(transaction.getId());
         result.setStatus(transaction.getStatus());
         result.setFinalRiskScore(transaction.getRiskScore());
         result.setProcessingTimeMs(processingTime);
         result.setComplexityLevel("DECISION_TABLE");
-        result.setAppliedRules(List.of("Decision Table Rules fired: " + rulesFired));
+        result.setAppliedRules(firedRules);
         return result;
     }
 }
@@ -1,11 +1,22 @@
 package com.rulesengine.service.impl;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import org.kie.api.KieServices;
@@ -13,26 +24,58 @@ import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.KieModule;
 import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
-import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.builder.InternalKieBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.KieModuleBuilder;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.engine.VersionedKieContainer;
 import com.rulesengine.service.DynamicRulesService;
 
 @Service
 public class DynamicRulesServiceImpl implements DynamicRulesService {
     private static final Logger log = LoggerFactory.getLogger(DynamicRulesServiceImpl.class);
-    private static final String DYNAMIC_RULES_DIR = "dynamic-rules";
+    private static final String RESOURCES_ROOT = "src/main/resources/";
     private final KieServices kieServices = KieServices.Factory.get();
     
-    private KieContainer dynamicKieContainer;
-    private long lastCompilationTime = 0;
+    // Versión publicada de las reglas: se lee sin locks y se descarta cuando drena
+    private final VersionedKieContainer containers = new VersionedKieContainer("dynamic-rules");
+    private volatile long lastCompilationTime = 0;
+    private final RuleExecutor ruleExecutor;
 
-    public DynamicRulesServiceImpl() {
+    // Candidata en shadow: las reglas actuales más un archivo nuevo, evaluada fuera de las peticiones
+    private final VersionedKieContainer candidates = new VersionedKieContainer("dynamic-rules-candidate");
+    private final RuleExecutor candidateExecutor;
+    private final ReleaseId candidateReleaseId = kieServices.newReleaseId("com.rulesengine", "dynamic-rules-candidate", "1.0.0");
+    private volatile String candidateFileName;
+    private byte[] candidateContent;
+    private final RuleBuildMode buildMode;
+    private final DecisionTableCompiler decisionTableCompiler;
+    private final Path rulesDir;
+
+    // Estado de la última compilación correcta, sobre el que se aplican los cambios incrementales
+    private KieFileSystem kieFileSystem;
+    private KieBuilder kieBuilder;
+    private final Set<String> loadedFiles = new TreeSet<>();
+
+    public DynamicRulesServiceImpl(RuleExecutorFactory ruleExecutorFactory, RulesEngineProperties properties,
+                                   DecisionTableCompiler decisionTableCompiler) {
+        this.buildMode = properties.getBuild().getMode();
+        this.decisionTableCompiler = decisionTableCompiler;
+        this.rulesDir = Paths.get(properties.getDynamicRules().getDirectory());
+        // El ejecutor evalúa con la versión retenida por acquireRules() y detecta el cambio de KieBase
+        this.ruleExecutor = ruleExecutorFactory.create("dynamic-rules", containers::getKieBase);
+        this.candidateExecutor = ruleExecutorFactory.create("dynamic-rules-candidate", candidates::getKieBase);
         // Crear directorio si no existe
         createDynamicRulesDirectory();
     }
@@ -44,82 +87,100 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
         loadDynamicRules();
     }
 
+    /**
+     * Compila desde cero todos los archivos del directorio de reglas dinámicas
+     * @return true si se cargaron todos los archivos (los que tienen errores se omiten)
+     */
     @Override
     public synchronized boolean loadDynamicRules() {
+        return load(Collections.emptyMap());
+    }
+
+    /**
+     * Compila desde cero los archivos del directorio con los cambios aún no escritos en disco.
+     * Si hay errores se omiten los archivos que los contienen y se compila el resto, de forma que
+     * un archivo erróneo no impide cargar los demás
+     * @param changes contenido nuevo por archivo relativo al directorio de reglas, o null si se quita
+     * @return true si se cargaron todos los archivos
+     */
+    private boolean load(Map<String, byte[]> changes) {
         try {
-            Path rulesDir = Paths.get(DYNAMIC_RULES_DIR);
             if (!Files.exists(rulesDir) || !Files.isDirectory(rulesDir)) {
-                log.warn("Dynamic rules directory does not exist: {}", DYNAMIC_RULES_DIR);
+                log.warn("Dynamic rules directory does not exist: {}", rulesDir);
                 return false;
             }
 
-            KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
-            List<String> loadedFiles = new ArrayList<>();
-
-            // Cargar archivos DRL
+            Map<String, byte[]> sources = new TreeMap<>();
             try (Stream<Path> paths = Files.walk(rulesDir)) {
-                paths.filter(Files::isRegularFile)
-                    .filter(p -> p.toString().endsWith(".drl"))
-                    .forEach(drlFile -> {
-                        try {
-                            String relativePath = rulesDir.relativize(drlFile).toString();
-                            kieFileSystem.write(ResourceFactory.newFileResource(drlFile.toFile()));
-                            loadedFiles.add(relativePath);
-                            log.info("Loaded DRL file: {}", relativePath);
-                        } catch (Exception e) {
-                            log.error("Error loading DRL file: {}", drlFile, e);
-                        }
-                    });
+                for (Path ruleFile : paths.filter(Files::isRegularFile).filter(p -> isRuleFile(p.toString())).toList()) {
+                    sources.put(rulesDir.relativize(ruleFile).toString(), Files.readAllBytes(ruleFile));
+                }
             }
+            changes.forEach((file, content) -> {
+                if (content != null) {
+                    sources.put(file, content);
+                } else {
+                    sources.remove(file);
+                }
+            });
 
-            // Cargar archivos CSV (Decision Tables)
-            try (Stream<Path> paths = Files.walk(rulesDir)) {
-                paths.filter(Files::isRegularFile)
-                    .filter(p -> p.toString().endsWith(".csv"))
-                    .forEach(csvFile -> {
-                        try {
-                            String relativePath = rulesDir.relativize(csvFile).toString();
-                            // Para CSV, necesitamos compilarlos primero o usar como DRL
-                            // Por ahora, los tratamos como recursos que se compilarán
-                            kieFileSystem.write(ResourceFactory.newFileResource(csvFile.toFile()));
-                            loadedFiles.add(relativePath);
-                            log.info("Loaded CSV file: {}", relativePath);
-                        } catch (Exception e) {
-                            log.error("Error loading CSV file: {}", csvFile, e);
-                        }
-                    });
+            if (sources.isEmpty()) {
+                return clear();
             }
 
-            if (loadedFiles.isEmpty()) {
-                log.warn("No rule files found in {}", DYNAMIC_RULES_DIR);
-                return false;
+            var complete = true;
+            Map<String, byte[]> drls = new TreeMap<>();
+            for (var source : sources.entrySet()) {
+                try {
+                    drls.put(source.getKey(), toDrl(source.getKey(), source.getValue()));
+                    log.info("Loaded rule file: {}", source.getKey());
+                } catch (IllegalArgumentException e) {
+                    log.error("Error compiling decision table {}: {}", source.getKey(), e.getMessage());
+                    complete = false;
+                }
             }
 
-            // Compilar reglas
-            KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
-            kieBuilder.buildAll();
-
-            // Verificar errores
-            if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
-                List<Message> errors = kieBuilder.getResults().getMessages(Message.Level.ERROR);
-                log.error("Errors compiling dynamic rules:");
-                errors.forEach(e -> log.error("  {} at {}", e.getText(), e.getPath()));
+            if (drls.isEmpty()) {
+                log.warn("No dynamic rule files could be compiled in {}", rulesDir);
                 return false;
             }
 
-            // Crear nuevo KieContainer
-            KieModule kieModule = kieBuilder.getKieModule();
-            KieContainer newContainer = kieServices.newKieContainer(kieModule.getReleaseId());
+            KieFileSystem newFileSystem;
+            KieBuilder newBuilder;
+            while (true) {
+                newFileSystem = kieServices.newKieFileSystem();
+                for (var drl : drls.entrySet()) {
+                    newFileSystem.write(kieFileSystemPath(drl.getKey()), drl.getValue());
+                }
+                // Compilar reglas (en modo EXECUTABLE_MODEL el modelo se genera en el momento de la subida)
+                newBuilder = KieModuleBuilder.buildAll(kieServices, newFileSystem, buildMode);
+                var errors = newBuilder.getResults().getMessages(Message.Level.ERROR);
+                if (errors.isEmpty()) {
+                    break;
+                }
+                logErrors(errors);
+                var failed = failedFiles(drls.keySet(), errors);
+                if (failed.isEmpty() || failed.size() == drls.size()) {
+                    return false;
+                }
+                log.warn("Skipping dynamic rule files with errors: {}", failed);
+                drls.keySet().removeAll(failed);
+                complete = false;
+            }
 
-            // Reemplazar el contenedor anterior
-            if (dynamicKieContainer != null) {
-                dynamicKieContainer.dispose();
+            // Si solo fallan los archivos cambiados, las reglas publicadas ya son el resultado
+            if (!complete && isLoaded(drls)) {
+                return false;
             }
-            dynamicKieContainer = newContainer;
-            lastCompilationTime = System.currentTimeMillis();
+
+            kieFileSystem = newFileSystem;
+            kieBuilder = newBuilder;
+            loadedFiles.clear();
+            loadedFiles.addAll(drls.keySet());
+            publish(newBuilder.getKieModule());
 
             log.info("Successfully loaded {} dynamic rule files", loadedFiles.size());
-            return true;
+            return complete;
 
         } catch (Exception e) {
             log.error("Failed to load dynamic rules", e);
@@ -136,16 +197,33 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
     @Override
     public synchronized boolean uploadAndCompileRule(byte[] fileContent, String fileName) {
         try {
-            Path rulesDir = Paths.get(DYNAMIC_RULES_DIR);
             createDynamicRulesDirectory();
 
             Path targetFile = rulesDir.resolve(fileName);
-            Files.write(targetFile, fileContent);
+            Files.createDirectories(targetFile.getParent());
+            // Se escribe en un temporal (el watcher lo ignora) y solo se mueve al directorio si compila:
+            // un archivo con errores no queda en disco para la siguiente carga completa
+            Path tempFile = Files.createTempFile(targetFile.getParent(), ".upload-", ".tmp");
+            try {
+                Files.write(tempFile, fileContent);
 
-            log.info("Uploaded rule file: {}", fileName);
-            
-            // Recargar todas las reglas
-            return loadDynamicRules();
+                // Compilar solo el archivo subido sobre la última compilación correcta
+                String relativePath = rulesDir.relativize(targetFile).toString();
+                if (!update(Collections.singletonMap(relativePath, fileContent))) {
+                    return false;
+                }
+                try {
+                    Files.move(tempFile, targetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    // Las reglas publicadas ya incluyen el archivo: se vuelve a lo que hay en disco
+                    rollbackUpload(relativePath);
+                    throw e;
+                }
+                log.info("Uploaded rule file: {}", fileName);
+                return true;
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
 
         } catch (IOException e) {
             log.error("Error uploading rule file: {}", fileName, e);
@@ -153,6 +231,24 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
         }
     }
 
+    /**
+     * Deshace en las reglas publicadas una subida que no llegó al directorio, volviendo al contenido
+     * en disco del archivo (o quitándolo si no existía). Si no compila, recarga el directorio completo
+     * @param relativePath archivo subido, relativo al directorio de reglas
+     */
+    private void rollbackUpload(String relativePath) {
+        Path file = rulesDir.resolve(relativePath);
+        try {
+            byte[] previous = Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+            if (update(Collections.singletonMap(relativePath, previous))) {
+                return;
+            }
+        } catch (IOException e) {
+            log.error("Error reading rule file: {}", relativePath, e);
+        }
+        loadDynamicRules();
+    }
+
     /**
      * Elimina un archivo de reglas
      * @param fileName nombre del archivo
@@ -161,7 +257,6 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
     @Override
     public synchronized boolean deleteRule(String fileName) {
         try {
-            Path rulesDir = Paths.get(DYNAMIC_RULES_DIR);
             Path targetFile = rulesDir.resolve(fileName);
 
             if (!Files.exists(targetFile)) {
@@ -172,8 +267,8 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
             Files.delete(targetFile);
             log.info("Deleted rule file: {}", fileName);
 
-            // Recargar todas las reglas
-            return loadDynamicRules();
+            // Quitar solo las reglas del archivo borrado
+            return update(Collections.singletonMap(rulesDir.relativize(targetFile).toString(), null));
 
         } catch (IOException e) {
             log.error("Error deleting rule file: {}", fileName, e);
@@ -181,6 +276,140 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
         }
     }
 
+    /**
+     * Aplica los archivos cambiados en disco fuera de la API (watcher del directorio).
+     * Los archivos cuyo contenido ya está compilado se ignoran, de forma que las subidas
+     * por API no se recompilan dos veces.
+     * @param relativePaths archivos creados, modificados o borrados, relativos al directorio de reglas
+     * @return true si fue exitoso (también si no había cambios que aplicar)
+     */
+    @Override
+    public synchronized boolean applyFileChanges(Collection<String> relativePaths) {
+        Map<String, byte[]> changes = new TreeMap<>();
+        for (String relativePath : relativePaths) {
+            if (!isRuleFile(relativePath)) {
+                continue;
+            }
+            Path file = rulesDir.resolve(relativePath);
+            try {
+                if (Files.isRegularFile(file)) {
+                    byte[] content = Files.readAllBytes(file);
+                    if (!isLoaded(relativePath, content)) {
+                        changes.put(relativePath, content);
+                    }
+                } else if (loadedFiles.contains(relativePath)) {
+                    changes.put(relativePath, null);
+                }
+            } catch (IOException e) {
+                log.error("Error reading rule file: {}", relativePath, e);
+                return false;
+            }
+        }
+        if (changes.isEmpty()) {
+            return true;
+        }
+        log.info("Dynamic rule files changed on disk: {}", changes.keySet());
+        return update(changes);
+    }
+
+    /**
+     * Compila las reglas actuales más un archivo como candidata, sin escribirlo en el directorio
+     * ni cambiar las reglas que reciben el tráfico. Sustituye a la candidata anterior.
+     * @param fileContent contenido del archivo
+     * @param fileName nombre del archivo
+     * @return true si la candidata compila
+     */
+    @Override
+    public synchronized boolean stageCandidate(byte[] fileContent, String fileName) {
+        var startTime = System.nanoTime();
+        KieFileSystem candidateFileSystem = kieServices.newKieFileSystem();
+        // Con su propio ReleaseId: el KieRepository no debe confundirla con las reglas actuales
+        candidateFileSystem.generateAndWritePomXML(candidateReleaseId);
+        for (String file : loadedFiles) {
+            var path = kieFileSystemPath(file);
+            candidateFileSystem.write(path, kieFileSystem.read(path));
+        }
+        try {
+            candidateFileSystem.write(kieFileSystemPath(fileName), toDrl(fileName, fileContent));
+        } catch (IllegalArgumentException e) {
+            log.error("Error compiling decision table {}: {}", fileName, e.getMessage());
+            return false;
+        }
+
+        KieBuilder candidateBuilder = KieModuleBuilder.buildAll(kieServices, candidateFileSystem, buildMode);
+        if (candidateBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            logErrors(candidateBuilder.getResults().getMessages(Message.Level.ERROR));
+            return false;
+        }
+
+        KieContainer container = kieServices.newKieContainer(candidateBuilder.getKieModule().getReleaseId());
+        container.getKieBase();
+        candidates.publish(container);
+        candidateExecutor.invalidate();
+        candidateFileName = fileName;
+        candidateContent = fileContent;
+        log.info("Staged candidate {} over dynamic rules version {} in {}ms", fileName, containers.getVersion(),
+            (System.nanoTime() - startTime) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Promociona la candidata: escribe su archivo en el directorio y lo aplica a las reglas actuales
+     * @return true si fue exitoso; false si no hay candidata o no compila sobre las reglas actuales
+     */
+    @Override
+    public synchronized boolean promoteCandidate() {
+        var fileName = candidateFileName;
+        if (fileName == null) {
+            log.warn("No candidate to promote");
+            return false;
+        }
+        if (!uploadAndCompileRule(candidateContent, fileName)) {
+            return false;
+        }
+        log.info("Promoted candidate {} to dynamic rules version {}", fileName, containers.getVersion());
+        discardCandidate();
+        return true;
+    }
+
+    /**
+     * Descarta la candidata; su contenedor se libera cuando terminan sus evaluaciones en shadow
+     */
+    @Override
+    public synchronized void discardCandidate() {
+        candidates.clear();
+        candidateExecutor.invalidate();
+        candidateFileName = null;
+        candidateContent = null;
+    }
+
+    /**
+     * Retiene la versión candidata para una evaluación en shadow
+     * @return versión retenida (cerrar al terminar) o null si no hay candidata
+     */
+    @Override
+    public VersionedKieContainer.Version acquireCandidate() {
+        return candidates.acquire();
+    }
+
+    /**
+     * Obtiene el ejecutor de la candidata
+     * @return ejecutor ligado a la versión candidata retenida
+     */
+    @Override
+    public RuleExecutor getCandidateExecutor() {
+        return candidateExecutor;
+    }
+
+    /**
+     * Obtiene el archivo de la candidata
+     * @return nombre del archivo o null si no hay candidata
+     */
+    @Override
+    public String getCandidateFileName() {
+        return candidateFileName;
+    }
+
     /**
      * Lista todos los archivos de reglas dinámicas
      * @return lista de nombres de archivos
@@ -189,14 +418,13 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
     public List<String> listDynamicRules() {
         List<String> files = new ArrayList<>();
         try {
-            Path rulesDir = Paths.get(DYNAMIC_RULES_DIR);
             if (!Files.exists(rulesDir)) {
                 return files;
             }
 
             try (Stream<Path> paths = Files.walk(rulesDir)) {
                 paths.filter(Files::isRegularFile)
-                    .filter(p -> p.toString().endsWith(".drl") || p.toString().endsWith(".csv"))
+                    .filter(p -> isRuleFile(p.toString()))
                     .forEach(file -> {
                         String relativePath = rulesDir.relativize(file).toString();
                         files.add(relativePath);
@@ -214,7 +442,44 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
      */
     @Override
     public KieContainer getDynamicKieContainer() {
-        return dynamicKieContainer;
+        var version = containers.current();
+        return version != null ? version.container() : null;
+    }
+
+    /**
+     * Retiene la versión actual de las reglas dinámicas sin bloquear
+     * @return versión retenida (cerrar al terminar la evaluación) o null si no hay reglas cargadas
+     */
+    @Override
+    public VersionedKieContainer.Version acquireRules() {
+        return containers.acquire();
+    }
+
+    /**
+     * Obtiene el número de versión de las reglas dinámicas publicadas
+     * @return versión actual (0 si no hay reglas cargadas)
+     */
+    @Override
+    public long getRulesVersion() {
+        return containers.getVersion();
+    }
+
+    /**
+     * Obtiene las versiones anteriores que aún tienen evaluaciones en curso
+     * @return número de versiones retiradas pendientes de descartar
+     */
+    @Override
+    public int getDrainingVersions() {
+        return containers.getDrainingCount();
+    }
+
+    /**
+     * Obtiene el ejecutor de las reglas dinámicas
+     * @return ejecutor ligado al KieContainer actual
+     */
+    @Override
+    public RuleExecutor getRuleExecutor() {
+        return ruleExecutor;
     }
 
     /**
@@ -223,7 +488,7 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
      */
     @Override
     public boolean hasDynamicRules() {
-        return dynamicKieContainer != null;
+        return containers.current() != null;
     }
 
     /**
@@ -235,12 +500,193 @@ public class DynamicRulesServiceImpl implements DynamicRulesService {
         return lastCompilationTime;
     }
 
+    /**
+     * Aplica un conjunto de altas, modificaciones y borrados sobre la última compilación correcta.
+     * Solo se recompilan esos archivos (incremental results de KieBuilder) y la nueva KieBase se
+     * construye con los paquetes ya compilados del resto, publicándose una sola vez para todo el
+     * conjunto. Si hay errores se deshacen los cambios en el KieFileSystem y, si el conjunto tiene
+     * varios archivos, se aplican uno a uno para rechazar solo los erróneos.
+     * @param changes contenido nuevo por archivo relativo al directorio de reglas, o null si se ha borrado
+     * @return true si se aplicaron todos los cambios
+     */
+    private boolean update(Map<String, byte[]> changes) {
+        var remaining = new TreeSet<>(loadedFiles);
+        changes.forEach((file, content) -> {
+            if (content != null) {
+                remaining.add(file);
+            } else {
+                remaining.remove(file);
+            }
+        });
+        // El executable model no soporta builds incrementales; sin compilación previa no hay base
+        if (kieBuilder == null || buildMode == RuleBuildMode.EXECUTABLE_MODEL || remaining.isEmpty()) {
+            return load(changes);
+        }
+
+        var startTime = System.nanoTime();
+        var converted = true;
+        Map<String, byte[]> drls = new LinkedHashMap<>();
+        for (var change : changes.entrySet()) {
+            try {
+                drls.put(change.getKey(), change.getValue() != null ? toDrl(change.getKey(), change.getValue()) : null);
+            } catch (IllegalArgumentException e) {
+                log.error("Error compiling decision table {}: {}", change.getKey(), e.getMessage());
+                converted = false;
+            }
+        }
+        if (drls.isEmpty()) {
+            return false;
+        }
+
+        Map<String, byte[]> previous = new HashMap<>();
+        drls.forEach((file, drl) -> {
+            var path = kieFileSystemPath(file);
+            previous.put(path, loadedFiles.contains(file) ? kieFileSystem.read(path) : null);
+            if (drl != null) {
+                kieFileSystem.write(path, drl);
+            } else {
+                kieFileSystem.delete(path);
+            }
+        });
+
+        var paths = previous.keySet().toArray(String[]::new);
+        var errors = buildIncrementally(paths);
+        if (!errors.isEmpty()) {
+            logErrors(errors);
+            // Volver al contenido anterior para que el siguiente cambio parta de un estado válido
+            previous.forEach((path, content) -> {
+                if (content != null) {
+                    kieFileSystem.write(path, content);
+                } else {
+                    kieFileSystem.delete(path);
+                }
+            });
+            buildIncrementally(paths);
+            if (drls.size() > 1) {
+                drls.keySet().forEach(file -> update(Collections.singletonMap(file, changes.get(file))));
+            }
+            return false;
+        }
+
+        drls.forEach((file, drl) -> {
+            if (drl != null) {
+                loadedFiles.add(file);
+            } else {
+                loadedFiles.remove(file);
+            }
+        });
+        publish(kieBuilder.getKieModule());
+        log.info("Incrementally applied {} in {}ms ({} dynamic rule files)", drls.keySet(),
+            (System.nanoTime() - startTime) / 1_000_000, loadedFiles.size());
+        return converted;
+    }
+
+    /**
+     * Retira las reglas publicadas cuando ya no queda ningún archivo en el directorio
+     * @return true si había reglas que retirar
+     */
+    private boolean clear() {
+        if (containers.current() == null) {
+            log.warn("No rule files found in {}", rulesDir);
+            return false;
+        }
+        // Las evaluaciones en curso terminan con la versión que retienen; las nuevas ya no tienen reglas
+        containers.clear();
+        ruleExecutor.invalidate();
+        kieFileSystem = null;
+        kieBuilder = null;
+        loadedFiles.clear();
+        lastCompilationTime = System.currentTimeMillis();
+        log.info("No dynamic rule files left in {}, cleared dynamic rules", rulesDir);
+        return true;
+    }
+
+    private List<Message> buildIncrementally(String... paths) {
+        var results = ((InternalKieBuilder) kieBuilder).createFileSet(paths).build();
+        return results.getAddedMessages().stream()
+            .filter(message -> message.getLevel() == Message.Level.ERROR)
+            .toList();
+    }
+
+    private void publish(KieModule kieModule) {
+        // La nueva KieBase reutiliza los paquetes compilados del KieModule
+        KieContainer newContainer = kieServices.newKieContainer(kieModule.getReleaseId());
+        // Crear la KieBase antes del cambio para no pagar su construcción en la primera evaluación
+        newContainer.getKieBase();
+
+        // Las nuevas evaluaciones usan la nueva versión; la anterior se descarta al drenar
+        containers.publish(newContainer);
+        ruleExecutor.invalidate();
+        lastCompilationTime = System.currentTimeMillis();
+    }
+
+    private boolean isLoaded(String relativePath, byte[] content) {
+        if (kieFileSystem == null || !loadedFiles.contains(relativePath)) {
+            return false;
+        }
+        try {
+            return Arrays.equals(kieFileSystem.read(kieFileSystemPath(relativePath)), toDrl(relativePath, content));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean isLoaded(Map<String, byte[]> drls) {
+        if (!drls.keySet().equals(loadedFiles)) {
+            return false;
+        }
+        return drls.entrySet().stream()
+            .allMatch(drl -> Arrays.equals(kieFileSystem.read(kieFileSystemPath(drl.getKey())), drl.getValue()));
+    }
+
+    /**
+     * Archivos a los que se refieren los errores de compilación
+     * @param files archivos compilados, relativos al directorio de reglas
+     * @param errors errores de la compilación
+     * @return archivos con errores (vacío si los errores no indican archivo)
+     */
+    private static Set<String> failedFiles(Collection<String> files, List<Message> errors) {
+        Set<String> failed = new TreeSet<>();
+        for (var error : errors) {
+            var path = error.getPath();
+            if (path == null || path.isBlank()) {
+                continue;
+            }
+            for (var file : files) {
+                var kiePath = kieFileSystemPath(file);
+                if (kiePath.equals(path) || kiePath.endsWith("/" + path)) {
+                    failed.add(file);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private byte[] toDrl(String relativePath, byte[] content) {
+        // Decision Tables: se compilan a DRL (el compilador reutiliza el DRL si la tabla no cambió)
+        return relativePath.endsWith(".drl")
+            ? content
+            : decisionTableCompiler.compileToDrl(relativePath, content).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String kieFileSystemPath(String relativePath) {
+        return RESOURCES_ROOT + (relativePath.endsWith(".drl") ? relativePath : relativePath + ".drl");
+    }
+
+    private static void logErrors(List<Message> errors) {
+        log.error("Errors compiling dynamic rules:");
+        errors.forEach(e -> log.error("  {} at {}", e.getText(), e.getPath()));
+    }
+
+    private static boolean isRuleFile(String fileName) {
+        return fileName.endsWith(".drl") || DecisionTableCompiler.isDecisionTable(fileName);
+    }
+
     private void createDynamicRulesDirectory() {
         try {
-            Path rulesDir = Paths.get(DYNAMIC_RULES_DIR);
             if (!Files.exists(rulesDir)) {
                 Files.createDirectories(rulesDir);
-                log.info("Created dynamic rules directory: {}", DYNAMIC_RULES_DIR);
+                log.info("Created dynamic rules directory: {}", rulesDir);
             }
         } catch (IOException e) {
             log.error("Error creating dynamic rules directory", e);
@@ -0,0 +1,191 @@
+package com.rulesengine.service.impl;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.service.DynamicRulesService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Vigila el directorio de reglas dinámicas ({@code rules-engine.dynamic-rules.watch}) y aplica
+ * los archivos que se crean, modifican o borran fuera de la API, por ejemplo en el volumen
+ * montado por docker-compose.
+ * <ul>
+ *   <li>Los eventos se acumulan hasta que pasa {@code debounce} sin cambios nuevos (como mucho
+ *       {@code max-delay} desde el primero) y se aplican juntos: una ráfaga de escrituras produce
+ *       una sola compilación y una sola versión publicada.</li>
+ *   <li>La compilación se hace en el hilo del watcher, fuera de las peticiones, y el resultado se
+ *       publica con el cambio atómico de versión de {@link DynamicRulesService}.</li>
+ *   <li>Un archivo con errores no sustituye a las reglas actuales; se vuelve a intentar en su
+ *       siguiente modificación.</li>
+ * </ul>
+ */
+@Component
+public class DynamicRulesWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(DynamicRulesWatcher.class);
+
+    private final DynamicRulesService dynamicRulesService;
+    private final RulesEngineProperties.Watch config;
+    private final Path rulesDir;
+
+    private volatile WatchService watchService;
+    private volatile Thread watcher;
+
+    public DynamicRulesWatcher(DynamicRulesService dynamicRulesService, RulesEngineProperties properties) {
+        this.dynamicRulesService = dynamicRulesService;
+        this.config = properties.getDynamicRules().getWatch();
+        this.rulesDir = Paths.get(properties.getDynamicRules().getDirectory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!config.isEnabled() || watcher != null) {
+            return;
+        }
+        if (!Files.isDirectory(rulesDir)) {
+            log.warn("Dynamic rules directory does not exist, not watching: {}", rulesDir);
+            return;
+        }
+        try {
+            watchService = rulesDir.getFileSystem().newWatchService();
+            registerAll(rulesDir, null);
+        } catch (IOException e) {
+            log.error("Could not watch dynamic rules directory {}", rulesDir, e);
+            return;
+        }
+        watcher = new Thread(this::watchLoop, "dynamic-rules-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching dynamic rules directory {} (debounce {}ms, max delay {}ms)", rulesDir,
+            config.getDebounce().toMillis(), config.getMaxDelay().toMillis());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watchService.close();
+            watcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (IOException e) {
+            log.warn("Error closing dynamic rules watcher", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        watcher = null;
+    }
+
+    public boolean isRunning() {
+        var thread = watcher;
+        return thread != null && thread.isAlive();
+    }
+
+    private void watchLoop() {
+        Set<String> pending = new TreeSet<>();
+        var reloadAll = false;
+        var firstChange = 0L;
+        var debounceMillis = config.getDebounce().toMillis();
+        var maxDelayNanos = config.getMaxDelay().toNanos();
+        try {
+            while (true) {
+                var idle = pending.isEmpty() && !reloadAll;
+                WatchKey key = idle ? watchService.take() : watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    if (idle) {
+                        firstChange = System.nanoTime();
+                    }
+                    reloadAll |= collect(key, pending);
+                    if (System.nanoTime() - firstChange < maxDelayNanos) {
+                        continue;
+                    }
+                }
+                apply(pending, reloadAll);
+                pending.clear();
+                reloadAll = false;
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.info("Stopped watching dynamic rules directory {}", rulesDir);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Acumula los archivos de un WatchKey
+     * @return true si se han perdido eventos y hay que recargar todo el directorio
+     */
+    private boolean collect(WatchKey key, Set<String> pending) {
+        var reloadAll = false;
+        var dir = (Path) key.watchable();
+        for (var event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                reloadAll = true;
+                continue;
+            }
+            var file = dir.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(file)) {
+                // Los archivos copiados junto con el directorio no generan eventos propios
+                try {
+                    registerAll(file, pending);
+                } catch (IOException e) {
+                    log.warn("Could not watch directory {}", file, e);
+                    reloadAll = true;
+                }
+            } else {
+                pending.add(rulesDir.relativize(file).toString());
+            }
+        }
+        // Directorio borrado: sus archivos se resuelven recargando todo
+        if (!key.reset() && !dir.equals(rulesDir)) {
+            reloadAll = true;
+        }
+        return reloadAll;
+    }
+
+    private void apply(Set<String> pending, boolean reloadAll) {
+        try {
+            var applied = reloadAll ? dynamicRulesService.loadDynamicRules() : dynamicRulesService.applyFileChanges(pending);
+            if (!applied) {
+                log.warn("Dynamic rule changes {} not fully applied, keeping the last valid rules", reloadAll ? "(full reload)" : pending);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error applying dynamic rule changes {}", pending, e);
+        }
+    }
+
+    private void registerAll(Path dir, Set<String> files) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                } else if (files != null) {
+                    files.add(rulesDir.relativize(path).toString());
+                }
+            }
+        }
+    }
+}
@@ -1,76 +1,113 @@
 package com.rulesengine.service.impl;
 
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.function.UnaryOperator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.api.runtime.KieContainer;
-import org.kie.api.runtime.rule.AgendaFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.rulesengine.cache.ResultCache;
+import com.rulesengine.cache.ResultCacheFactory;
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.engine.StagedRuleExecutor;
+import com.rulesengine.metrics.RulesEngineMetrics;
 import com.rulesengine.model.RuleResult;
 import com.rulesengine.model.Transaction;
 import com.rulesengine.service.RulesEngineService;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 @Service
 public class RulesEngineServiceImpl implements RulesEngineService {
 
-    private static final String DEFAULT_RULES_SESSION = "rulesSession";
-
     private static final Logger log = LoggerFactory.getLogger(RulesEngineService.class);
-    private final KieContainer kieContainer;
 
-    public RulesEngineServiceImpl(@Qualifier("kieContainerRules") KieContainer kieContainer) {
-        this.kieContainer = kieContainer;
+    /** Nivel de complejidad de la evaluación por etapas */
+    public static final String STAGED = "STAGED";
+
+    // Un ejecutor por KieBase: cada nivel de complejidad solo evalúa sus propias reglas
+    private final Map<String, RuleExecutor> executorsByLevel;
+    private final RuleExecutor allRulesExecutor;
+    // LOW, MEDIUM y HIGH en orden hasta que la transacción deja de estar en PENDING
+    private final RuleExecutor stagedExecutor;
+    // Ejecutor de complexity=ALL: todas las reglas en una KieBase o por etapas (rules-engine.staged.for-all-rules)
+    private final RuleExecutor defaultExecutor;
+    // Caché de resultados de cada ejecutor (rules-engine.result-cache)
+    private final Map<RuleExecutor, ResultCache> resultCaches;
+    private final RulesEngineMetrics metrics;
+    private final BatchEvaluator batchEvaluator;
+    private final Scheduler evaluationScheduler;
+
+    public RulesEngineServiceImpl(@Qualifier("kieContainerRules") KieContainer kieContainer,
+                                  RuleExecutorFactory ruleExecutorFactory,
+                                  RulesEngineMetrics metrics,
+                                  BatchEvaluator batchEvaluator,
+                                  ResultCacheFactory resultCacheFactory,
+                                  RulesEngineProperties properties,
+                                  @Qualifier("evaluationScheduler") Scheduler evaluationScheduler) {
+        this.evaluationScheduler = evaluationScheduler;
+        this.metrics = metrics;
+        this.batchEvaluator = batchEvaluator;
+        this.executorsByLevel = Map.of(
+            "LOW", ruleExecutorFactory.create("rules-low", () -> kieContainer.getKieBase(DroolsConfig.LOW_RULES_BASE)),
+            "MEDIUM", ruleExecutorFactory.create("rules-medium", () -> kieContainer.getKieBase(DroolsConfig.MEDIUM_RULES_BASE)),
+            "HIGH", ruleExecutorFactory.create("rules-high", () -> kieContainer.getKieBase(DroolsConfig.HIGH_RULES_BASE)));
+        this.allRulesExecutor = ruleExecutorFactory.create("rules", () -> kieContainer.getKieBase(DroolsConfig.ALL_RULES_BASE));
+        this.stagedExecutor = new StagedRuleExecutor("rules-staged",
+            List.of(executorsByLevel.get("LOW"), executorsByLevel.get("MEDIUM"), executorsByLevel.get("HIGH")),
+            allRulesExecutor, metrics);
+        this.defaultExecutor = properties.getStaged().isForAllRules() ? stagedExecutor : allRulesExecutor;
+        var caches = new IdentityHashMap<RuleExecutor, ResultCache>();
+        executorsByLevel.values().forEach(executor -> caches.put(executor, resultCacheFactory.create(executor)));
+        caches.put(allRulesExecutor, resultCacheFactory.create(allRulesExecutor));
+        caches.put(stagedExecutor, resultCacheFactory.create(stagedExecutor));
+        this.resultCaches = caches;
     }
 
 
     @Override
     public Mono<RuleResult> evaluateTransaction(Transaction transaction, String complexityLevel) {
         return Mono.fromCallable(() -> {
-            var startTime = System.currentTimeMillis();
+            var startTime = System.nanoTime();
             
-            // Crear una nueva sesión de Drools para cada transacción (thread-safe)
-            var kieSession = kieContainer.newKieSession(DEFAULT_RULES_SESSION);
-            
-            try {
-                // Configurar la transacción
-                transaction.setStatus("PENDING");
-                if (transaction.getRiskScore() == null) {
-                    transaction.setRiskScore(0);
-                }
-                
-                // Insertar la transacción en la sesión
-                kieSession.insert(transaction);
-                
-                // Ejecutar las reglas según el nivel de complejidad usando AgendaFilter
-                
-                var packageName = getPackageName.apply(complexityLevel);
-                
-                var rulesFired = packageName != null ? kieSession.fireAllRules(getFilter(packageName)) : kieSession.fireAllRules();
-                
-                var processingTime = System.currentTimeMillis() - startTime;
-                
-                // Construir el resultado
-                var result = getResult(transaction, complexityLevel, rulesFired, processingTime);
-                
-                if (transaction.getRejectionReason() != null) 
-                    result.getReasons().add(transaction.getRejectionReason());
-                
-                
-                log.debug("Transaction {} evaluated in {}ms with {} rules fired", transaction.getId(), processingTime, rulesFired);
-                
-                return result;
-            } finally {
-                kieSession.dispose();
+            // Configurar la transacción
+            transaction.setStatus("PENDING");
+            if (transaction.getRiskScore() == null) {
+                transaction.setRiskScore(0);
             }
+            
+            // Ejecutar las reglas de la KieBase del nivel de complejidad
+            // (sesión del pool, nueva o stateless según rules-engine.session), o reutilizar el resultado cacheado
+            var execution = resultCaches.get(getExecutor(complexityLevel)).execute(transaction);
+            
+            var elapsed = System.nanoTime() - startTime;
+            var processingTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            // Nivel acotado como tag: cualquier valor desconocido se agrupa en ALL
+            metrics.recordEvaluation(RulesEngineMetrics.ENGINE_RULES,
+                executorsByLevel.containsKey(complexityLevel) || STAGED.equals(complexityLevel) ? complexityLevel : "ALL", elapsed);
+            
+            // Construir el resultado
+            var result = getResult(transaction, complexityLevel, execution.firedRules(), processingTime);
+            
+            if (transaction.getRejectionReason() != null) 
+                result.getReasons().add(transaction.getRejectionReason());
+            
+            
+            log.debug("Transaction {} evaluated in {}ms with {} rules fired", transaction.getId(), processingTime, execution.rulesFired());
+            
+            return result;
         })
-        .subscribeOn(Schedulers.boundedElastic()) // Ejecutar en thread pool dedicado para operaciones bloqueantes
+        .subscribeOn(evaluationScheduler) // Ejecutar en el scheduler de evaluación (CPU-bound, rules-engine.evaluation-scheduler)
         .doOnError(error -> log.error("Error evaluating transaction: {}", transaction.getId(), error));
     }
 
@@ -80,45 +117,53 @@ public class RulesEngineServiceImpl implements RulesEngineService {
         return evaluateTransaction(transaction, "ALL");
     }
 
-    /**
-     * Obtiene el filtro de las reglas según el paquete de reglas
-     * @param packageName el paquete de reglas
-     * @return el filtro de las reglas
-     */
-    private AgendaFilter getFilter(String packageName) {
-        AgendaFilter filter = match -> match.getRule().getPackageName().equals(packageName);
-        return filter;
+    @Override
+    public Flux<RuleResult> evaluateBatch(List<Transaction> transactions, String complexityLevel) {
+        return batchEvaluator.evaluate(transactions, getExecutor(complexityLevel),
+                (transaction, firedRules, processingTime) -> getResult(transaction, complexityLevel, firedRules, processingTime))
+            .doOnError(error -> log.error("Error in batch evaluation", error));
+    }
+
+    @Override
+    public List<RuleResult> evaluateChunk(List<Transaction> chunk, String complexityLevel) {
+        return batchEvaluator.evaluateChunk(chunk, getExecutor(complexityLevel),
+            (transaction, firedRules, processingTime) -> getResult(transaction, complexityLevel, firedRules, processingTime));
+    }
+
+    @Override
+    public RuleExecutor getRuleExecutor(String complexityLevel) {
+        return getExecutor(complexityLevel);
     }
- 
 
     /**
-     * Obtiene el paquete de reglas según el nivel de complejidad
+     * Obtiene el ejecutor de reglas según el nivel de complejidad
      * @param level el nivel de complejidad
-     * @return el paquete de reglas
+     * @return el ejecutor de la KieBase del nivel, el ejecutor por etapas para STAGED, o el de ALL
+     *         si el nivel no es LOW, MEDIUM, HIGH ni STAGED
      */
-    private final UnaryOperator<String> getPackageName = level -> switch (level) {
-        case "LOW" -> "com.rulesengine.rules.low";
-        case "MEDIUM" -> "com.rulesengine.rules.medium";
-        case "HIGH" -> "com.rulesengine.rules.high";
-        default -> null;
-    }; 
+    private RuleExecutor getExecutor(String level) {
+        if (STAGED.equals(level)) {
+            return stagedExecutor;
+        }
+        return executorsByLevel.getOrDefault(level, defaultExecutor);
+    }
 
     /**
      * Obtiene el resultado de la evaluación de la transacción
      * @param transaction la transacción
      * @param complexityLevel el nivel de complejidad
-     * @param rulesFired el número de reglas ejecutadas
+     * @param firedRules los nombres de las reglas ejecutadas
      * @param processingTime el tiempo de procesamiento
      * @return el resultado de la evaluación de la transacción
      */
-    private RuleResult getResult(Transaction transaction, String complexityLevel, int rulesFired, long processingTime) {
+    private RuleResult getResult(Transaction transaction, String complexityLevel, List<String> firedRules, long processingTime) {
         var result = new RuleResult();
         result.setTransactionId(transaction.getId());
         result.setStatus(transaction.getStatus());
         result.setFinalRiskScore(transaction.getRiskScore());
         result.setProcessingTimeMs(processingTime);
         result.setComplexityLevel(complexityLevel);
-        result.setAppliedRules(List.of("Rules fired: " + rulesFired));
+        result.setAppliedRules(firedRules);
         return result;
     }
 }
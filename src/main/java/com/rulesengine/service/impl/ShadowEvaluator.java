@@ -0,0 +1,274 @@
+package com.rulesengine.service.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.ExecutionResult;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.DynamicRulesService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Evaluación en shadow de la candidata de reglas dinámicas
+ * ({@code rules-engine.dynamic-rules.shadow}).
+ * Una fracción de las evaluaciones se repite en un pool propio, fuera de la petición, con las
+ * reglas actuales y con la candidata sobre copias de la transacción, y se compara el resultado.
+ * Métricas:
+ * <ul>
+ *   <li>{@code rules.shadow.evaluations}: comparaciones por {@code outcome} (match, rules-diverged,
+ *       outcome-diverged)</li>
+ *   <li>{@code rules.shadow.latency}: tiempo de ejecución por {@code version} (current, candidate)</li>
+ *   <li>{@code rules.shadow.latency.delta}: latencia media de la candidata respecto a la actual
+ *       (0.1 = un 10% más lenta)</li>
+ *   <li>{@code rules.shadow.dropped}: evaluaciones descartadas con la cola llena</li>
+ * </ul>
+ */
+@Component
+public class ShadowEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShadowEvaluator.class);
+
+    private final DynamicRulesService dynamicRulesService;
+    private final double fraction;
+    private final ThreadPoolExecutor executor;
+    private final AtomicReference<Stats> stats = new AtomicReference<>(new Stats(0));
+    // Alterna el orden de las dos ejecuciones para no favorecer a la segunda (cachés calientes)
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter matched;
+    private final Counter rulesDiverged;
+    private final Counter outcomeDiverged;
+    private final Counter dropped;
+    private final Timer currentLatency;
+    private final Timer candidateLatency;
+
+    public ShadowEvaluator(DynamicRulesService dynamicRulesService, RulesEngineProperties properties,
+                           MeterRegistry registry) {
+        var config = properties.getDynamicRules().getShadow();
+        this.dynamicRulesService = dynamicRulesService;
+        this.fraction = config.getFraction();
+        this.matched = outcomeCounter(registry, "match");
+        this.rulesDiverged = outcomeCounter(registry, "rules-diverged");
+        this.outcomeDiverged = outcomeCounter(registry, "outcome-diverged");
+        this.dropped = Counter.builder("rules.shadow.dropped")
+            .description("Evaluaciones en shadow descartadas por cola llena")
+            .register(registry);
+        this.currentLatency = latencyTimer(registry, "current");
+        this.candidateLatency = latencyTimer(registry, "candidate");
+        Gauge.builder("rules.shadow.latency.delta", stats, current -> current.get().latencyDelta())
+            .description("Latencia media de la candidata respecto a las reglas actuales")
+            .register(registry);
+
+        var threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            var thread = new Thread(runnable, "rules-shadow-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()), threadFactory,
+            (runnable, pool) -> dropped.increment());
+    }
+
+    /**
+     * Encola la evaluación en shadow de una fracción de las transacciones si hay candidata.
+     * Debe llamarse antes de evaluar la transacción: se copia tal como llega.
+     * @param transaction transacción que se va a evaluar con las reglas actuales
+     */
+    public void submit(Transaction transaction) {
+        if (dynamicRulesService.getCandidateFileName() == null || ThreadLocalRandom.current().nextDouble() >= fraction) {
+            return;
+        }
+        var input = transaction.copy();
+        executor.execute(() -> {
+            try {
+                evaluate(input);
+            } catch (RuntimeException e) {
+                log.warn("Shadow evaluation of transaction {} failed", input.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Evalúa una transacción con las reglas actuales y con la candidata y registra la comparación
+     * @param input transacción sin evaluar; no se modifica
+     * @return la comparación o null si no hay reglas actuales o candidata
+     */
+    public Comparison evaluate(Transaction input) {
+        try (var current = dynamicRulesService.acquireRules(); var candidate = dynamicRulesService.acquireCandidate()) {
+            if (current == null || candidate == null) {
+                return null;
+            }
+            var currentTransaction = input.copy();
+            var candidateTransaction = input.copy();
+            long currentNanos;
+            long candidateNanos;
+            ExecutionResult currentResult;
+            ExecutionResult candidateResult;
+            if ((sequence.getAndIncrement() & 1) == 0) {
+                currentNanos = -System.nanoTime();
+                currentResult = execute(dynamicRulesService.getRuleExecutor(), currentTransaction);
+                currentNanos += System.nanoTime();
+                candidateNanos = -System.nanoTime();
+                candidateResult = execute(dynamicRulesService.getCandidateExecutor(), candidateTransaction);
+                candidateNanos += System.nanoTime();
+            } else {
+                candidateNanos = -System.nanoTime();
+                candidateResult = execute(dynamicRulesService.getCandidateExecutor(), candidateTransaction);
+                candidateNanos += System.nanoTime();
+                currentNanos = -System.nanoTime();
+                currentResult = execute(dynamicRulesService.getRuleExecutor(), currentTransaction);
+                currentNanos += System.nanoTime();
+            }
+
+            var comparison = new Comparison(
+                !Objects.equals(currentTransaction.getStatus(), candidateTransaction.getStatus())
+                    || !Objects.equals(currentTransaction.getRiskScore(), candidateTransaction.getRiskScore())
+                    || !Objects.equals(currentTransaction.getRejectionReason(), candidateTransaction.getRejectionReason()),
+                !currentResult.firedRules().equals(candidateResult.firedRules()),
+                currentNanos, candidateNanos);
+            record(candidate.number(), comparison);
+            if (comparison.outcomeDiverged()) {
+                log.debug("Shadow divergence for transaction {}: current {}/{} {}, candidate {}/{} {}", input.getId(),
+                    currentTransaction.getStatus(), currentTransaction.getRiskScore(), currentResult.firedRules(),
+                    candidateTransaction.getStatus(), candidateTransaction.getRiskScore(), candidateResult.firedRules());
+            }
+            return comparison;
+        }
+    }
+
+    /**
+     * @return estadísticas de la candidata actual desde que se preparó
+     */
+    public Snapshot snapshot() {
+        return stats.get().snapshot();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ExecutionResult execute(RuleExecutor ruleExecutor, Transaction transaction) {
+        return ruleExecutor.execute(List.of(transaction));
+    }
+
+    private void record(long candidateVersion, Comparison comparison) {
+        var current = stats.get();
+        // Una candidata nueva empieza con estadísticas vacías; las de una anterior que aún drena se ignoran
+        while (current.candidateVersion < candidateVersion) {
+            stats.compareAndSet(current, new Stats(candidateVersion));
+            current = stats.get();
+        }
+        if (current.candidateVersion == candidateVersion) {
+            current.record(comparison);
+        }
+
+        currentLatency.record(comparison.currentNanos(), TimeUnit.NANOSECONDS);
+        candidateLatency.record(comparison.candidateNanos(), TimeUnit.NANOSECONDS);
+        if (comparison.outcomeDiverged()) {
+            outcomeDiverged.increment();
+        } else if (comparison.rulesDiverged()) {
+            rulesDiverged.increment();
+        } else {
+            matched.increment();
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("rules.shadow.evaluations")
+            .description("Comparaciones en shadow entre las reglas actuales y la candidata")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static Timer latencyTimer(MeterRegistry registry, String version) {
+        return Timer.builder("rules.shadow.latency")
+            .description("Tiempo de ejecución en shadow por versión de las reglas")
+            .tag("version", version)
+            .register(registry);
+    }
+
+    /**
+     * Resultado de comparar una evaluación en shadow
+     * @param outcomeDiverged el estado, la puntuación o el motivo de rechazo son distintos
+     * @param rulesDiverged las reglas disparadas (o su orden) son distintas
+     * @param currentNanos tiempo de ejecución con las reglas actuales
+     * @param candidateNanos tiempo de ejecución con la candidata
+     */
+    public record Comparison(boolean outcomeDiverged, boolean rulesDiverged, long currentNanos, long candidateNanos) {
+    }
+
+    /**
+     * Estadísticas acumuladas de una candidata
+     * @param candidateVersion versión de la candidata (0 si no se ha evaluado ninguna)
+     * @param samples evaluaciones comparadas
+     * @param outcomeDivergences evaluaciones con distinto resultado
+     * @param ruleDivergences evaluaciones con distintas reglas disparadas
+     * @param meanCurrentMicros latencia media con las reglas actuales
+     * @param meanCandidateMicros latencia media con la candidata
+     * @param latencyDelta latencia media de la candidata respecto a la actual (0.1 = un 10% más lenta)
+     */
+    public record Snapshot(long candidateVersion, long samples, long outcomeDivergences, long ruleDivergences,
+                           double meanCurrentMicros, double meanCandidateMicros, double latencyDelta) {
+    }
+
+    private static final class Stats {
+
+        private final long candidateVersion;
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder outcomeDivergences = new LongAdder();
+        private final LongAdder ruleDivergences = new LongAdder();
+        private final LongAdder currentNanos = new LongAdder();
+        private final LongAdder candidateNanos = new LongAdder();
+
+        private Stats(long candidateVersion) {
+            this.candidateVersion = candidateVersion;
+        }
+
+        private void record(Comparison comparison) {
+            samples.increment();
+            if (comparison.outcomeDiverged()) {
+                outcomeDivergences.increment();
+            }
+            if (comparison.rulesDiverged()) {
+                ruleDivergences.increment();
+            }
+            currentNanos.add(comparison.currentNanos());
+            candidateNanos.add(comparison.candidateNanos());
+        }
+
+        private double latencyDelta() {
+            var current = currentNanos.sum();
+            return current > 0 ? (double) candidateNanos.sum() / current - 1 : 0;
+        }
+
+        private Snapshot snapshot() {
+            var count = samples.sum();
+            return new Snapshot(candidateVersion, count, outcomeDivergences.sum(), ruleDivergences.sum(),
+                count > 0 ? currentNanos.sum() / 1000.0 / count : 0,
+                count > 0 ? candidateNanos.sum() / 1000.0 / count : 0,
+                latencyDelta());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.rulesengine.concurrency.AdaptiveConcurrency;
+import com.rulesengine.concurrency.OverloadStrategy;
+import com.rulesengine.config.RulesEngineProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AdaptiveConcurrencyTest {
+
+    @Test
+    void streamDemandFollowsAdaptiveLimit() {
+        var concurrency = adaptiveConcurrency(OverloadStrategy.DELAY, 4);
+        var pulled = new AtomicInteger();
+
+        var subscription = concurrency.evaluate(Flux.range(0, 10_000).doOnNext(i -> pulled.incrementAndGet()),
+                i -> Mono.<Integer>never(), i -> -1)
+            .subscribe();
+
+        // Cuatro evaluaciones en curso y una más esperando su permiso, no max-limit (512)
+        assertEquals(5, pulled.get());
+        assertEquals(4, concurrency.getStreamLimiter().getInFlight());
+        subscription.dispose();
+        assertEquals(0, concurrency.getStreamLimiter().getInFlight());
+    }
+
+    @Test
+    void shedOnlyWhileLimitBacksOff() {
+        var concurrency = adaptiveConcurrency(OverloadStrategy.SHED, 4);
+
+        // Con la latencia estable, alcanzar el límite no descarta: la entrada espera
+        var stable = concurrency.evaluate(Flux.range(0, 100), i -> Mono.<Integer>never(), i -> -1)
+            .subscribe();
+        assertEquals(0, concurrency.getStreamLimiter().getShedCount());
+        stable.dispose();
+
+        // Los errores reducen el límite hasta min-limit y lo dejan retrocediendo
+        for (int i = 0; i < 20; i++) {
+            concurrency.evaluate(Flux.just(i), tx -> Mono.<Integer>error(new IllegalStateException()), tx -> -1)
+                .onErrorResume(error -> Mono.empty())
+                .blockLast();
+        }
+        assertEquals(1, concurrency.getStreamLimiter().getLimit());
+
+        var results = new ArrayList<Integer>();
+        var overloaded = concurrency.evaluate(Flux.range(0, 5), i -> Mono.<Integer>never(), i -> -1)
+            .subscribe(results::add);
+        assertEquals(List.of(-1, -1, -1, -1), results);
+        assertEquals(4, concurrency.getStreamLimiter().getShedCount());
+        overloaded.dispose();
+    }
+
+    private static AdaptiveConcurrency adaptiveConcurrency(OverloadStrategy overload, int initialLimit) {
+        var properties = new RulesEngineProperties();
+        properties.getConcurrency().setOverload(overload);
+        properties.getConcurrency().setInitialLimit(initialLimit);
+        return new AdaptiveConcurrency(properties, new SimpleMeterRegistry());
+    }
+}
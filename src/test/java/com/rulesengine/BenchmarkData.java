@@ -0,0 +1,50 @@
+package com.rulesengine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.rulesengine.model.Transaction;
+
+/**
+ * Datos compartidos por los tests y los benchmarks JMH (semilla fija para resultados comparables)
+ */
+public final class BenchmarkData {
+
+    private static final String[] TIERS = {"BRONZE", "SILVER", "GOLD", "PLATINUM"};
+    private static final LocalDateTime BASE_TIMESTAMP = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Genera un conjunto de transacciones reproducible
+     * @param size número de transacciones
+     * @param seed semilla del generador
+     * @return transacciones generadas
+     */
+    public static List<Transaction> transactions(int size, long seed) {
+        Random random = new Random(seed);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Transaction tx = new Transaction();
+            tx.setId("BENCH-" + i);
+            tx.setUserId("USER-" + random.nextInt(1_000));
+            tx.setCurrency(random.nextInt(10) == 0 ? "EUR" : "USD");
+            tx.setTimestamp(BASE_TIMESTAMP.plusMinutes(random.nextInt(14 * 24 * 60)));
+            tx.setTransactionType(random.nextBoolean() ? "PURCHASE" : (random.nextBoolean() ? "WITHDRAWAL" : "TRANSFER"));
+            tx.setCountry(random.nextInt(5) == 0 ? "HIGH_RISK_COUNTRY_1" : "USA");
+            tx.setAmount(BigDecimal.valueOf(random.nextInt(60_000)));
+            tx.setUserAge(18 + random.nextInt(60));
+            tx.setAccountAgeDays(random.nextInt(1_000));
+            tx.setMonthlyTransactionVolume(BigDecimal.valueOf(random.nextInt(20_000)));
+            tx.setFailedTransactionsLastMonth(random.nextInt(10));
+            tx.setIsVIP(random.nextInt(5) == 0);
+            tx.setAccountTier(TIERS[random.nextInt(TIERS.length)]);
+            transactions.add(tx);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,102 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rulesengine.config.CodecConfig;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class BinaryCodecTest {
+
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testEvaluateWithSmile() throws Exception {
+        var result = evaluate("/api/rules/evaluate?complexity=LOW", smileMapper,
+            MediaType.valueOf(CodecConfig.APPLICATION_SMILE_VALUE));
+
+        assertEquals("CODEC-TEST", result.getTransactionId());
+        assertEquals("APPROVED", result.getStatus());
+    }
+
+    @Test
+    void testEvaluateWithCbor() throws Exception {
+        var result = evaluate("/api/decision-tables/evaluate", cborMapper, MediaType.APPLICATION_CBOR);
+
+        assertEquals("CODEC-TEST", result.getTransactionId());
+        assertEquals("DECISION_TABLE", result.getComplexityLevel());
+        assertNotNull(result.getStatus());
+    }
+
+    @Test
+    void testBatchWithStreamingSmile() throws Exception {
+        var transactions = List.of(transaction("CODEC-1", 50), transaction("CODEC-2", 15000));
+
+        var body = webTestClient.post()
+            .uri("/api/rules/evaluate/batch?complexity=LOW")
+            .contentType(MediaType.valueOf(CodecConfig.APPLICATION_SMILE_VALUE))
+            .accept(MediaType.valueOf(CodecConfig.APPLICATION_STREAM_SMILE_VALUE))
+            .bodyValue(smileMapper.writeValueAsBytes(transactions))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(CodecConfig.APPLICATION_STREAM_SMILE_VALUE)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        // Valores Smile consecutivos, en el orden de entrada
+        try (MappingIterator<RuleResult> results = smileMapper.readerFor(RuleResult.class).readValues(body)) {
+            var list = results.readAll();
+            assertEquals(2, list.size());
+            assertEquals("APPROVED", list.get(0).getStatus());
+            assertEquals("REJECTED", list.get(1).getStatus());
+        }
+    }
+
+    private RuleResult evaluate(String uri, ObjectMapper mapper, MediaType mediaType) throws Exception {
+        var body = webTestClient.post()
+            .uri(uri)
+            .contentType(mediaType)
+            .accept(mediaType)
+            .bodyValue(mapper.writeValueAsBytes(transaction("CODEC-TEST", 50)))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(mediaType)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+        return mapper.readValue(body, RuleResult.class);
+    }
+
+    private static Transaction transaction(String id, int amount) {
+        var tx = new Transaction();
+        tx.setId(id);
+        tx.setAmount(BigDecimal.valueOf(amount));
+        tx.setCurrency("USD");
+        tx.setTransactionType("PURCHASE");
+        tx.setTimestamp(LocalDateTime.now());
+        tx.setCountry("USA");
+        return tx;
+    }
+}
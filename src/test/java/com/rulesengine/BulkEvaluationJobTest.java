@@ -0,0 +1,109 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rulesengine.bulk.BulkEvaluationJob;
+import com.rulesengine.bulk.BulkInputFormat;
+import com.rulesengine.model.RuleResult;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.RulesEngineService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BulkEvaluationJobTest {
+
+    @Autowired
+    private BulkEvaluationJob job;
+
+    @Autowired
+    private RulesEngineService rulesEngineService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testNdjsonResultsMatchServiceInInputOrder() throws Exception {
+        var transactions = BenchmarkData.transactions(2_000, 17);
+        var lines = new StringBuilder();
+        for (int i = 0; i < transactions.size(); i++) {
+            lines.append(objectMapper.writeValueAsString(transactions.get(i))).append(i % 7 == 0 ? "\r\n\n" : "\n");
+        }
+        var input = Files.writeString(directory.resolve("transactions.ndjson"), lines);
+        // La evaluación modifica las transacciones: el resultado esperado se calcula sobre una copia
+        var expected = expected(BenchmarkData.transactions(2_000, 17), "ALL");
+
+        for (var parallelism : List.of(1, 3, 8)) {
+            var output = directory.resolve("results-" + parallelism + ".ndjson");
+            var report = job.run(input, null, output, "ALL", parallelism);
+
+            assertEquals(transactions.size(), report.transactions());
+            assertEquals(parallelism, report.partitions().size());
+            assertResults(expected, output);
+        }
+    }
+
+    @Test
+    void testCsvInput() throws Exception {
+        var transactions = BenchmarkData.transactions(500, 23);
+        var lines = new StringBuilder("id,amount,currency,transactionType,country,userAge,accountAgeDays,"
+            + "monthlyTransactionVolume,failedTransactionsLastMonth,isVIP,accountTier,riskScore\n");
+        for (var tx : transactions) {
+            lines.append(String.join(",", tx.getId(), tx.getAmount().toPlainString(), tx.getCurrency(),
+                tx.getTransactionType(), tx.getCountry(), tx.getUserAge().toString(), tx.getAccountAgeDays().toString(),
+                tx.getMonthlyTransactionVolume().toPlainString(), tx.getFailedTransactionsLastMonth().toString(),
+                tx.getIsVIP().toString(), tx.getAccountTier(), "")).append('\n');
+        }
+        var input = Files.writeString(directory.resolve("transactions.csv"), lines);
+        var output = directory.resolve("results.ndjson");
+
+        var report = job.run(input, null, output, "HIGH", 4);
+
+        assertEquals(transactions.size(), report.transactions());
+        assertResults(expected(transactions, "HIGH"), output);
+    }
+
+    @Test
+    void testInvalidLineFailsWithItsPosition() throws Exception {
+        var input = Files.writeString(directory.resolve("invalid.ndjson"), "{\"id\":\"TX-1\",\"amount\":10}\n{\"id\":\n");
+
+        var error = assertThrows(IOException.class,
+            () -> job.run(input, BulkInputFormat.NDJSON, directory.resolve("out.ndjson"), "ALL", 1));
+        assertTrue(error.getMessage().startsWith("Invalid transaction at byte 26"), error.getMessage());
+    }
+
+    private List<RuleResult> expected(List<Transaction> transactions, String complexity) {
+        var results = new ArrayList<RuleResult>(transactions.size());
+        for (var tx : transactions) {
+            results.add(rulesEngineService.evaluateTransaction(tx, complexity).block());
+        }
+        return results;
+    }
+
+    private void assertResults(List<RuleResult> expected, Path output) throws IOException {
+        var lines = Files.readAllLines(output);
+        assertEquals(expected.size(), lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            var actual = objectMapper.readValue(lines.get(i), RuleResult.class);
+            assertEquals(expected.get(i).getTransactionId(), actual.getTransactionId());
+            assertEquals(expected.get(i).getStatus(), actual.getStatus(), actual.getTransactionId());
+            assertEquals(expected.get(i).getFinalRiskScore(), actual.getFinalRiskScore(), actual.getTransactionId());
+            assertEquals(expected.get(i).getAppliedRules(), actual.getAppliedRules(), actual.getTransactionId());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.rulesengine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.rulesengine.engine.EvaluationStage;
+import com.rulesengine.service.CompositeEvaluationService;
+import com.rulesengine.service.DecisionTableService;
+import com.rulesengine.service.RulesEngineService;
+
+/**
+ * La evaluación compuesta dispara las mismas reglas que las evaluaciones separadas encadenadas,
+ * con el desglose por etapa y el riesgo final como suma del de cada etapa
+ */
+@SpringBootTest
+class CompositeEvaluationTest {
+
+    @Autowired
+    private CompositeEvaluationService compositeEvaluationService;
+
+    @Autowired
+    private RulesEngineService rulesEngineService;
+
+    @Autowired
+    private DecisionTableService decisionTableService;
+
+    @Test
+    void compositeMatchesChainedEvaluations() {
+        var stages = List.of(EvaluationStage.RULES, EvaluationStage.DECISION_TABLES);
+        var composed = BenchmarkData.transactions(200, 31);
+        var chained = BenchmarkData.transactions(200, 31);
+
+        for (int i = 0; i < composed.size(); i++) {
+            var result = compositeEvaluationService.evaluate(composed.get(i), stages, "ALL").block();
+
+            var tx = chained.get(i);
+            var rules = rulesEngineService.evaluateTransaction(tx, "ALL").block();
+            // La etapa de Decision Tables se evalúa con el riesgo a cero y suma su resultado al acumulado
+            tx.setRiskScore(0);
+            var decisionTables = decisionTableService.evaluateWithDecisionTables(tx).block();
+            var expectedRules = new ArrayList<>(rules.getAppliedRules());
+            expectedRules.addAll(decisionTables.getAppliedRules());
+
+            assertEquals(2, result.getStages().size());
+            assertEquals("rules", result.getStages().get(0).getStage());
+            assertEquals("decision-tables", result.getStages().get(1).getStage());
+            assertEquals(rules.getAppliedRules(), result.getStages().get(0).getAppliedRules());
+            assertEquals(rules.getStatus(), result.getStages().get(0).getStatus());
+            assertEquals(decisionTables.getAppliedRules(), result.getStages().get(1).getAppliedRules());
+            assertEquals(decisionTables.getStatus(), result.getStages().get(1).getStatus());
+            assertEquals(expectedRules, result.getAppliedRules());
+            var expectedRiskScore = rules.getFinalRiskScore() + decisionTables.getFinalRiskScore();
+            assertEquals(rules.getFinalRiskScore(), result.getStages().get(0).getRiskScore());
+            assertEquals(expectedRiskScore, result.getStages().get(1).getRiskScore());
+            assertEquals(expectedRiskScore, result.getFinalRiskScore());
+            assertEquals("COMPOSITE", result.getComplexityLevel());
+        }
+    }
+
+    @Test
+    void defaultStagesIncludeAllRuleSets() {
+        var result = compositeEvaluationService.evaluate(BenchmarkData.transactions(1, 7).get(0),
+            compositeEvaluationService.getDefaultStages(), "ALL").block();
+
+        assertEquals(3, result.getStages().size());
+        assertEquals("dynamic-rules", result.getStages().get(2).getStage());
+        assertFalse(result.getStages().get(0).isSkipped());
+    }
+
+    @Test
+    void parsesStagesByApiOrEnumName() {
+        assertEquals(List.of(EvaluationStage.DYNAMIC_RULES, EvaluationStage.RULES),
+            EvaluationStage.parse("dynamic-rules, RULES"));
+        assertThrows(IllegalArgumentException.class, () -> EvaluationStage.parse("rules,unknown"));
+    }
+}
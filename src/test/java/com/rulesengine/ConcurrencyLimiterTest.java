@@ -0,0 +1,84 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import com.rulesengine.concurrency.ConcurrencyLimiter;
+
+import reactor.core.Disposable;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 4, 1, 8, 0.5, 1_000.0);
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire().release(true);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void testLimitBacksOffOnSlowEvaluationsAndErrors() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 8, 2, 8, 0.5, 10.0);
+        // Latencia base de ~2ms: el jitter del planificador no llega a 10x
+        for (int i = 0; i < 10; i++) {
+            ConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            LockSupport.parkNanos(Duration.ofMillis(2).toNanos());
+            permit.release(true);
+        }
+        int limit = limiter.getLimit();
+        ConcurrencyLimiter.Permit slow = limiter.tryAcquire();
+        LockSupport.parkNanos(Duration.ofMillis(100).toNanos());
+        slow.release(true);
+        assertEquals(Math.max(2, limit / 2), limiter.getLimit());
+
+        limit = limiter.getLimit();
+        limiter.tryAcquire().release(false);
+        assertEquals(Math.max(2, limit / 2), limiter.getLimit());
+        limiter.tryAcquire().release(false);
+        limiter.tryAcquire().release(false);
+        assertEquals(2, limiter.getLimit(), "limit never goes below min-limit");
+    }
+
+    @Test
+    void testAcquireWaitsForReleasedPermit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, 1, 0.9, 2.0);
+        ConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(first);
+        assertNull(limiter.tryAcquire());
+
+        AtomicReference<ConcurrencyLimiter.Permit> granted = new AtomicReference<>();
+        limiter.acquire().subscribe(granted::set);
+        assertNull(granted.get());
+        assertEquals(1, limiter.getWaiting());
+
+        first.release(true);
+        assertNotNull(granted.get());
+        assertEquals(1, limiter.getInFlight());
+        granted.get().release(true);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testCancelledWaiterDoesNotLeakPermits() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, 1, 0.9, 2.0);
+        ConcurrencyLimiter.Permit first = limiter.tryAcquire();
+
+        Disposable waiting = limiter.acquire().subscribe();
+        waiting.dispose();
+        assertEquals(0, limiter.getWaiting());
+
+        first.release(true);
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire() != null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.drools.decisiontable.parser.csv.CsvLineParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rulesengine.engine.DecisionTableCompiler;
+
+class DecisionTableCompilerTest {
+
+    private static final String TABLE = "decisiontables/transaction-rules.csv";
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void testCompilesBundledTables() throws IOException {
+        var compiler = new DecisionTableCompiler(null);
+        assertEquals(6, countRules(compiler.compileToDrl(TABLE, read(TABLE))));
+        assertEquals(10, countRules(compiler.compileToDrl("country-risk-rules.csv", read("decisiontables/country-risk-rules.csv"))));
+        assertEquals(12, countRules(compiler.compileToDrl("account-tier-rules.csv", read("decisiontables/account-tier-rules.csv"))));
+    }
+
+    @Test
+    void testUnchangedTableIsNotRecompiled() throws IOException {
+        var compiler = new DecisionTableCompiler(cacheDirectory);
+        var drl = compiler.compileToDrl(TABLE, read(TABLE));
+        assertEquals(drl, compiler.compileToDrl("copy-of-transaction-rules.csv", read(TABLE)));
+        assertEquals(1, compiler.getMissCount());
+        assertEquals(1, compiler.getHitCount());
+
+        // Un nuevo compilador (reinicio) reutiliza el DRL guardado en disco
+        var restarted = new DecisionTableCompiler(cacheDirectory);
+        assertEquals(drl, restarted.compileToDrl(TABLE, read(TABLE)));
+        assertEquals(0, restarted.getMissCount());
+
+        var changed = new String(read(TABLE), StandardCharsets.UTF_8).replace("REJECTED,100", "REJECTED,90");
+        assertTrue(restarted.compileToDrl(TABLE, changed.getBytes(StandardCharsets.UTF_8)).contains("setRiskScore(90)"));
+        assertEquals(1, restarted.getMissCount());
+    }
+
+    @Test
+    void testXlsxTableCompilesLikeCsv() throws IOException {
+        var compiler = new DecisionTableCompiler(null);
+        var csv = read(TABLE);
+        assertEquals(compiler.compileToDrl(TABLE, csv), compiler.compileToDrl("transaction-rules.xlsx", toXlsx(csv)));
+    }
+
+    @Test
+    void testInvalidTableIsRejected() {
+        var compiler = new DecisionTableCompiler(cacheDirectory);
+        // Sin RuleTable; los errores en las expresiones los detecta después KieBuilder
+        var invalid = "RuleSet,com.rulesengine.rules.decisiontable\nNotes,sin tabla\n".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileToDrl("broken.csv", invalid));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileToDrl("rules.txt", invalid));
+    }
+
+    private static long countRules(String drl) {
+        return drl.lines().filter(line -> line.startsWith("rule ")).count();
+    }
+
+    private static byte[] read(String path) throws IOException {
+        try (InputStream in = DecisionTableCompilerTest.class.getClassLoader().getResourceAsStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] toXlsx(byte[] csv) throws IOException {
+        var parser = new CsvLineParser();
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet("Tables");
+            var lines = new String(csv, StandardCharsets.UTF_8).lines().toList();
+            for (int r = 0; r < lines.size(); r++) {
+                var row = sheet.createRow(r);
+                var cells = parser.parse(lines.get(r));
+                int mergeStart = -1;
+                for (int c = 0; c < cells.size(); c++) {
+                    var value = (String) cells.get(c);
+                    // En CSV las celdas combinadas terminan en "..."; en XLSX son regiones combinadas
+                    var merged = value.endsWith("...");
+                    if (merged) {
+                        value = value.substring(0, value.length() - 3);
+                        mergeStart = mergeStart < 0 ? c : mergeStart;
+                    }
+                    if (merged && mergeStart != c) {
+                        row.createCell(c);
+                    } else if (!value.isEmpty()) {
+                        row.createCell(c).setCellValue(value);
+                    }
+                    var lastOfMerge = mergeStart >= 0 && (c + 1 == cells.size() || !((String) cells.get(c + 1)).endsWith("..."));
+                    if (lastOfMerge) {
+                        if (c > mergeStart) {
+                            sheet.addMergedRegion(new CellRangeAddress(r, r, mergeStart, c));
+                        }
+                        mergeStart = -1;
+                    }
+                }
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.rulesengine;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -87,5 +88,28 @@ class DecisionTableControllerTest {
                 })
                 .verifyComplete();
     }
-}
 
+    @Test
+    void testTablesFireInPriorityOrder() {
+        // Monto fija el riesgo base, luego se suman tier de cuenta y país
+        Transaction tx = new Transaction();
+        tx.setId("DT-TEST-004");
+        tx.setAmount(BigDecimal.valueOf(3000));
+        tx.setStatus("PENDING");
+        tx.setCurrency("USD");
+        tx.setTransactionType("PURCHASE");
+        tx.setTimestamp(LocalDateTime.now());
+        tx.setCountry("HIGH_RISK_COUNTRY_2");
+        tx.setAccountTier("GOLD");
+        tx.setIsVIP(true);
+
+        StepVerifier.create(decisionTableService.evaluateWithDecisionTables(tx))
+                .assertNext(result -> {
+                    assertEquals(List.of("Transaction Amount Rule 4", "Account Tier GOLD VIP",
+                            "Country Risk HIGH_RISK_COUNTRY_2 High"), result.getAppliedRules());
+                    assertEquals(55, result.getFinalRiskScore());
+                    assertEquals("REJECTED", result.getStatus());
+                })
+                .verifyComplete();
+    }
+}
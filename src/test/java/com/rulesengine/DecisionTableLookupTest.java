@@ -0,0 +1,191 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rulesengine.config.DecisionTableConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.DecisionTableLookup;
+import com.rulesengine.engine.ExecutionListener;
+import com.rulesengine.engine.LookupRuleExecutor;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.Transaction;
+
+class DecisionTableLookupTest {
+
+    private static final String[] AMOUNTS = {null, "0", "99.99", "100", "100.00", "100.01", "500", "1000", "1000.5",
+        "2000", "3000", "5000", "10000", "20000", "50000", "100000", "200000", "200001", "-5"};
+    private static final String[] COUNTRIES = {"USA", "CANADA", "MEXICO", "HIGH_RISK_COUNTRY_1", "HIGH_RISK_COUNTRY_2",
+        "SPAIN", null};
+    private static final String[] TIERS = {"BRONZE", "SILVER", "GOLD", "PLATINUM", null};
+    private static final Boolean[] VIP = {true, false, null};
+
+    private final DecisionTableCompiler compiler = new DecisionTableCompiler(null);
+    private RuleExecutorFactory ruleExecutorFactory;
+    private RuleExecutor drools;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new RulesEngineProperties();
+        ruleExecutorFactory = new RuleExecutorFactory(properties, List.of());
+        var kieContainer = new DecisionTableConfig().decisionTableKieContainer(properties, compiler);
+        drools = ruleExecutorFactory.create("decision-tables", kieContainer::getKieBase);
+    }
+
+    @Test
+    void testBundledTablesCompileToLookup() {
+        var lookup = new DecisionTableConfig().buildLookup(compiler);
+        assertNotNull(lookup);
+        assertEquals(28, lookup.size());
+        assertEquals(List.of("accountTier", "country", "isVIP", "status"), lookup.getKeyFields());
+    }
+
+    @Test
+    void testLookupMatchesDrools() {
+        var lookup = ruleExecutorFactory.createLookup(new DecisionTableConfig().buildLookup(compiler), drools);
+
+        List<Transaction> transactions = new ArrayList<>(BenchmarkData.transactions(5_000, 17));
+        // Límites de los rangos, campos a null y valores que ninguna regla contempla
+        for (var amount : AMOUNTS) {
+            for (var country : COUNTRIES) {
+                for (var tier : TIERS) {
+                    for (var vip : VIP) {
+                        var transaction = new Transaction();
+                        transaction.setId(amount + "/" + country + "/" + tier + "/" + vip);
+                        transaction.setAmount(amount != null ? new BigDecimal(amount) : null);
+                        transaction.setCountry(country);
+                        transaction.setAccountTier(tier);
+                        transaction.setIsVIP(vip);
+                        transactions.add(transaction);
+                    }
+                }
+            }
+        }
+
+        Integer[] initialScores = {0, 12, null};
+        for (int i = 0; i < transactions.size(); i++) {
+            var transaction = transactions.get(i);
+            transaction.setStatus(i % 50 == 0 ? "APPROVED" : "PENDING");
+            transaction.setRiskScore(initialScores[i % initialScores.length]);
+
+            var expected = transaction.copy();
+            var expectedRules = drools.execute(List.of(expected)).firedRules();
+            var actual = transaction.copy();
+            var actualRules = lookup.execute(List.of(actual)).firedRules();
+            assertEquals(expectedRules, actualRules, transaction.getId());
+            assertEquals(expected.getStatus(), actual.getStatus(), transaction.getId());
+            assertEquals(expected.getRiskScore(), actual.getRiskScore(), transaction.getId());
+            assertEquals(expected.getRejectionReason(), actual.getRejectionReason(), transaction.getId());
+        }
+
+        // Lotes: mismas reglas por transacción que insertando todas en la misma sesión
+        var expected = transactions.subList(0, 500).stream().map(Transaction::copy).toList();
+        var actual = transactions.subList(0, 500).stream().map(Transaction::copy).toList();
+        var expectedByFact = drools.execute(expected).firedRulesByFact();
+        var actualByFact = lookup.execute(actual).firedRulesByFact();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(Objects.requireNonNullElse(expectedByFact.get(expected.get(i)), List.of()),
+                Objects.requireNonNullElse(actualByFact.get(actual.get(i)), List.of()));
+            assertEquals(expected.get(i).getRiskScore(), actual.get(i).getRiskScore());
+        }
+    }
+
+    @Test
+    void testHandWrittenRulesCompile() {
+        var lookup = DecisionTableLookup.compile(List.of(drl("""
+            rule "Band"
+                salience 5
+                when
+                    $t : com.rulesengine.model.Transaction(amount >= 10, amount < 20, amount > 5, transactionType == "TRANSFER")
+                then
+                    $t.setRejectionReason("band");
+                    $t.setRiskScore(3);
+            end
+            rule "Never"
+                when
+                    Transaction(amount > 20, amount < 10)
+                then
+            end
+            """)));
+        assertNotNull(lookup);
+        assertEquals(1, lookup.size(), "rules that can never match are not indexed");
+
+        var transaction = transaction("10", "TRANSFER");
+        assertEquals(List.of("Band"), lookup.evaluate(transaction).stream().map(DecisionTableLookup.Rule::getName).toList());
+        assertEquals("band", transaction.getRejectionReason());
+        assertEquals(3, transaction.getRiskScore());
+        assertEquals(List.of(), lookup.evaluate(transaction("20", "TRANSFER")));
+        assertEquals(List.of(), lookup.evaluate(transaction("15", "PURCHASE")));
+    }
+
+    @Test
+    void testRulesThatCannotBeCompiledAreLeftToDrools() {
+        var unsupported = List.of(
+            "rule \"Modify\" when $t : Transaction(amount > 10) then modify($t) { setStatus(\"X\") } end",
+            "rule \"Not equal\" when $t : Transaction(country != \"USA\") then end",
+            "rule \"Other field\" when $t : Transaction(riskScore > 10) then end",
+            "rule \"Equal amount\" when $t : Transaction(amount == 10) then end",
+            "rule \"Or\" when $t : Transaction(amount > 10 || amount < 5) then end",
+            "rule \"Attribute\" no-loop when $t : Transaction(amount > 10) then end",
+            "rule \"Two patterns\" when $t : Transaction() $u : Transaction() then end",
+            "rule \"Call\" when $t : Transaction(amount > 10) then System.out.println($t); end",
+            "rule \"Same salience 1\" when $t : Transaction(amount > 10) then end\n"
+                + "rule \"Same salience 2\" when $t : Transaction(amount < 20, country == \"USA\") then end");
+        for (var rules : unsupported) {
+            assertNull(DecisionTableLookup.compile(List.of(drl(rules))), rules);
+        }
+    }
+
+    @Test
+    void testExecutorFallsBackToDroolsForAgendaFilters() {
+        List<String> audited = new ArrayList<>();
+        ExecutionListener listener = new ExecutionListener() {
+            @Override
+            public void ruleFired(String executor, String packageName, String ruleName, Object fact) {
+                audited.add(packageName + ":" + ruleName);
+            }
+        };
+        var factory = new RuleExecutorFactory(new RulesEngineProperties(), List.of(listener));
+        var executor = factory.createLookup(new DecisionTableConfig().buildLookup(compiler), drools);
+        assertInstanceOf(LookupRuleExecutor.class, executor);
+        assertEquals("decision-tables", executor.getName());
+
+        var transaction = transaction("50", "PURCHASE");
+        assertEquals(1, executor.execute(List.of(transaction)).rulesFired());
+        assertEquals(List.of("com.rulesengine.rules.decisiontable:Transaction Amount Rule 1"), audited);
+
+        // Con filtro de agenda se evalúa con Drools
+        var filtered = transaction("50", "PURCHASE");
+        assertEquals(0, executor.execute(List.of(filtered), match -> false).rulesFired());
+        assertEquals(1, audited.size());
+        assertEquals("PENDING", filtered.getStatus());
+    }
+
+    private static Transaction transaction(String amount, String type) {
+        var transaction = new Transaction();
+        transaction.setId("TX-" + amount);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionType(type);
+        transaction.setStatus("PENDING");
+        transaction.setRiskScore(0);
+        return transaction;
+    }
+
+    private static String drl(String rules) {
+        return String.join("\n", Arrays.asList("package com.rulesengine.rules.test",
+            "import com.rulesengine.model.Transaction", rules));
+    }
+}
@@ -0,0 +1,148 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.definition.rule.Rule;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.service.impl.DynamicRulesServiceImpl;
+
+class DynamicRulesServiceTest {
+
+    private static final String BROKEN_DRL = "package com.rulesengine.rules.dynamic\nrule \"Broken\" when Unknown() then end";
+
+    @TempDir
+    Path rulesDir;
+
+    private DynamicRulesServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(rulesDir.resolve("base.drl"), drl("Base"));
+        var properties = new RulesEngineProperties();
+        properties.getDynamicRules().setDirectory(rulesDir.toString());
+        service = new DynamicRulesServiceImpl(new RuleExecutorFactory(properties, List.of()), properties,
+            new DecisionTableCompiler(null));
+        assertTrue(service.loadDynamicRules());
+    }
+
+    @Test
+    void testUploadModifyAndDeleteAreApplied() {
+        assertTrue(service.uploadAndCompileRule(bytes(drl("Added")), "added.drl"));
+        assertEquals(Set.of("Base", "Added"), ruleNames());
+
+        assertTrue(service.uploadAndCompileRule(bytes(drl("Renamed")), "added.drl"));
+        assertEquals(Set.of("Base", "Renamed"), ruleNames());
+
+        assertTrue(service.deleteRule("added.drl"));
+        assertEquals(Set.of("Base"), ruleNames());
+    }
+
+    @Test
+    void testDeletingLastFileClearsRules() {
+        var version = service.getRulesVersion();
+        assertTrue(service.deleteRule("base.drl"));
+        assertFalse(service.hasDynamicRules());
+        assertNull(service.getDynamicKieContainer());
+        assertEquals(0, service.getRulesVersion());
+
+        assertTrue(service.uploadAndCompileRule(bytes(drl("Added")), "added.drl"));
+        assertTrue(service.getRulesVersion() > version);
+        assertEquals(Set.of("Added"), ruleNames());
+    }
+
+    @Test
+    void testInvalidUploadKeepsCurrentRules() {
+        var container = service.getDynamicKieContainer();
+        assertFalse(service.uploadAndCompileRule(bytes(BROKEN_DRL), "broken.drl"));
+        assertSame(container, service.getDynamicKieContainer());
+        assertEquals(Set.of("Base"), ruleNames());
+
+        // El siguiente cambio parte de la última compilación correcta
+        assertTrue(service.uploadAndCompileRule(bytes(drl("Added")), "added.drl"));
+        assertNotSame(container, service.getDynamicKieContainer());
+        assertEquals(Set.of("Base", "Added"), ruleNames());
+    }
+
+    @Test
+    void testInvalidUploadIsNotWrittenToDirectory() throws Exception {
+        assertFalse(service.uploadAndCompileRule(bytes(BROKEN_DRL), "broken.drl"));
+
+        try (var files = Files.list(rulesDir)) {
+            assertEquals(List.of("base.drl"), files.map(file -> file.getFileName().toString()).toList());
+        }
+        // Una carga completa posterior no encuentra el archivo erróneo
+        assertTrue(service.loadDynamicRules());
+        assertEquals(Set.of("Base"), ruleNames());
+    }
+
+    @Test
+    void testFailedMoveRollsBackPublishedRules() throws Exception {
+        // Un directorio no vacío con el nombre del archivo hace fallar el move tras compilar
+        Files.createDirectories(rulesDir.resolve("blocked.drl"));
+        Files.writeString(rulesDir.resolve("blocked.drl").resolve("keep.txt"), "keep");
+        var version = service.getRulesVersion();
+
+        assertFalse(service.uploadAndCompileRule(bytes(drl("Blocked")), "blocked.drl"));
+        assertTrue(service.getRulesVersion() > version);
+        assertEquals(Set.of("Base"), ruleNames());
+    }
+
+    @Test
+    void testFullLoadSkipsInvalidFiles() throws Exception {
+        Files.writeString(rulesDir.resolve("added.drl"), drl("Added"));
+        Files.writeString(rulesDir.resolve("broken.drl"), BROKEN_DRL);
+
+        assertFalse(service.loadDynamicRules());
+        assertEquals(Set.of("Base", "Added"), ruleNames());
+    }
+
+    @Test
+    void testDecisionTableUpload() throws Exception {
+        var table = getClass().getClassLoader().getResourceAsStream("decisiontables/transaction-rules.csv").readAllBytes();
+        assertTrue(service.uploadAndCompileRule(table, "amount.csv"));
+        assertEquals(7, ruleNames().size());
+        assertTrue(service.listDynamicRules().contains("amount.csv"));
+    }
+
+    private Set<String> ruleNames() {
+        return service.getDynamicKieContainer().getKieBase().getKiePackages().stream()
+            .flatMap(kiePackage -> kiePackage.getRules().stream())
+            .map(Rule::getName)
+            .collect(Collectors.toSet());
+    }
+
+    private static String drl(String ruleName) {
+        return """
+            package com.rulesengine.rules.dynamic
+            import com.rulesengine.model.Transaction
+            rule "%s"
+                when
+                    $transaction : Transaction(amount > 100)
+                then
+                    $transaction.setRiskScore(10);
+            end
+            """.formatted(ruleName);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,128 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.definition.rule.Rule;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.service.impl.DynamicRulesServiceImpl;
+import com.rulesengine.service.impl.DynamicRulesWatcher;
+
+class DynamicRulesWatcherTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(300);
+
+    @TempDir
+    Path rulesDir;
+
+    private DynamicRulesServiceImpl service;
+    private DynamicRulesWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(rulesDir.resolve("base.drl"), drl("Base"));
+        var properties = new RulesEngineProperties();
+        properties.getDynamicRules().setDirectory(rulesDir.toString());
+        properties.getDynamicRules().getWatch().setDebounce(DEBOUNCE);
+        service = new DynamicRulesServiceImpl(new RuleExecutorFactory(properties, List.of()), properties,
+            new DecisionTableCompiler(null));
+        assertTrue(service.loadDynamicRules());
+        watcher = new DynamicRulesWatcher(service, properties);
+        watcher.start();
+        assertTrue(watcher.isRunning());
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    void testBurstOfChangesIsPublishedOnce() throws Exception {
+        var version = service.getRulesVersion();
+        Files.writeString(rulesDir.resolve("a.drl"), drl("A"));
+        Files.writeString(rulesDir.resolve("b.drl"), drl("B"));
+        Files.createDirectories(rulesDir.resolve("nested"));
+        Files.writeString(rulesDir.resolve("nested/c.drl"), drl("C"));
+        Files.writeString(rulesDir.resolve("notes.txt"), "ignored");
+
+        await(() -> ruleNames().equals(Set.of("Base", "A", "B", "C")));
+        settle();
+        assertEquals(version + 1, service.getRulesVersion(), "burst coalesced into a single publication");
+
+        Files.delete(rulesDir.resolve("b.drl"));
+        await(() -> ruleNames().equals(Set.of("Base", "A", "C")));
+    }
+
+    @Test
+    void testInvalidFileKeepsRunningRules() throws Exception {
+        var version = service.getRulesVersion();
+        Files.writeString(rulesDir.resolve("broken.drl"), "package com.rulesengine.rules.dynamic\nrule \"Broken\" when Unknown() then end");
+        Files.writeString(rulesDir.resolve("base.drl"), "rule \"Base\" when");
+        settle();
+        assertEquals(version, service.getRulesVersion());
+        assertEquals(Set.of("Base"), ruleNames());
+
+        // Al corregir el archivo se vuelve a intentar
+        Files.writeString(rulesDir.resolve("broken.drl"), drl("Fixed"));
+        await(() -> ruleNames().contains("Fixed"));
+        assertTrue(watcher.isRunning());
+    }
+
+    @Test
+    void testApiUploadIsNotRecompiled() throws Exception {
+        assertTrue(service.uploadAndCompileRule(drl("Uploaded").getBytes(StandardCharsets.UTF_8), "uploaded.drl"));
+        var version = service.getRulesVersion();
+        settle();
+        assertEquals(version, service.getRulesVersion());
+    }
+
+    private void settle() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(DEBOUNCE.toMillis() * 4);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private Set<String> ruleNames() {
+        return service.getDynamicKieContainer().getKieBase().getKiePackages().stream()
+            .flatMap(kiePackage -> kiePackage.getRules().stream())
+            .map(Rule::getName)
+            .collect(Collectors.toSet());
+    }
+
+    private static String drl(String ruleName) {
+        return """
+            package com.rulesengine.rules.dynamic
+            import com.rulesengine.model.Transaction
+            rule "%s"
+                when
+                    $transaction : Transaction(amount > 100)
+                then
+                    $transaction.setRiskScore(10);
+            end
+            """.formatted(ruleName);
+    }
+}
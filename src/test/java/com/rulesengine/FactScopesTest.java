@@ -0,0 +1,52 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.utils.KieHelper;
+
+import com.rulesengine.engine.FactScopes;
+
+class FactScopesTest {
+
+    private static KieBase buildKieBase(String rule) {
+        return new KieHelper()
+                .addContent("package com.rulesengine.test\n"
+                        + "import com.rulesengine.model.Transaction\n"
+                        + rule, ResourceType.DRL)
+                .build();
+    }
+
+    @Test
+    void testBundledRulesAreFactScoped() {
+        for (String drl : new String[] {"rules/low-complexity-rules.drl", "rules/medium-complexity-rules.drl",
+                "rules/high-complexity-rules.drl"}) {
+            KieBase kieBase = new KieHelper().addResource(ResourceFactory.newClassPathResource(drl)).build();
+            assertTrue(FactScopes.isFactScoped(kieBase), drl);
+        }
+    }
+
+    @Test
+    void testEvalOnSamePatternIsFactScoped() {
+        assertTrue(FactScopes.isFactScoped(buildKieBase(
+                "rule \"eval\" when $t : Transaction(status == \"PENDING\") eval($t.getRiskScore() > 10) then end")));
+    }
+
+    @Test
+    void testJoinIsNotFactScoped() {
+        assertFalse(FactScopes.isFactScoped(buildKieBase(
+                "rule \"join\" when $a : Transaction() $b : Transaction(userId == $a.userId, this != $a) then end")));
+    }
+
+    @Test
+    void testNotAndAccumulateAreNotFactScoped() {
+        assertFalse(FactScopes.isFactScoped(buildKieBase(
+                "rule \"not\" when Transaction() not Transaction(status == \"REJECTED\") then end")));
+        assertFalse(FactScopes.isFactScoped(buildKieBase(
+                "rule \"count\" when $n : Number() from accumulate(Transaction(), count(1)) then end")));
+    }
+}
@@ -0,0 +1,141 @@
+package com.rulesengine;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.utils.KieHelper;
+
+import com.rulesengine.engine.KieSessionPool;
+import com.rulesengine.model.Transaction;
+
+class KieSessionPoolTest {
+
+    private static KieBase buildKieBase() {
+        return new KieHelper()
+                .addResource(ResourceFactory.newClassPathResource("rules/low-complexity-rules.drl"))
+                .build();
+    }
+
+    private static Transaction transaction(String id, long amount) {
+        Transaction tx = new Transaction();
+        tx.setId(id);
+        tx.setAmount(BigDecimal.valueOf(amount));
+        tx.setStatus("PENDING");
+        tx.setRiskScore(0);
+        return tx;
+    }
+
+    @Test
+    void testSessionIsReusedAndResetOnReturn() {
+        KieBase kieBase = buildKieBase();
+        KieSessionPool pool = new KieSessionPool("test", () -> kieBase, 2, 100);
+
+        KieSession first;
+        try (var lease = pool.acquire()) {
+            first = lease.session();
+            first.insert(transaction("TX-1", 50));
+            assertEquals(1, first.fireAllRules());
+        }
+
+        try (var lease = pool.acquire()) {
+            assertSame(first, lease.session());
+            assertEquals(0, lease.session().getFactCount());
+            Transaction tx = transaction("TX-2", 20000);
+            lease.session().insert(tx);
+            assertEquals(1, lease.session().fireAllRules());
+            assertEquals("REJECTED", tx.getStatus());
+        }
+
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+    }
+
+    @Test
+    void testEventListenersSurviveReset() {
+        KieBase kieBase = buildKieBase();
+        KieSessionPool pool = new KieSessionPool("test", () -> kieBase, 1, 100);
+
+        int listeners;
+        try (var lease = pool.acquire()) {
+            listeners = lease.session().getAgendaEventListeners().size();
+            assertTrue(listeners > 0);
+        }
+
+        try (var lease = pool.acquire()) {
+            assertEquals(listeners, lease.session().getAgendaEventListeners().size());
+        }
+    }
+
+    @Test
+    void testSessionIsEvictedAfterMaxUses() {
+        KieBase kieBase = buildKieBase();
+        KieSessionPool pool = new KieSessionPool("test", () -> kieBase, 2, 1);
+
+        KieSession first;
+        try (var lease = pool.acquire()) {
+            first = lease.session();
+        }
+        try (var lease = pool.acquire()) {
+            assertNotSame(first, lease.session());
+        }
+        assertEquals(2, pool.getEvictedCount());
+    }
+
+    @Test
+    void testPoolIsInvalidatedWhenKieBaseChanges() {
+        AtomicReference<KieBase> current = new AtomicReference<>(buildKieBase());
+        KieSessionPool pool = new KieSessionPool("test", current::get, 2, 100);
+
+        KieSession first;
+        try (var lease = pool.acquire()) {
+            first = lease.session();
+        }
+        assertEquals(1, pool.getIdleCount());
+
+        current.set(buildKieBase());
+        try (var lease = pool.acquire()) {
+            assertNotSame(first, lease.session());
+            assertSame(current.get(), lease.session().getKieBase());
+        }
+        assertEquals(1, pool.getEvictedCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testRetiredKieBaseDoesNotInvalidatePool() {
+        var retired = buildKieBase();
+        AtomicReference<KieBase> current = new AtomicReference<>(retired);
+        KieSessionPool pool = new KieSessionPool("test", current::get, 2, 100);
+        try (var lease = pool.acquire()) {
+            assertSame(retired, lease.session().getKieBase());
+        }
+
+        current.set(buildKieBase());
+        KieSession pooled;
+        try (var lease = pool.acquire()) {
+            pooled = lease.session();
+        }
+        var evicted = pool.getEvictedCount();
+
+        // Un hilo que aún retiene la versión anterior no devuelve el pool a ella
+        current.set(retired);
+        try (var lease = pool.acquire()) {
+            assertSame(retired, lease.session().getKieBase());
+        }
+        assertEquals(evicted + 1, pool.getEvictedCount());
+        assertEquals(1, pool.getIdleCount());
+
+        current.set(pooled.getKieBase());
+        try (var lease = pool.acquire()) {
+            assertSame(pooled, lease.session());
+        }
+    }
+}
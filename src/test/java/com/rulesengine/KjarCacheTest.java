@@ -0,0 +1,124 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
+
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.engine.KieModuleBuilder;
+import com.rulesengine.engine.KjarCache;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.model.Transaction;
+
+class KjarCacheTest {
+
+    private final KieServices kieServices = KieServices.Factory.get();
+    private final ReleaseId releaseId = kieServices.newReleaseId("com.rulesengine", "kjar-cache-test", "1.0.0");
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        kieServices.getRepository().removeKieModule(releaseId);
+    }
+
+    @Test
+    void testSecondStartLoadsStoredKjar() {
+        var sources = sources(50);
+        var first = new KjarCache(kieServices, directory).resolve("test", sources, () -> build(50));
+        assertEquals("EXECUTABLE_MODEL", first.source());
+        assertEquals(1, builds.get());
+        assertTrue(Files.exists(directory.resolve(KjarCache.fileName("test", sources))));
+
+        // Nuevo arranque: el repositorio de KIE está vacío y el KJAR se carga del directorio sin compilar
+        kieServices.getRepository().removeKieModule(releaseId);
+        var second = new KjarCache(kieServices, directory).resolve("test", sources(50), () -> build(50));
+        assertTrue(second.source().startsWith("cached executable model"), second.source());
+        assertEquals(1, builds.get());
+        assertEquals(50, evaluate(second.kieModule()));
+    }
+
+    @Test
+    void testChangedRulesAreRebuilt() {
+        new KjarCache(kieServices, directory).resolve("test", sources(50), () -> build(50));
+        var changed = new KjarCache(kieServices, directory).resolve("test", sources(70), () -> build(70));
+        assertEquals("EXECUTABLE_MODEL", changed.source());
+        assertEquals(2, builds.get());
+        assertEquals(70, evaluate(changed.kieModule()));
+        assertNotEquals(KjarCache.fileName("test", sources(50)), KjarCache.fileName("test", sources(70)));
+    }
+
+    @Test
+    void testCorruptedKjarIsRebuilt() throws Exception {
+        Files.writeString(directory.resolve(KjarCache.fileName("test", sources(50))), "not a jar");
+        var resolved = new KjarCache(kieServices, directory).resolve("test", sources(50), () -> build(50));
+        assertEquals("EXECUTABLE_MODEL", resolved.source());
+        assertEquals(50, evaluate(resolved.kieModule()));
+    }
+
+    @Test
+    void testHashCoversRulesAndFactModel() {
+        var sources = new DroolsConfig().sources();
+        assertEquals(sources.hash(), new DroolsConfig().sources().hash());
+        assertNotEquals(sources.hash(), new DroolsConfig().sources().add("rules/extra.drl", new byte[0]).hash());
+        assertNotEquals(new KjarCache.Sources().hash(),
+            new KjarCache.Sources().addFactTypes(List.of(Transaction.class)).hash());
+    }
+
+    private KieModule build(int riskScore) {
+        builds.incrementAndGet();
+        var kieFileSystem = kieServices.newKieFileSystem();
+        kieFileSystem.generateAndWritePomXML(releaseId);
+        kieFileSystem.write("src/main/resources/rules/test/score.drl", drl(riskScore));
+        return KieModuleBuilder.buildAll(kieServices, kieFileSystem, RuleBuildMode.EXECUTABLE_MODEL).getKieModule();
+    }
+
+    private static KjarCache.Sources sources(int riskScore) {
+        return new KjarCache.Sources()
+            .add("rules/test/score.drl", drl(riskScore).getBytes(StandardCharsets.UTF_8))
+            .addFactTypes(List.of(Transaction.class));
+    }
+
+    private int evaluate(KieModule kieModule) {
+        var session = kieServices.newKieContainer(kieModule.getReleaseId()).newKieSession();
+        try {
+            var transaction = new Transaction();
+            transaction.setAmount(BigDecimal.valueOf(500));
+            transaction.setRiskScore(0);
+            session.insert(transaction);
+            session.fireAllRules();
+            return transaction.getRiskScore();
+        } finally {
+            session.dispose();
+        }
+    }
+
+    private static String drl(int riskScore) {
+        return """
+            package rules.test
+            import com.rulesengine.model.Transaction
+            rule "Score"
+                when
+                    $transaction : Transaction(amount > 100)
+                then
+                    $transaction.setRiskScore(%d);
+            end
+            """.formatted(riskScore);
+    }
+}
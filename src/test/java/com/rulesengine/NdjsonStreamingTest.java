@@ -0,0 +1,202 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.rulesengine.model.RuleResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cuerpos NDJSON en streaming contra el servidor real: con WebTestClient el cuerpo de la petición se
+ * graba entero para los diagnósticos, así que se usa WebClient
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.com.rulesengine=INFO",
+    "rules-engine.audit.mode=OFF"
+})
+class NdjsonStreamingTest {
+
+    private static final int LINES = 200_000;
+    private static final int LINES_PER_BUFFER = 100;
+    private static final int HEAP_SAMPLE_EVERY = 50_000;
+    // El cuerpo completo ocupa ~60MB; si se materializara el heap crecería en esa medida
+    private static final long MAX_HEAP_GROWTH = 16L * 1024 * 1024;
+    // Las líneas en vuelo incluyen las que esperan en los buffers de los sockets (varios MB en loopback
+    // en cada sentido), fuera del heap; si se materializara el cuerpo el backlog llegaría a LINES
+    private static final long MAX_BACKLOG = LINES / 4;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void dynamicRules(DynamicPropertyRegistry registry) throws IOException {
+        var directory = Files.createTempDirectory("ndjson-dynamic-rules");
+        Files.writeString(directory.resolve("stream-rules.drl"), """
+            package com.rulesengine.dynamic;
+
+            import com.rulesengine.model.Transaction;
+
+            rule "Review large streamed transactions"
+                when
+                    $transaction : Transaction(amount > 10000, status == "PENDING")
+                then
+                    $transaction.setStatus("PENDING_REVIEW");
+            end
+            """);
+        registry.add("rules-engine.dynamic-rules.directory", directory::toString);
+    }
+
+    @Test
+    void testDecisionTableStreamKeepsHeapBounded() {
+        var produced = new AtomicLong();
+        var received = new AtomicLong();
+        var maxBacklog = new AtomicLong();
+        var maxHeapUsed = new AtomicLong();
+        var baseline = heapUsedAfterGc();
+
+        Flux<DataBuffer> body = Flux.range(0, LINES / LINES_PER_BUFFER)
+            .map(chunk -> {
+                var lines = new StringBuilder(LINES_PER_BUFFER * 320);
+                for (int i = 0; i < LINES_PER_BUFFER; i++) {
+                    lines.append(line(chunk * LINES_PER_BUFFER + i)).append('\n');
+                }
+                produced.addAndGet(LINES_PER_BUFFER);
+                return DefaultDataBufferFactory.sharedInstance.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            });
+
+        var results = WebClient.create("http://localhost:" + port)
+            .post()
+            .uri("/api/decision-tables/evaluate/stream")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .body(BodyInserters.fromDataBuffers(body))
+            .retrieve()
+            .bodyToFlux(RuleResult.class)
+            .doOnNext(result -> {
+                var count = received.incrementAndGet();
+                maxBacklog.accumulateAndGet(produced.get() - count, Math::max);
+                if (count % HEAP_SAMPLE_EVERY == 0) {
+                    maxHeapUsed.accumulateAndGet(heapUsedAfterGc(), Math::max);
+                }
+            })
+            .count()
+            .block(Duration.ofMinutes(1));
+
+        assertEquals(LINES, results);
+        assertTrue(maxBacklog.get() < MAX_BACKLOG, "Backlog of " + maxBacklog.get() + " lines");
+        var growth = maxHeapUsed.get() - baseline;
+        assertTrue(growth < MAX_HEAP_GROWTH, "Heap grew " + growth / (1024 * 1024) + "MB during the stream");
+    }
+
+    @Test
+    void testDecisionTableStreamEvaluatesEveryLine() {
+        var results = WebClient.create("http://localhost:" + port)
+            .post()
+            .uri("/api/decision-tables/evaluate/stream")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(line(1) + "\n" + line(2) + "\n\n" + line(3))
+            .retrieve()
+            .bodyToFlux(RuleResult.class)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+
+        assertEquals(3, results.size());
+        for (var result : results) {
+            assertEquals("DECISION_TABLE", result.getComplexityLevel());
+            assertTrue(result.getTransactionId().startsWith("NDJSON-"));
+        }
+    }
+
+    @Test
+    void testDynamicRulesStreamEvaluatesEveryLine() {
+        var results = WebClient.create("http://localhost:" + port)
+            .post()
+            .uri("/api/dynamic-rules/evaluate/stream")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .body(BodyInserters.fromPublisher(Flux.range(0, 1_000).map(i -> line(i) + "\n"), String.class))
+            .retrieve()
+            .bodyToFlux(RuleResult.class)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+
+        assertEquals(1_000, results.size());
+        for (var result : results) {
+            assertEquals("DYNAMIC", result.getComplexityLevel());
+            var large = Integer.parseInt(result.getTransactionId().substring("NDJSON-".length())) % 4 == 3;
+            assertEquals(large ? List.of("Review large streamed transactions") : List.of(), result.getAppliedRules());
+            assertEquals(large ? "PENDING_REVIEW" : "PENDING", result.getStatus());
+        }
+    }
+
+    @Test
+    void testRulesStreamAcceptsJsonArray() {
+        var results = WebClient.create("http://localhost:" + port)
+            .post()
+            .uri("/api/rules/evaluate/stream")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue("[" + line(1) + "," + line(2) + "," + line(3) + "]")
+            .retrieve()
+            .bodyToFlux(RuleResult.class)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+
+        assertEquals(3, results.size());
+        for (var result : results) {
+            assertTrue(result.getTransactionId().startsWith("NDJSON-"));
+        }
+    }
+
+    @Test
+    void testRulesStreamRejectsUnsupportedContentType() {
+        var status = WebClient.create("http://localhost:" + port)
+            .post()
+            .uri("/api/rules/evaluate/stream")
+            .contentType(MediaType.APPLICATION_XML)
+            .bodyValue("<transaction/>")
+            .exchangeToMono(response -> Mono.just(response.statusCode().value()))
+            .block(Duration.ofSeconds(30));
+
+        assertEquals(415, status);
+    }
+
+    private static String line(int i) {
+        var amounts = new int[] {50, 2500, 7000, 15000};
+        var countries = new String[] {"USA", "CANADA", "HIGH_RISK_COUNTRY_1"};
+        var tiers = new String[] {"BRONZE", "SILVER", "GOLD", "PLATINUM"};
+        return "{\"id\":\"NDJSON-" + i + "\",\"userId\":\"USER-" + i % 1000 + "\",\"amount\":" + amounts[i % amounts.length]
+            + ",\"currency\":\"USD\",\"transactionType\":\"PURCHASE\",\"timestamp\":\"2024-01-15T10:30:00\""
+            + ",\"merchantId\":\"MERCHANT-001\",\"country\":\"" + countries[i % countries.length] + "\""
+            + ",\"userAge\":35,\"accountAgeDays\":500,\"monthlyTransactionVolume\":15000"
+            + ",\"failedTransactionsLastMonth\":0,\"isVIP\":" + (i % 5 == 0)
+            + ",\"accountTier\":\"" + tiers[i % tiers.length] + "\"}";
+    }
+
+    private static long heapUsedAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
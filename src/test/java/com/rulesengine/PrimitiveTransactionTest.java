@@ -0,0 +1,146 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rulesengine.config.DroolsConfig;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.RuleBuildMode;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.AccountTier;
+import com.rulesengine.model.PrimitiveTransaction;
+import com.rulesengine.model.Transaction;
+
+class PrimitiveTransactionTest {
+
+    // Misma configuración base que el ObjectMapper de Spring Boot
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    @Test
+    void testJsonMapsToPrimitiveFields() throws Exception {
+        var transaction = objectMapper.readValue("""
+            {
+              "id": "TX-EXAMPLE-001",
+              "userId": "USER-12345",
+              "amount": 5000.5,
+              "currency": "USD",
+              "transactionType": "PURCHASE",
+              "timestamp": "2024-01-15T10:30:00",
+              "country": "USA",
+              "userAge": 35,
+              "accountAgeDays": 500,
+              "monthlyTransactionVolume": 15000,
+              "failedTransactionsLastMonth": 0,
+              "isVIP": true,
+              "accountTier": "GOLD",
+              "unknownField": {"nested": [1, 2]}
+            }
+            """, PrimitiveTransaction.class);
+
+        assertEquals("TX-EXAMPLE-001", transaction.getId());
+        assertEquals(500050, transaction.getAmountMinor());
+        assertEquals(1500000, transaction.getMonthlyTransactionVolumeMinor());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), transaction.getTimestamp());
+        assertEquals(35, transaction.getUserAge());
+        assertTrue(transaction.isVip());
+        assertSame(AccountTier.GOLD, transaction.getAccountTier());
+        assertFalse(transaction.isRiskScoreSet());
+        assertNull(transaction.getStatus());
+        // Los valores conocidos son la instancia canónica
+        assertSame("USA", transaction.getCountry());
+        assertSame("PURCHASE", transaction.getTransactionType());
+    }
+
+    @Test
+    void testAmountsAreParsedToMinorUnits() throws Exception {
+        var amounts = Map.of("10", 1000L, "10.5", 1050L, "0.07", 7L, "-3.25", -325L, "1e3", 100000L,
+            "\"12.34\"", 1234L, "10.500", 1050L, "92233720368547758", 9223372036854775800L);
+        for (var amount : amounts.entrySet()) {
+            assertEquals(amount.getValue(), read("{\"amount\": " + amount.getKey() + "}").getAmountMinor(), amount.getKey());
+        }
+
+        for (var invalid : List.of("10.555", "\"ten\"", "true", "92233720368547759", "{}")) {
+            assertThrows(JsonMappingException.class, () -> read("{\"amount\": " + invalid + "}"), invalid);
+        }
+        assertThrows(JsonMappingException.class, () -> read("{\"accountTier\": \"DIAMOND\"}"));
+    }
+
+    @Test
+    void testJsonMatchesTransactionJson() throws Exception {
+        for (var transaction : BenchmarkData.transactions(200, 3)) {
+            transaction.setAmount(transaction.getAmount().add(BigDecimal.valueOf(transaction.getUserAge(), 2)));
+            var primitive = objectMapper.readValue(objectMapper.writeValueAsBytes(transaction), PrimitiveTransaction.class);
+            var expected = PrimitiveTransaction.of(transaction);
+            assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(primitive));
+            // Y de vuelta: el JSON de PrimitiveTransaction se lee como Transaction
+            var boxed = objectMapper.readValue(objectMapper.writeValueAsBytes(primitive), Transaction.class);
+            assertEquals(0, transaction.getAmount().compareTo(boxed.getAmount()));
+            assertEquals(transaction.getAccountTier(), boxed.getAccountTier());
+            assertEquals(transaction.getIsVIP(), boxed.getIsVIP());
+        }
+    }
+
+    @Test
+    void testPrimitiveRulesMatchTransactionRules() {
+        var properties = new RulesEngineProperties();
+        var drools = new DroolsConfig();
+        var boxedContainer = drools.kieContainer(properties);
+        var primitiveContainer = drools.primitiveKieContainer(RuleBuildMode.DRL);
+        var factory = new RuleExecutorFactory(properties, List.of());
+
+        var kieBases = Map.of(
+            DroolsConfig.LOW_RULES_BASE, DroolsConfig.PRIMITIVE_LOW_RULES_BASE,
+            DroolsConfig.MEDIUM_RULES_BASE, DroolsConfig.PRIMITIVE_MEDIUM_RULES_BASE,
+            DroolsConfig.HIGH_RULES_BASE, DroolsConfig.PRIMITIVE_HIGH_RULES_BASE,
+            DroolsConfig.ALL_RULES_BASE, DroolsConfig.PRIMITIVE_ALL_RULES_BASE);
+        Integer[] initialScores = {null, 0, 25, 55};
+        for (var kieBase : kieBases.entrySet()) {
+            var boxed = factory.create("boxed", () -> boxedContainer.getKieBase(kieBase.getKey()));
+            var primitive = factory.create("primitive", () -> primitiveContainer.getKieBase(kieBase.getValue()));
+
+            var transactions = BenchmarkData.transactions(3_000, 11);
+            for (int i = 0; i < transactions.size(); i++) {
+                var transaction = transactions.get(i);
+                if (i % 3 == 0) {
+                    transaction.setAmount(transaction.getAmount().add(BigDecimal.valueOf(i % 100, 2)));
+                }
+                transaction.setStatus("PENDING");
+                transaction.setRiskScore(initialScores[i % initialScores.length]);
+
+                var primitiveTransaction = PrimitiveTransaction.of(transaction);
+                var expectedRules = boxed.execute(List.of(transaction)).firedRules();
+                var actualRules = primitive.execute(List.of(primitiveTransaction)).firedRules();
+
+                var id = kieBase.getKey() + " " + transaction.getId();
+                assertEquals(expectedRules, actualRules, id);
+                assertEquals(transaction.getStatus(), primitiveTransaction.getStatus(), id);
+                assertEquals(transaction.getRiskScore() != null, primitiveTransaction.isRiskScoreSet(), id);
+                if (transaction.getRiskScore() != null) {
+                    assertEquals(transaction.getRiskScore(), primitiveTransaction.getRiskScore(), id);
+                }
+                assertEquals(transaction.getRejectionReason(), primitiveTransaction.getRejectionReason(), id);
+            }
+        }
+    }
+
+    private PrimitiveTransaction read(String json) throws Exception {
+        return objectMapper.readValue(json, PrimitiveTransaction.class);
+    }
+}
@@ -0,0 +1,164 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.utils.KieHelper;
+
+import com.rulesengine.cache.FactFingerprint;
+import com.rulesengine.cache.ResultCache;
+import com.rulesengine.cache.ResultCacheFactory;
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.RuleExecutor;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.Transaction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResultCacheTest {
+
+    private RuleExecutorFactory ruleExecutorFactory;
+    private ResultCacheFactory resultCacheFactory;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new RulesEngineProperties();
+        properties.getResultCache().setEnabled(true);
+        registry = new SimpleMeterRegistry();
+        ruleExecutorFactory = new RuleExecutorFactory(properties, List.of());
+        resultCacheFactory = new ResultCacheFactory(properties, registry);
+    }
+
+    @Test
+    void testFingerprintOnlyIncludesFieldsReadByRules() {
+        var low = FactFingerprint.analyze(kieBase("rules/low-complexity-rules.drl"), Transaction.class);
+        assertEquals(List.of("amount", "riskScore", "status"), low.fields());
+
+        // Consecuencias y eval: getters leídos en el bytecode compilado del paquete
+        var high = FactFingerprint.analyze(kieBase("rules/high-complexity-rules.drl"), Transaction.class);
+        assertEquals(List.of("accountAgeDays", "accountTier", "amount", "failedTransactionsLastMonth", "isVIP",
+            "monthlyTransactionVolume", "riskScore", "status", "transactionType", "userAge"), high.fields());
+    }
+
+    @Test
+    void testCachedResultsMatchRuleEvaluation() throws Exception {
+        var table = getClass().getClassLoader().getResourceAsStream("decisiontables/transaction-rules.csv").readAllBytes();
+        var decisionTables = new KieHelper()
+            .addContent(new DecisionTableCompiler(null).compileToDrl("transaction-rules.csv", table), ResourceType.DRL)
+            .build();
+        var kieBases = List.of(kieBase("rules/low-complexity-rules.drl"), kieBase("rules/medium-complexity-rules.drl"),
+            kieBase("rules/high-complexity-rules.drl"), decisionTables);
+
+        for (int i = 0; i < kieBases.size(); i++) {
+            var kieBase = kieBases.get(i);
+            var executor = ruleExecutorFactory.create("rules", () -> kieBase);
+            var cache = resultCacheFactory.create(ruleExecutorFactory.create("cached-" + i, () -> kieBase));
+            assertTrue(cache.isActive());
+            // Segunda pasada: todas las transacciones salen de la caché
+            for (int pass = 0; pass < 2; pass++) {
+                for (var transaction : BenchmarkData.transactions(2_000, 42)) {
+                    var expected = reset(transaction.copy());
+                    var expectedRules = executor.execute(List.of(expected)).firedRules();
+                    var actual = reset(transaction.copy());
+                    var actualRules = cache.execute(actual).firedRules();
+                    assertEquals(expectedRules, actualRules, transaction.getId());
+                    assertEquals(expected.getStatus(), actual.getStatus(), transaction.getId());
+                    assertEquals(expected.getRiskScore(), actual.getRiskScore(), transaction.getId());
+                    assertEquals(expected.getRejectionReason(), actual.getRejectionReason(), transaction.getId());
+                }
+            }
+            assertTrue(hits("cached-" + i) >= 2_000);
+        }
+    }
+
+    @Test
+    void testTransactionsDifferingInUnreadFieldsShareEntry() {
+        var kieBase = kieBase("rules/low-complexity-rules.drl");
+        var cache = resultCacheFactory.create(ruleExecutorFactory.create("low", () -> kieBase));
+
+        var first = transaction("TX-1", 50);
+        first.setCountry("USA");
+        assertEquals(List.of("Approve small transactions"), cache.execute(first).firedRules());
+        var second = transaction("TX-2", 50);
+        second.setCountry("HIGH_RISK_COUNTRY_1");
+        assertEquals(List.of("Approve small transactions"), cache.execute(second).firedRules());
+        assertEquals("APPROVED", second.getStatus());
+
+        assertEquals(1, hits("low"));
+        cache.execute(transaction("TX-3", 20_000));
+        assertEquals(1, hits("low"));
+    }
+
+    @Test
+    void testReloadInvalidatesCache() {
+        var current = new AtomicReference<>(kieBase("rules/low-complexity-rules.drl"));
+        RuleExecutor executor = ruleExecutorFactory.create("reload", current::get);
+        var cache = resultCacheFactory.create(executor);
+        cache.execute(transaction("TX-1", 50));
+        cache.execute(transaction("TX-2", 50));
+        assertEquals(1, hits("reload"));
+
+        current.set(kieBase("rules/low-complexity-rules.drl"));
+        executor.invalidate();
+        var transaction = transaction("TX-3", 50);
+        assertEquals(1, cache.execute(transaction).rulesFired());
+        assertEquals(1, hits("reload"), "entries of the previous KieBase are discarded");
+    }
+
+    @Test
+    void testRulesThatCannotBeAnalyzedAreNotCached() {
+        var drl = """
+            package com.rulesengine.rules.test
+            import com.rulesengine.model.Transaction
+            rule "MVEL consequence"
+                dialect "mvel"
+                when
+                    $transaction : Transaction(status == "PENDING")
+                then
+                    $transaction.setRiskScore(1);
+            end
+            """;
+        var kieBase = new KieHelper().addContent(drl, ResourceType.DRL).build();
+        ResultCache cache = resultCacheFactory.create(ruleExecutorFactory.create("mvel", () -> kieBase));
+        assertFalse(cache.isActive());
+        assertEquals(List.of(), cache.getFingerprintFields());
+        var transaction = transaction("TX-1", 50);
+        assertEquals(1, cache.execute(transaction).rulesFired());
+        assertEquals(1, transaction.getRiskScore());
+    }
+
+    private double hits(String executor) {
+        return registry.get("cache.gets").tag("cache", "rules-result-" + executor).tag("result", "hit")
+            .functionCounter().count();
+    }
+
+    private static KieBase kieBase(String resource) {
+        return new KieHelper().addResource(ResourceFactory.newClassPathResource(resource)).build();
+    }
+
+    private static Transaction reset(Transaction transaction) {
+        transaction.setStatus("PENDING");
+        transaction.setRiskScore(0);
+        transaction.setRejectionReason(null);
+        return transaction;
+    }
+
+    private static Transaction transaction(String id, long amount) {
+        var transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setAmount(BigDecimal.valueOf(amount));
+        return reset(transaction);
+    }
+}
@@ -2,7 +2,9 @@ package com.rulesengine;
 
 import com.rulesengine.model.Transaction;
 import com.rulesengine.model.RuleResult;
+import com.rulesengine.service.DecisionTableService;
 import com.rulesengine.service.RulesEngineService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +13,7 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +24,12 @@ class RulesEngineApplicationTests {
     @Autowired
     private RulesEngineService rulesEngineService;
 
+    @Autowired
+    private DecisionTableService decisionTableService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void contextLoads() {
         assertNotNull(rulesEngineService);
@@ -46,6 +55,26 @@ class RulesEngineApplicationTests {
                 .verifyComplete();
     }
 
+    @Test
+    void testAppliedRulesContainRuleNames() {
+        // Varias evaluaciones para cubrir también sesiones reutilizadas del pool
+        for (int i = 0; i < 3; i++) {
+            Transaction tx = new Transaction();
+            tx.setId("TEST-APPLIED-" + i);
+            tx.setAmount(BigDecimal.valueOf(50));
+            tx.setCurrency("USD");
+            tx.setTransactionType("PURCHASE");
+            tx.setTimestamp(LocalDateTime.now());
+
+            StepVerifier.create(rulesEngineService.evaluateTransaction(tx, "LOW"))
+                    .assertNext(result -> {
+                        assertEquals("APPROVED", result.getStatus());
+                        assertEquals(List.of("Approve small transactions"), result.getAppliedRules());
+                    })
+                    .verifyComplete();
+        }
+    }
+
     @Test
     void testMediumComplexityRule() {
         Transaction tx = new Transaction();
@@ -121,5 +150,64 @@ class RulesEngineApplicationTests {
                 })
                 .verifyComplete();
     }
-}
 
+    @Test
+    void testEvaluationMetrics() {
+        Transaction tx = new Transaction();
+        tx.setId("TEST-METRICS");
+        tx.setAmount(BigDecimal.valueOf(15000));
+        tx.setStatus("PENDING");
+        tx.setCurrency("USD");
+        tx.setTransactionType("TRANSFER");
+        tx.setTimestamp(LocalDateTime.now());
+
+        StepVerifier.create(rulesEngineService.evaluateTransaction(tx, "LOW"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertTrue(meterRegistry.get("rules.evaluation")
+                .tag("engine", "rules").tag("complexity", "LOW").timer().count() > 0);
+        assertTrue(meterRegistry.get("rules.batch.size")
+                .tag("executor", "rules-low").summary().count() > 0);
+        assertFalse(meterRegistry.get("rules.fired").tag("executor", "rules-low").counters().isEmpty());
+        assertTrue(meterRegistry.get("executor.completed").tag("name", "rules-evaluation").functionCounter().count() > 0);
+    }
+
+    @Test
+    void testBatchMatchesSingleEvaluation() {
+        // Más transacciones que rules-engine.batch.chunk-size para cubrir varios chunks
+        int size = 1_200;
+        for (String level : List.of("LOW", "MEDIUM", "HIGH", "ALL")) {
+            List<RuleResult> single = Flux.fromIterable(BenchmarkData.transactions(size, 7))
+                    .concatMap(tx -> rulesEngineService.evaluateTransaction(tx, level))
+                    .collectList()
+                    .block();
+            List<RuleResult> batch = rulesEngineService.evaluateBatch(BenchmarkData.transactions(size, 7), level)
+                    .collectList()
+                    .block();
+            assertSameResults(single, batch);
+        }
+
+        List<RuleResult> single = Flux.fromIterable(BenchmarkData.transactions(size, 7))
+                .concatMap(decisionTableService::evaluateWithDecisionTables)
+                .collectList()
+                .block();
+        List<RuleResult> batch = decisionTableService.evaluateBatch(BenchmarkData.transactions(size, 7))
+                .collectList()
+                .block();
+        assertSameResults(single, batch);
+    }
+
+    private static void assertSameResults(List<RuleResult> expected, List<RuleResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            RuleResult e = expected.get(i);
+            RuleResult a = actual.get(i);
+            assertEquals(e.getTransactionId(), a.getTransactionId());
+            assertEquals(e.getStatus(), a.getStatus(), e.getTransactionId());
+            assertEquals(e.getFinalRiskScore(), a.getFinalRiskScore(), e.getTransactionId());
+            assertEquals(e.getReasons(), a.getReasons(), e.getTransactionId());
+            assertEquals(e.getAppliedRules(), a.getAppliedRules(), e.getTransactionId());
+        }
+    }
+}
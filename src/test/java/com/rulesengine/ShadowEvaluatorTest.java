@@ -0,0 +1,131 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rulesengine.config.RulesEngineProperties;
+import com.rulesengine.engine.DecisionTableCompiler;
+import com.rulesengine.engine.RuleExecutorFactory;
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.impl.DynamicRulesServiceImpl;
+import com.rulesengine.service.impl.ShadowEvaluator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ShadowEvaluatorTest {
+
+    @TempDir
+    Path rulesDir;
+
+    private DynamicRulesServiceImpl service;
+    private SimpleMeterRegistry registry;
+    private ShadowEvaluator shadowEvaluator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(rulesDir.resolve("score.drl"), drl("Score", 10));
+        var properties = new RulesEngineProperties();
+        properties.getDynamicRules().setDirectory(rulesDir.toString());
+        service = new DynamicRulesServiceImpl(new RuleExecutorFactory(properties, List.of()), properties,
+            new DecisionTableCompiler(null));
+        assertTrue(service.loadDynamicRules());
+        registry = new SimpleMeterRegistry();
+        shadowEvaluator = new ShadowEvaluator(service, properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shadowEvaluator.close();
+    }
+
+    @Test
+    void testCandidateIsComparedWithoutTakingTraffic() {
+        var version = service.getRulesVersion();
+        assertTrue(service.stageCandidate(bytes(drl("Score", 40)), "score.drl"));
+        assertEquals(version, service.getRulesVersion(), "candidate does not replace the current rules");
+
+        var comparison = shadowEvaluator.evaluate(transaction());
+        assertTrue(comparison.outcomeDiverged());
+        assertFalse(comparison.rulesDiverged());
+        assertEquals(1, shadowEvaluator.snapshot().outcomeDivergences());
+        assertEquals(1, registry.get("rules.shadow.evaluations").tag("outcome", "outcome-diverged").counter().count());
+        assertEquals(1, registry.get("rules.shadow.latency").tag("version", "candidate").timer().count());
+
+        // Una candidata nueva empieza con estadísticas vacías
+        assertTrue(service.stageCandidate(bytes(drl("Extra", 10)), "extra.drl"));
+        comparison = shadowEvaluator.evaluate(transaction());
+        assertFalse(comparison.outcomeDiverged());
+        assertTrue(comparison.rulesDiverged());
+        assertEquals(1, shadowEvaluator.snapshot().samples());
+        assertEquals(0, shadowEvaluator.snapshot().outcomeDivergences());
+    }
+
+    @Test
+    void testPromoteAppliesCandidate() throws Exception {
+        assertFalse(service.stageCandidate(bytes("package com.rulesengine.rules.dynamic\nrule \"Broken\" when Unknown() then end"),
+            "broken.drl"));
+        assertNull(service.getCandidateFileName());
+        assertFalse(service.promoteCandidate());
+
+        assertTrue(service.stageCandidate(bytes(drl("Score", 40)), "score.drl"));
+        assertTrue(service.promoteCandidate());
+        assertNull(service.getCandidateFileName());
+        assertNull(shadowEvaluator.evaluate(transaction()), "no candidate after promotion");
+        assertTrue(Files.readString(rulesDir.resolve("score.drl")).contains("setRiskScore(40)"));
+
+        var transaction = transaction();
+        try (var rules = service.acquireRules()) {
+            service.getRuleExecutor().execute(List.of(transaction));
+        }
+        assertEquals(40, transaction.getRiskScore());
+    }
+
+    @Test
+    void testDiscardKeepsCurrentRules() {
+        var version = service.getRulesVersion();
+        assertTrue(service.stageCandidate(bytes(drl("Score", 40)), "score.drl"));
+        service.discardCandidate();
+        assertNull(service.getCandidateFileName());
+        assertNull(service.acquireCandidate());
+        assertEquals(version, service.getRulesVersion());
+    }
+
+    private static Transaction transaction() {
+        var transaction = new Transaction();
+        transaction.setId("TX-1");
+        transaction.setAmount(new BigDecimal("500"));
+        transaction.setStatus("PENDING");
+        transaction.setRiskScore(0);
+        return transaction;
+    }
+
+    private static String drl(String ruleName, int riskScore) {
+        return """
+            package com.rulesengine.rules.dynamic
+            import com.rulesengine.model.Transaction
+            rule "%s"
+                when
+                    $transaction : Transaction(amount > 100)
+                then
+                    $transaction.setRiskScore(%d);
+            end
+            """.formatted(ruleName, riskScore);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.rulesengine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.rulesengine.model.Transaction;
+import com.rulesengine.service.RulesEngineService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * La evaluación por etapas equivale a evaluar LOW, MEDIUM y HIGH en orden parando en cuanto la
+ * transacción deja de estar en PENDING, y registra las salidas de cada etapa
+ */
+@SpringBootTest
+class StagedEvaluationTest {
+
+    @Autowired
+    private RulesEngineService rulesEngineService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void smallTransactionExitsAtLowStage() {
+        var exitsBefore = exits("rules-low");
+        var tx = new Transaction();
+        tx.setId("STAGED-001");
+        tx.setAmount(BigDecimal.valueOf(50));
+        tx.setCurrency("USD");
+        tx.setTransactionType("PURCHASE");
+        tx.setTimestamp(LocalDateTime.now());
+        tx.setCountry("USA");
+
+        var result = rulesEngineService.evaluateTransaction(tx, "STAGED").block();
+
+        assertEquals("APPROVED", result.getStatus());
+        assertEquals(List.of("Approve small transactions"), result.getAppliedRules());
+        assertEquals(exitsBefore + 1, exits("rules-low"));
+    }
+
+    @Test
+    void stagedMatchesChainedLevels() {
+        var staged = BenchmarkData.transactions(500, 41);
+        var chained = BenchmarkData.transactions(500, 41);
+        var exitsBefore = totalExits();
+
+        for (int i = 0; i < staged.size(); i++) {
+            var result = rulesEngineService.evaluateTransaction(staged.get(i), "STAGED").block();
+
+            var tx = chained.get(i);
+            var expectedRules = new ArrayList<String>();
+            for (var level : List.of("LOW", "MEDIUM", "HIGH")) {
+                expectedRules.addAll(rulesEngineService.evaluateTransaction(tx, level).block().getAppliedRules());
+                if (!"PENDING".equals(tx.getStatus())) {
+                    break;
+                }
+            }
+
+            assertEquals(expectedRules, result.getAppliedRules());
+            assertEquals(tx.getStatus(), result.getStatus());
+            assertEquals(tx.getRiskScore(), result.getFinalRiskScore());
+        }
+        // Cada transacción sale en una etapa o al final (stage=none)
+        assertEquals(exitsBefore + staged.size(), totalExits());
+    }
+
+    @Test
+    void batchMatchesSingleEvaluations() {
+        var batch = rulesEngineService.evaluateBatch(BenchmarkData.transactions(300, 43), "STAGED")
+            .collectList().block();
+        var single = BenchmarkData.transactions(300, 43);
+
+        assertEquals(single.size(), batch.size());
+        for (int i = 0; i < single.size(); i++) {
+            var expected = rulesEngineService.evaluateTransaction(single.get(i), "STAGED").block();
+            assertEquals(expected.getTransactionId(), batch.get(i).getTransactionId());
+            assertEquals(expected.getStatus(), batch.get(i).getStatus());
+            assertEquals(expected.getAppliedRules(), batch.get(i).getAppliedRules());
+        }
+    }
+
+    private double exits(String stage) {
+        var counter = registry.find("rules.staged.exit").tag("stage", stage).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private double totalExits() {
+        return registry.find("rules.staged.exit").counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
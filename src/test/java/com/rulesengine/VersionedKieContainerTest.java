@@ -0,0 +1,103 @@
+package com.rulesengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieContainer;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.utils.KieHelper;
+
+import com.rulesengine.engine.VersionedKieContainer;
+
+class VersionedKieContainerTest {
+
+    private static KieContainer buildKieContainer() {
+        return new KieHelper()
+                .addResource(ResourceFactory.newClassPathResource("rules/low-complexity-rules.drl"))
+                .getKieContainer();
+    }
+
+    @Test
+    void testRetiredVersionIsDisposedWhenDrained() {
+        var containers = new VersionedKieContainer("test");
+        assertNull(containers.acquire());
+
+        var first = containers.publish(buildKieContainer());
+        var inFlight = containers.acquire();
+        assertSame(first, inFlight);
+
+        var second = containers.publish(buildKieContainer());
+        // Las nuevas evaluaciones ven la nueva versión; la anterior sigue viva mientras se usa
+        assertSame(first.kieBase(), containers.getKieBase(), "pinned version for the evaluating thread");
+        assertFalse(first.isDisposed());
+        assertEquals(1, containers.getDrainingCount());
+
+        inFlight.close();
+        assertTrue(first.isDisposed());
+        assertEquals(0, containers.getDrainingCount());
+        assertSame(second.kieBase(), containers.getKieBase());
+
+        try (var next = containers.acquire()) {
+            assertSame(second, next);
+        }
+        assertFalse(second.isDisposed());
+        assertEquals(2, containers.getVersion());
+    }
+
+    @Test
+    void testConcurrentSwapsNeverDisposeVersionsInUse() throws Exception {
+        var containers = new VersionedKieContainer("test");
+        var published = new ArrayList<VersionedKieContainer.Version>();
+        published.add(containers.publish(buildKieContainer()));
+
+        int readers = 4;
+        var running = new AtomicBoolean(true);
+        var started = new CountDownLatch(readers);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                long evaluations = 0;
+                while (running.get()) {
+                    try (var version = containers.acquire()) {
+                        if (version.isDisposed() || containers.getKieBase() != version.kieBase()) {
+                            throw new AssertionError("version " + version.number() + " disposed while in use");
+                        }
+                        evaluations++;
+                    }
+                }
+                return evaluations;
+            }));
+        }
+
+        started.await();
+        for (int i = 0; i < 20; i++) {
+            published.add(containers.publish(buildKieContainer()));
+        }
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<Long> result : results) {
+            assertTrue(result.get() > 0);
+        }
+
+        // Todas las versiones retiradas han drenado y se han descartado
+        assertEquals(0, containers.getDrainingCount());
+        published.subList(0, published.size() - 1).forEach(version -> assertTrue(version.isDisposed()));
+        assertFalse(published.get(published.size() - 1).isDisposed());
+    }
+}